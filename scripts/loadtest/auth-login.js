@@ -0,0 +1,52 @@
+// k6 scenario for login cost: repeated successful logins through the API gateway.
+//
+//   k6 run -e GATEWAY_URL=http://localhost:8080 -e ADMIN_USERNAME=... -e ADMIN_PASSWORD=... auth-login.js
+//
+// Keep VUS at or below auth-service's password hashing pool so requests are not shed with 503.
+// Normally started by run-login-benchmark.sh, which also counts the SQL statements per login.
+
+import http from 'k6/http';
+import { check, fail } from 'k6';
+import { Counter, Trend } from 'k6/metrics';
+
+const GATEWAY_URL = __ENV.GATEWAY_URL || 'http://localhost:8080';
+const VUS = parseInt(__ENV.VUS || '8', 10);
+const ITERATIONS = parseInt(__ENV.ITERATIONS || '2000', 10);
+
+const loginLatency = new Trend('login_duration', true);
+const loginsOk = new Counter('logins_ok');
+
+export const options = {
+  scenarios: {
+    logins: {
+      executor: 'shared-iterations',
+      vus: VUS,
+      iterations: ITERATIONS,
+      maxDuration: '15m',
+    },
+  },
+  summaryTrendStats: ['avg', 'med', 'p(90)', 'p(95)', 'p(99)', 'max'],
+};
+
+export function setup() {
+  if (!__ENV.ADMIN_USERNAME || !__ENV.ADMIN_PASSWORD) {
+    fail('ADMIN_USERNAME and ADMIN_PASSWORD are required');
+  }
+}
+
+export default function () {
+  // Spread clients over many gateway rate-limit buckets
+  const headers = {
+    'Content-Type': 'application/json',
+    'X-Forwarded-For': `10.${__VU % 250}.${__ITER % 250}.${1 + (__ITER % 200)}`,
+  };
+  const res = http.post(`${GATEWAY_URL}/api/auth/login`, JSON.stringify({
+    username: __ENV.ADMIN_USERNAME,
+    password: __ENV.ADMIN_PASSWORD,
+    userType: 'ADMIN',
+  }), { headers });
+  if (check(res, { 'login succeeded': (r) => r.status === 200 })) {
+    loginLatency.add(res.timings.duration);
+    loginsOk.add(1);
+  }
+}
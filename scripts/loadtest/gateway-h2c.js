@@ -0,0 +1,81 @@
+// k6 scenario for comparing gateway -> service transport (HTTP/1.1 vs h2c).
+// One GET per business service per iteration, all through the API gateway.
+//
+//   k6 run -e GATEWAY_URL=http://localhost:8080 -e ADMIN_USERNAME=... -e ADMIN_PASSWORD=... gateway-h2c.js
+//
+// Without admin credentials the notification and warranty calls are skipped.
+// Normally started by run-h2c-comparison.sh, which also samples the gateway's connection pools.
+
+import http from 'k6/http';
+import { check } from 'k6';
+import { Trend } from 'k6/metrics';
+
+const GATEWAY_URL = __ENV.GATEWAY_URL || 'http://localhost:8080';
+const VUS = parseInt(__ENV.VUS || '200', 10);
+const DURATION = __ENV.DURATION || '3m';
+
+const serviceLatency = {
+  auth: new Trend('latency_auth', true),
+  product: new Trend('latency_product', true),
+  blog: new Trend('latency_blog', true),
+  user: new Trend('latency_user', true),
+  notification: new Trend('latency_notification', true),
+  warranty: new Trend('latency_warranty', true),
+};
+
+export const options = {
+  scenarios: {
+    mixed: {
+      executor: 'ramping-vus',
+      startVUs: 0,
+      stages: [
+        { duration: '30s', target: VUS },
+        { duration: DURATION, target: VUS },
+        { duration: '15s', target: 0 },
+      ],
+      gracefulRampDown: '10s',
+    },
+  },
+  summaryTrendStats: ['avg', 'med', 'p(90)', 'p(95)', 'p(99)', 'max'],
+};
+
+export function setup() {
+  if (!__ENV.ADMIN_USERNAME || !__ENV.ADMIN_PASSWORD) {
+    console.warn('ADMIN_USERNAME/ADMIN_PASSWORD not set: only public endpoints are exercised');
+    return { token: null };
+  }
+  const res = http.post(`${GATEWAY_URL}/api/auth/login`, JSON.stringify({
+    username: __ENV.ADMIN_USERNAME,
+    password: __ENV.ADMIN_PASSWORD,
+    userType: 'ADMIN',
+  }), { headers: { 'Content-Type': 'application/json' } });
+  check(res, { 'login succeeded': (r) => r.status === 200 });
+  return { token: res.status === 200 ? res.json('data.token') : null };
+}
+
+export default function (data) {
+  // Spread clients over many rate-limit buckets and past the response cache,
+  // so every request reaches a service
+  const headers = { 'X-Forwarded-For': `10.${__VU % 250}.${__ITER % 250}.${1 + (__ITER % 200)}` };
+  const bust = `lt=${__VU}-${__ITER}`;
+  const page = __ITER % 5;
+
+  const requests = [
+    ['auth', `${GATEWAY_URL}/api/auth/.well-known/jwks.json?${bust}`, headers],
+    ['product', `${GATEWAY_URL}/api/product/products?page=${page}&size=20&${bust}`, headers],
+    ['blog', `${GATEWAY_URL}/api/blog/posts?page=${page}&size=10&${bust}`, headers],
+    ['user', `${GATEWAY_URL}/api/user/reseller/${1 + (__ITER % 50)}/exists`, headers],
+  ];
+  if (data.token) {
+    const authorized = Object.assign({ Authorization: `Bearer ${data.token}` }, headers);
+    requests.push(['notification', `${GATEWAY_URL}/api/notification/all`, authorized]);
+    requests.push(['warranty', `${GATEWAY_URL}/api/warranty/claims/pending`, authorized]);
+  }
+
+  const responses = http.batch(requests.map(([, url, h]) => ['GET', url, null, { headers: h }]));
+  responses.forEach((res, i) => {
+    const service = requests[i][0];
+    serviceLatency[service].add(res.timings.duration);
+    check(res, { [`${service} ok`]: (r) => r.status < 500 && r.status !== 429 });
+  });
+}
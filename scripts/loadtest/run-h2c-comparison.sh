@@ -0,0 +1,141 @@
+#!/bin/bash
+
+# Gateway transport load test: HTTP/1.1 vs h2c between the API gateway and the six business services.
+# Runs gateway-h2c.js once per mode against the full Docker stack and reports tail latency
+# together with the gateway's upstream connection counts.
+#
+# Usage (from the project root, with the Docker stack built and k6 + jq installed):
+#   ADMIN_USERNAME=... ADMIN_PASSWORD=... ./scripts/loadtest/run-h2c-comparison.sh
+# Optional: VUS (default 200), DURATION (default 3m), GATEWAY_URL (default http://localhost:8080)
+
+set -e
+
+# Colors for output
+RED='\033[0;31m'
+GREEN='\033[0;32m'
+BLUE='\033[0;34m'
+YELLOW='\033[1;33m'
+NC='\033[0m' # No Color
+
+print_status() {
+    echo -e "${BLUE}[INFO]${NC} $1"
+}
+
+print_success() {
+    echo -e "${GREEN}[SUCCESS]${NC} $1"
+}
+
+print_warning() {
+    echo -e "${YELLOW}[WARNING]${NC} $1"
+}
+
+print_error() {
+    echo -e "${RED}[ERROR]${NC} $1"
+}
+
+GATEWAY_URL=${GATEWAY_URL:-http://localhost:8080}
+COMPOSE_FILE=infrastructure/docker-compose.yml
+SERVICES="api-gateway auth-service user-service notification-service warranty-service product-service blog-service"
+RESULTS_DIR=${RESULTS_DIR:-scripts/loadtest/results/$(date +%Y%m%d-%H%M%S)}
+SAMPLE_INTERVAL=5
+
+if [ ! -f "$COMPOSE_FILE" ]; then
+    print_error "Please run this script from the NexHub project root directory"
+    exit 1
+fi
+for tool in k6 jq curl docker-compose; do
+    if ! command -v $tool > /dev/null; then
+        print_error "$tool is required"
+        exit 1
+    fi
+done
+mkdir -p "$RESULTS_DIR"
+
+# Sum of one reactor-netty connection provider gauge across all pools and remote addresses
+scrape_gauge() {
+    curl -s "$GATEWAY_URL/actuator/prometheus" \
+        | awk -v metric="$1" '$1 ~ "^"metric"[{ ]" { sum += $NF } END { printf "%d", sum }'
+}
+
+wait_for_gateway() {
+    print_status "Waiting for the gateway and services to come up..."
+    for i in $(seq 1 60); do
+        if curl -sf "$GATEWAY_URL/actuator/health" > /dev/null \
+            && curl -sf "$GATEWAY_URL/api/auth/.well-known/jwks.json" > /dev/null; then
+            # Give Eureka time to hand all six services to the gateway's load balancer
+            sleep 30
+            return 0
+        fi
+        sleep 5
+    done
+    print_error "Gateway did not become healthy"
+    exit 1
+}
+
+run_mode() {
+    local mode=$1 http2=$2
+    print_status "[$mode] Restarting gateway and services with HTTP/2 enabled=$http2..."
+    GATEWAY_HTTP2_ENABLED=$http2 SERVER_HTTP2_ENABLED=$http2 \
+        docker-compose -f "$COMPOSE_FILE" up -d --no-deps --force-recreate $SERVICES
+    wait_for_gateway
+
+    print_status "[$mode] Running load (${VUS:-200} VUs for ${DURATION:-3m})..."
+    k6 run --quiet \
+        -e GATEWAY_URL="$GATEWAY_URL" -e VUS="${VUS:-200}" -e DURATION="${DURATION:-3m}" \
+        -e ADMIN_USERNAME="$ADMIN_USERNAME" -e ADMIN_PASSWORD="$ADMIN_PASSWORD" \
+        --summary-export "$RESULTS_DIR/$mode-summary.json" \
+        scripts/loadtest/gateway-h2c.js > "$RESULTS_DIR/$mode-k6.log" 2>&1 &
+    local k6_pid=$!
+
+    local max_total=0 max_active=0 max_streams=0
+    echo "seconds,total_connections,active_connections,active_streams" > "$RESULTS_DIR/$mode-connections.csv"
+    local elapsed=0
+    while kill -0 $k6_pid 2> /dev/null; do
+        local total active streams
+        total=$(scrape_gauge reactor_netty_connection_provider_total_connections)
+        active=$(scrape_gauge reactor_netty_connection_provider_active_connections)
+        streams=$(scrape_gauge reactor_netty_connection_provider_active_streams)
+        echo "$elapsed,$total,$active,$streams" >> "$RESULTS_DIR/$mode-connections.csv"
+        [ "$total" -gt "$max_total" ] && max_total=$total
+        [ "$active" -gt "$max_active" ] && max_active=$active
+        [ "$streams" -gt "$max_streams" ] && max_streams=$streams
+        sleep $SAMPLE_INTERVAL
+        elapsed=$((elapsed + SAMPLE_INTERVAL))
+    done
+    if ! wait $k6_pid; then
+        print_warning "[$mode] k6 exited with an error, see $RESULTS_DIR/$mode-k6.log"
+    fi
+
+    echo "$max_total $max_active $max_streams" > "$RESULTS_DIR/$mode-connections.max"
+    print_success "[$mode] Done: peak $max_total upstream connections ($max_active active, $max_streams active streams)"
+}
+
+report() {
+    local summary=$RESULTS_DIR/$1-summary.json
+    read -r max_total max_active max_streams < "$RESULTS_DIR/$1-connections.max"
+    printf "%-9s %10s %10s %10s %12s %12s %14s\n" "$1" \
+        "$(jq -r '.metrics.http_reqs.rate | floor' "$summary")" \
+        "$(jq -r '.metrics.http_req_duration["p(95)"] * 100 | round / 100' "$summary")" \
+        "$(jq -r '.metrics.http_req_duration["p(99)"] * 100 | round / 100' "$summary")" \
+        "$max_total" "$max_active" "$max_streams"
+    for service in auth product blog user notification warranty; do
+        if jq -e ".metrics.latency_$service" "$summary" > /dev/null; then
+            printf "  %-7s %10s %10s %10s\n" "$service" "" \
+                "$(jq -r ".metrics.latency_$service[\"p(95)\"] * 100 | round / 100" "$summary")" \
+                "$(jq -r ".metrics.latency_$service[\"p(99)\"] * 100 | round / 100" "$summary")"
+        fi
+    done
+}
+
+if [ -z "$ADMIN_USERNAME" ] || [ -z "$ADMIN_PASSWORD" ]; then
+    print_warning "ADMIN_USERNAME/ADMIN_PASSWORD not set: notification and warranty calls are skipped"
+fi
+
+run_mode http1 false
+run_mode h2c true
+
+echo ""
+echo "📊 Gateway -> services transport (results in $RESULTS_DIR)"
+printf "%-9s %10s %10s %10s %12s %12s %14s\n" "mode" "req/s" "p95 ms" "p99 ms" "peak conns" "peak active" "peak streams"
+report http1
+report h2c
@@ -0,0 +1,81 @@
+#!/bin/bash
+
+# Login cost benchmark: SQL statements per login and login latency.
+# Runs auth-login.js against the running Docker stack and counts the statements auth-service
+# logged meanwhile (show-sql prints one "Hibernate:" line per statement). Each run appends a
+# row to login-benchmark.csv, so running it on two checkouts gives a before/after table.
+#
+# Usage (from the project root, with the Docker stack up and k6 + jq installed):
+#   ADMIN_USERNAME=... ADMIN_PASSWORD=... ./scripts/loadtest/run-login-benchmark.sh
+# Optional: LABEL (default: current commit), VUS (default 8), ITERATIONS (default 2000),
+#           GATEWAY_URL (default http://localhost:8080)
+
+set -e
+
+# Colors for output
+RED='\033[0;31m'
+GREEN='\033[0;32m'
+BLUE='\033[0;34m'
+NC='\033[0m' # No Color
+
+print_status() {
+    echo -e "${BLUE}[INFO]${NC} $1"
+}
+
+print_success() {
+    echo -e "${GREEN}[SUCCESS]${NC} $1"
+}
+
+print_error() {
+    echo -e "${RED}[ERROR]${NC} $1"
+}
+
+GATEWAY_URL=${GATEWAY_URL:-http://localhost:8080}
+AUTH_CONTAINER=nexhub-auth-service
+LABEL=${LABEL:-$(git rev-parse --short HEAD)}
+RESULTS_DIR=${RESULTS_DIR:-scripts/loadtest/results}
+CSV=$RESULTS_DIR/login-benchmark.csv
+
+if [ ! -f infrastructure/docker-compose.yml ]; then
+    print_error "Please run this script from the NexHub project root directory"
+    exit 1
+fi
+for tool in k6 jq docker; do
+    if ! command -v $tool > /dev/null; then
+        print_error "$tool is required"
+        exit 1
+    fi
+done
+if [ -z "$ADMIN_USERNAME" ] || [ -z "$ADMIN_PASSWORD" ]; then
+    print_error "ADMIN_USERNAME and ADMIN_PASSWORD are required"
+    exit 1
+fi
+mkdir -p "$RESULTS_DIR"
+[ -f "$CSV" ] || echo "label,logins,statements,statements_per_login,p50_ms,p95_ms,p99_ms" > "$CSV"
+
+print_status "[$LABEL] Warming up..."
+k6 run --quiet -e GATEWAY_URL="$GATEWAY_URL" -e VUS=2 -e ITERATIONS=50 \
+    -e ADMIN_USERNAME="$ADMIN_USERNAME" -e ADMIN_PASSWORD="$ADMIN_PASSWORD" \
+    scripts/loadtest/auth-login.js > /dev/null 2>&1
+
+print_status "[$LABEL] Running ${ITERATIONS:-2000} logins with ${VUS:-8} VUs..."
+since=$(date -u +%Y-%m-%dT%H:%M:%SZ)
+summary=$RESULTS_DIR/login-$LABEL-summary.json
+k6 run --quiet -e GATEWAY_URL="$GATEWAY_URL" -e VUS="${VUS:-8}" -e ITERATIONS="${ITERATIONS:-2000}" \
+    -e ADMIN_USERNAME="$ADMIN_USERNAME" -e ADMIN_PASSWORD="$ADMIN_PASSWORD" \
+    --summary-export "$summary" scripts/loadtest/auth-login.js > "$RESULTS_DIR/login-$LABEL-k6.log" 2>&1
+sleep 2 # Let the last statements reach the container log
+
+logins=$(jq -r '.metrics.logins_ok.count // 0' "$summary")
+statements=$(docker logs --since "$since" "$AUTH_CONTAINER" 2>&1 | grep -c '^Hibernate:' || true)
+if [ "$logins" -eq 0 ]; then
+    print_error "No successful logins, see $RESULTS_DIR/login-$LABEL-k6.log"
+    exit 1
+fi
+per_login=$(awk -v s="$statements" -v l="$logins" 'BEGIN { printf "%.2f", s / l }')
+echo "$LABEL,$logins,$statements,$per_login,$(jq -r '.metrics.login_duration.med * 100 | round / 100' "$summary"),$(jq -r '.metrics.login_duration["p(95)"] * 100 | round / 100' "$summary"),$(jq -r '.metrics.login_duration["p(99)"] * 100 | round / 100' "$summary")" >> "$CSV"
+print_success "[$LABEL] $per_login statements per login"
+
+echo ""
+echo "📊 Login cost (all runs in $CSV)"
+column -s, -t < "$CSV"
@@ -9,6 +9,7 @@ import com.devwonder.auth_service.repository.RoleRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
@@ -25,6 +26,7 @@ public class DataInitializer implements CommandLineRunner {
     private final AccountRepository accountRepository;
     private final PermissionRepository permissionRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Main initialization method that runs on application startup.
@@ -40,7 +42,9 @@ public class DataInitializer implements CommandLineRunner {
             initializePermissions();
             
             // Then initialize roles with permissions
-            initializeRoles();
+            if (initializeRoles()) {
+                eventPublisher.publishEvent(new RolePermissionSnapshot.ChangedEvent("DataInitializer"));
+            }
             
             // Create test accounts if not exist
             createTestAccountIfNotExists("admin", "admin123", "ADMIN");
@@ -102,13 +106,15 @@ public class DataInitializer implements CommandLineRunner {
     /**
      * Initialize system roles and assign permissions.
      * Creates ADMIN, DEALER, and CUSTOMER roles with their respective permissions.
+     * @return true if any role was created or updated
      */
-    private void initializeRoles() {
-        createRoleWithPermissions("ADMIN", Set.of("NOTIFICATION_READ", "NOTIFICATION_UPDATE", "RESELLER_READ", "RESELLER_DELETE", "RESELLER_APPROVE", "RESELLER_REJECT", "RESELLER_RESTORE"));
+    private boolean initializeRoles() {
+        boolean changed = createRoleWithPermissions("ADMIN", Set.of("NOTIFICATION_READ", "NOTIFICATION_UPDATE", "RESELLER_READ", "RESELLER_DELETE", "RESELLER_APPROVE", "RESELLER_REJECT", "RESELLER_RESTORE"));
         
-        createRoleWithPermissions("DEALER", Set.of());
+        changed |= createRoleWithPermissions("DEALER", Set.of());
         
-        createRoleWithPermissions("CUSTOMER", Set.of());
+        changed |= createRoleWithPermissions("CUSTOMER", Set.of());
+        return changed;
     }
     
     /**
@@ -128,8 +134,9 @@ public class DataInitializer implements CommandLineRunner {
      * Create a role with specified permissions or update existing role.
      * @param roleName The name of the role to create
      * @param permissionNames Set of permission names to assign to the role
+     * @return true if the role was created or updated
      */
-    private void createRoleWithPermissions(String roleName, Set<String> permissionNames) {
+    private boolean createRoleWithPermissions(String roleName, Set<String> permissionNames) {
         Role existingRole = roleRepository.findByName(roleName);
         if (existingRole == null) {
             Role role = new Role();
@@ -157,6 +164,7 @@ public class DataInitializer implements CommandLineRunner {
                 log.info("Verified role {} has {} permissions in database",
                     roleName, verifyRole.getPermissions().size());
             }
+            return true;
         } else {
             // Update existing role with permissions if it has no permissions
             if (existingRole.getPermissions().isEmpty()) {
@@ -171,8 +179,10 @@ public class DataInitializer implements CommandLineRunner {
                 existingRole.setPermissions(permissions);
                 roleRepository.save(existingRole);
                 log.info("Updated existing role: {} with {} permissions", roleName, permissions.size());
+                return !permissions.isEmpty();
             }
         }
+        return false;
     }
     
     /**
@@ -0,0 +1,120 @@
+package com.devwonder.auth_service.component;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Fixed-size, approximate event counter over a sliding time window.
+ * <p>
+ * Counts go into a count-min sketch for the current window; when the window ends it becomes
+ * the previous one and a fresh sketch starts. An estimate is the current count plus the
+ * previous count scaled by how much of the previous window still overlaps the sliding window,
+ * so counts fade out linearly instead of resetting at window boundaries. Memory is
+ * {@code 2 * depth * width} ints whatever the number of keys; estimates never undercount and
+ * overcount only when keys collide in every row.
+ * <p>
+ * Row hashes are seeded per instance, so colliding keys cannot be precomputed.
+ */
+public final class DecayingCountMinSketch {
+
+    private final int depth;
+    private final int mask;
+    private final long windowNanos;
+    private final LongSupplier nanoClock;
+    private final long seed = ThreadLocalRandom.current().nextLong();
+
+    private volatile Window current;
+    private volatile Window previous;
+
+    public DecayingCountMinSketch(int depth, int width, long windowNanos, LongSupplier nanoClock) {
+        if (depth < 1 || width < 1) {
+            throw new IllegalArgumentException("depth and width must be positive");
+        }
+        this.depth = depth;
+        this.mask = (width == 1 ? 1 : Integer.highestOneBit(width - 1) << 1) - 1; // width rounded up to a power of two
+        this.windowNanos = windowNanos;
+        this.nanoClock = nanoClock;
+        long now = nanoClock.getAsLong();
+        this.current = new Window(now, depth * (mask + 1));
+        this.previous = new Window(now - windowNanos, depth * (mask + 1));
+    }
+
+    /**
+     * Counts one event for {@code key} and returns the new estimate.
+     */
+    public int add(String key) {
+        long now = nanoClock.getAsLong();
+        Window window = windowAt(now);
+        long hash = hash(key);
+        for (int row = 0; row < depth; row++) {
+            window.counts.incrementAndGet(index(hash, row));
+        }
+        return estimate(hash, window, now);
+    }
+
+    public int estimate(String key) {
+        long now = nanoClock.getAsLong();
+        return estimate(hash(key), windowAt(now), now);
+    }
+
+    private int estimate(long hash, Window window, long now) {
+        Window before = previous;
+        double overlap = 1.0 - Math.min(1.0, (double) (now - window.startNanos) / windowNanos);
+        double min = Double.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            int index = index(hash, row);
+            double count = window.counts.get(index) + (before != window ? before.counts.get(index) * overlap : 0);
+            min = Math.min(min, count);
+        }
+        return (int) Math.ceil(min);
+    }
+
+    private Window windowAt(long now) {
+        Window window = current;
+        if (now - window.startNanos < windowNanos) {
+            return window;
+        }
+        synchronized (this) {
+            window = current;
+            long elapsed = now - window.startNanos;
+            if (elapsed >= windowNanos) {
+                // Align to window boundaries; after a quiet period longer than a window nothing carries over
+                long start = window.startNanos + elapsed / windowNanos * windowNanos;
+                previous = elapsed < 2 * windowNanos ? window : new Window(start - windowNanos, window.counts.length());
+                window = new Window(start, window.counts.length());
+                current = window;
+            }
+            return window;
+        }
+    }
+
+    private int index(long hash, int row) {
+        // Double hashing: row i probes h1 + i * h2
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        return row * (mask + 1) + ((h1 + row * h2) & mask);
+    }
+
+    private long hash(String key) {
+        long h = seed;
+        for (int i = 0; i < key.length(); i++) {
+            h = (h ^ key.charAt(i)) * 0x100000001B3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        return h ^ (h >>> 33);
+    }
+
+    private static final class Window {
+        final long startNanos;
+        final AtomicIntegerArray counts;
+
+        Window(long startNanos, int size) {
+            this.startNanos = startNanos;
+            this.counts = new AtomicIntegerArray(size);
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package com.devwonder.auth_service.component;
+
+import com.devwonder.common.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sheds credential-stuffing traffic before it reaches the database or BCrypt.
+ * <p>
+ * Failed logins are counted per client IP (many usernames from one source) and per
+ * username and IP pair (guessing one account's password) in a {@link DecayingCountMinSketch},
+ * so memory stays fixed however many keys an attacker cycles through. A key past its threshold
+ * is blocked for {@code block-seconds} and the block is published on a Redis channel, so
+ * every auth-service instance rejects it without counting failures of its own. Usernames alone
+ * are never blocked, so an attacker cannot lock a user out from other addresses.
+ * <p>
+ * Redis is best-effort: if it is down, each instance still blocks from its own counts.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LoginFailureTracker implements MessageListener {
+
+    private static final String METRIC_PREFIX = "auth.login-protection";
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final ObjectProvider<MeterRegistry> meterRegistryProvider;
+
+    @Value("${auth.login-protection.enabled:true}")
+    private boolean enabled;
+
+    @Value("${auth.login-protection.window-seconds:300}")
+    private long windowSeconds;
+
+    @Value("${auth.login-protection.ip-threshold:50}")
+    private int ipThreshold;
+
+    @Value("${auth.login-protection.account-threshold:10}")
+    private int accountThreshold;
+
+    @Value("${auth.login-protection.block-seconds:900}")
+    private long blockSeconds;
+
+    @Value("${auth.login-protection.max-blocked-keys:10000}")
+    private int maxBlockedKeys;
+
+    @Value("${auth.login-protection.sketch.depth:4}")
+    private int sketchDepth;
+
+    @Value("${auth.login-protection.sketch.width:16384}")
+    private int sketchWidth;
+
+    @Value("${auth.login-protection.channel:auth:login-blocks}")
+    private String channel;
+
+    // key -> epoch millis the block ends; epoch time so blocks mean the same on every instance
+    private final Map<String, Long> blockedUntil = new ConcurrentHashMap<>();
+
+    private DecayingCountMinSketch failures;
+    private Counter failureCounter;
+    private Counter rejectedCounter;
+    private Counter localBlockCounter;
+    private Counter remoteBlockCounter;
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        failures = new DecayingCountMinSketch(sketchDepth, sketchWidth,
+                TimeUnit.SECONDS.toNanos(windowSeconds), System::nanoTime);
+        listenerContainer.addMessageListener(this, new ChannelTopic(channel));
+
+        MeterRegistry registry = meterRegistryProvider.getIfAvailable(() -> Metrics.globalRegistry);
+        failureCounter = Counter.builder(METRIC_PREFIX + ".failures").register(registry);
+        rejectedCounter = Counter.builder(METRIC_PREFIX + ".rejected").register(registry);
+        localBlockCounter = Counter.builder(METRIC_PREFIX + ".blocks").tag("source", "local").register(registry);
+        remoteBlockCounter = Counter.builder(METRIC_PREFIX + ".blocks").tag("source", "remote").register(registry);
+        Gauge.builder(METRIC_PREFIX + ".blocked-keys", blockedUntil, Map::size).register(registry);
+    }
+
+    /**
+     * Rejects the attempt with 429 if its IP or username/IP pair is blocked here or on
+     * another instance. Called before anything else in the login path.
+     */
+    public void checkAllowed(String username, String clientIp) {
+        if (!enabled) {
+            return;
+        }
+        long remainingMillis = Math.max(remainingBlock(ipKey(clientIp)), remainingBlock(accountKey(username, clientIp)));
+        if (remainingMillis > 0) {
+            rejectedCounter.increment();
+            throw new TooManyRequestsException("LOGIN_TEMPORARILY_BLOCKED",
+                    "Too many failed login attempts, please try again later",
+                    TimeUnit.MILLISECONDS.toSeconds(remainingMillis + 999));
+        }
+    }
+
+    public void recordFailure(String username, String clientIp) {
+        if (!enabled) {
+            return;
+        }
+        failureCounter.increment();
+        String ipKey = ipKey(clientIp);
+        String accountKey = accountKey(username, clientIp);
+        if (failures.add(ipKey) >= ipThreshold) {
+            block(ipKey);
+        }
+        if (failures.add(accountKey) >= accountThreshold) {
+            block(accountKey);
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        // "<epoch millis>:<key>"
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = body.indexOf(':');
+        if (separator <= 0) {
+            return;
+        }
+        try {
+            long until = Long.parseLong(body.substring(0, separator));
+            if (putBlock(body.substring(separator + 1), until)) {
+                remoteBlockCounter.increment();
+            }
+        } catch (NumberFormatException e) {
+            log.debug("Ignoring malformed login block message: {}", body);
+        }
+    }
+
+    private long remainingBlock(String key) {
+        Long until = blockedUntil.get(key);
+        if (until == null) {
+            return 0;
+        }
+        long remaining = until - System.currentTimeMillis();
+        if (remaining <= 0) {
+            blockedUntil.remove(key, until);
+        }
+        return remaining;
+    }
+
+    private void block(String key) {
+        if (remainingBlock(key) > 0) {
+            return; // Already blocked, possibly by another instance: don't republish
+        }
+        long until = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(blockSeconds);
+        if (putBlock(key, until)) {
+            localBlockCounter.increment();
+        }
+        log.warn("Blocking logins for {} for {}s after repeated failures", key, blockSeconds);
+        try {
+            redisTemplate.convertAndSend(channel, until + ":" + key);
+        } catch (RuntimeException e) {
+            log.warn("Could not publish login block for {}: {}", key, e.getMessage());
+        }
+    }
+
+    /**
+     * @return whether the block is new or extends an existing one; our own published blocks
+     *         echo back from Redis and are ignored here
+     */
+    private boolean putBlock(String key, long until) {
+        Long existing = blockedUntil.get(key);
+        if (until <= System.currentTimeMillis() || existing != null && existing >= until) {
+            return false;
+        }
+        if (blockedUntil.size() >= maxBlockedKeys) {
+            long now = System.currentTimeMillis();
+            blockedUntil.values().removeIf(end -> end <= now);
+            if (blockedUntil.size() >= maxBlockedKeys) {
+                // Still full of live blocks: drop this one rather than grow without bound
+                return false;
+            }
+        }
+        blockedUntil.merge(key, until, Math::max);
+        return true;
+    }
+
+    private static String ipKey(String clientIp) {
+        return "ip:" + clientIp;
+    }
+
+    private static String accountKey(String username, String clientIp) {
+        return "account:" + username.toLowerCase(Locale.ROOT) + "@" + clientIp;
+    }
+}
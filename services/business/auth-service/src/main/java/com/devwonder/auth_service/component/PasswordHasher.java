@@ -0,0 +1,157 @@
+package com.devwonder.auth_service.component;
+
+import com.devwonder.common.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs BCrypt hashing and verification on a dedicated pool instead of Tomcat request threads.
+ * <p>
+ * The pool has one thread per CPU (BCrypt is pure CPU work) and a bounded queue. Once the
+ * queue is full further calls fail at once with 503 and {@code Retry-After}, so a login burst
+ * ties up at most {@code threads + queue-capacity} request threads and the JWKS and account
+ * endpoints keep answering.
+ * <p>
+ * Metrics: {@code auth.password-hashing.queue-depth} and {@code .active} gauges,
+ * {@code .duration} (hash time) and {@code .queue-wait} timers tagged by operation, and
+ * {@code .rejected} for shed calls.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PasswordHasher {
+
+    private static final String METRIC_PREFIX = "auth.password-hashing";
+    private static final String MATCHES = "matches";
+    private static final String ENCODE = "encode";
+
+    private final PasswordEncoder passwordEncoder;
+    private final ObjectProvider<MeterRegistry> meterRegistryProvider;
+
+    // 0 = one thread per available processor
+    @Value("${auth.password-hashing.threads:0}")
+    private int threads;
+
+    @Value("${auth.password-hashing.queue-capacity:64}")
+    private int queueCapacity;
+
+    @Value("${auth.password-hashing.timeout-millis:5000}")
+    private long timeoutMillis;
+
+    @Value("${auth.password-hashing.retry-after-seconds:1}")
+    private long retryAfterSeconds;
+
+    private ThreadPoolExecutor executor;
+    private Map<String, Timer> durations;
+    private Map<String, Timer> queueWaits;
+    private Map<String, Counter> rejections;
+
+    @PostConstruct
+    void start() {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        MeterRegistry registry = meterRegistryProvider.getIfAvailable(() -> Metrics.globalRegistry);
+        Gauge.builder(METRIC_PREFIX + ".queue-depth", executor, pool -> pool.getQueue().size())
+                .register(registry);
+        Gauge.builder(METRIC_PREFIX + ".active", executor, ThreadPoolExecutor::getActiveCount)
+                .register(registry);
+        durations = Map.of(MATCHES, timer(registry, ".duration", MATCHES), ENCODE, timer(registry, ".duration", ENCODE));
+        queueWaits = Map.of(MATCHES, timer(registry, ".queue-wait", MATCHES), ENCODE, timer(registry, ".queue-wait", ENCODE));
+        rejections = Map.of(
+                MATCHES, Counter.builder(METRIC_PREFIX + ".rejected").tag("operation", MATCHES).register(registry),
+                ENCODE, Counter.builder(METRIC_PREFIX + ".rejected").tag("operation", ENCODE).register(registry));
+        log.info("Password hashing pool: {} threads, queue of {}", poolSize, queueCapacity);
+    }
+
+    private static Timer timer(MeterRegistry registry, String suffix, String operation) {
+        return Timer.builder(METRIC_PREFIX + suffix)
+                .tag("operation", operation)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(registry);
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(MATCHES, () -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    public String encode(CharSequence rawPassword) {
+        return run(ENCODE, () -> passwordEncoder.encode(rawPassword));
+    }
+
+    private <T> T run(String operation, Supplier<T> task) {
+        long submittedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long startedAt = System.nanoTime();
+                queueWaits.get(operation).record(startedAt - submittedAt, TimeUnit.NANOSECONDS);
+                try {
+                    return task.get();
+                } finally {
+                    durations.get(operation).record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejections.get(operation).increment();
+            throw busy();
+        }
+
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejections.get(operation).increment();
+            throw busy();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw busy();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    private ServiceUnavailableException busy() {
+        return new ServiceUnavailableException("AUTH_BUSY",
+                "Too many sign-in requests right now, please retry shortly", retryAfterSeconds);
+    }
+}
@@ -0,0 +1,121 @@
+package com.devwonder.auth_service.component;
+
+import com.devwonder.auth_service.repository.RolePermissionRow;
+import com.devwonder.auth_service.repository.RoleRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.annotation.PartitionOffset;
+import org.springframework.kafka.annotation.TopicPartition;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable role name -> permission names map, so token issuance expands permissions without
+ * touching the database.
+ * <p>
+ * Loaded at startup and rebuilt as a whole, then swapped in with one volatile write, so readers
+ * always see a complete snapshot. Code that changes roles or permissions publishes a
+ * {@link ChangedEvent}; after its transaction commits this instance rebuilds and announces the
+ * change on Kafka, and every other auth-service instance rebuilds from the database in turn.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RolePermissionSnapshot {
+
+    /**
+     * Published (as a Spring application event) after roles or their permissions change.
+     */
+    public record ChangedEvent(String source) {
+    }
+
+    private final RoleRepository roleRepository;
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+
+    @Value("${kafka.topic.role-permissions-changed:role-permissions-changed}")
+    private String changedTopic;
+
+    private final String instanceId = UUID.randomUUID().toString();
+
+    // Keys are upper-cased role names: logins match the requested role case-insensitively
+    private volatile Map<String, Set<String>> permissionsByRole = Map.of();
+
+    @PostConstruct
+    public synchronized void rebuild() {
+        Map<String, Set<String>> loaded = new HashMap<>();
+        for (RolePermissionRow row : roleRepository.findAllRolePermissionNames()) {
+            Set<String> permissions = loaded.computeIfAbsent(row.getRoleName().toUpperCase(Locale.ROOT), role -> new HashSet<>());
+            if (row.getPermissionName() != null) {
+                permissions.add(row.getPermissionName());
+            }
+        }
+        permissionsByRole = loaded.entrySet().stream()
+                .collect(Collectors.toUnmodifiableMap(Map.Entry::getKey, entry -> Set.copyOf(entry.getValue())));
+        log.info("Role permission snapshot loaded: {} roles, {} grants", permissionsByRole.size(),
+                permissionsByRole.values().stream().mapToInt(Set::size).sum());
+    }
+
+    /**
+     * Union of the permissions of the given roles; unknown roles contribute nothing.
+     */
+    public Set<String> permissionsFor(Collection<String> roleNames) {
+        Map<String, Set<String>> snapshot = permissionsByRole;
+        if (roleNames.size() == 1) {
+            return snapshot.getOrDefault(roleNames.iterator().next().toUpperCase(Locale.ROOT), Set.of());
+        }
+        Set<String> permissions = new HashSet<>();
+        for (String roleName : roleNames) {
+            permissions.addAll(snapshot.getOrDefault(roleName.toUpperCase(Locale.ROOT), Set.of()));
+        }
+        return Set.copyOf(permissions);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLocalChange(ChangedEvent event) {
+        log.info("Roles or permissions changed by {}, rebuilding snapshot", event.source());
+        rebuild();
+        try {
+            kafkaTemplate.send(changedTopic, instanceId, instanceId);
+        } catch (Exception e) {
+            log.error("Failed to announce role permission change; other instances keep their snapshot until restart", e);
+        }
+    }
+
+    /**
+     * Every instance consumes every announcement: partitions are assigned directly, without a
+     * consumer group, starting at the end of the topic, since only changes made while this
+     * instance runs matter. Announcements are keyed by the instance that made the change.
+     */
+    @KafkaListener(
+        topicPartitions = @TopicPartition(
+            topic = "${kafka.topic.role-permissions-changed:role-permissions-changed}",
+            partitionOffsets = @PartitionOffset(partition = "*", initialOffset = "0", relativeToCurrent = "true")
+        ),
+        properties = "auto.offset.reset=latest"
+    )
+    public void onRemoteChange(@Header(KafkaHeaders.RECEIVED_KEY) String origin) {
+        if (instanceId.equals(origin)) {
+            return; // Our own announcement; already rebuilt
+        }
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            log.error("Failed to rebuild role permission snapshot, keeping the previous one", e);
+        }
+    }
+}
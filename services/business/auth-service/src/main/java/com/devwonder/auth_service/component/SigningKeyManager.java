@@ -0,0 +1,354 @@
+package com.devwonder.auth_service.component;
+
+import com.devwonder.common.exception.ConfigurationException;
+import com.nimbusds.jose.EncryptionMethod;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWEAlgorithm;
+import com.nimbusds.jose.JWEHeader;
+import com.nimbusds.jose.JWEObject;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.Payload;
+import com.nimbusds.jose.crypto.PasswordBasedDecrypter;
+import com.nimbusds.jose.crypto.PasswordBasedEncrypter;
+import com.nimbusds.jose.jwk.AsymmetricJWK;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.KeyUse;
+import com.nimbusds.jose.jwk.gen.ECKeyGenerator;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import io.jsonwebtoken.SignatureAlgorithm;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token signing keys, kept in a local keystore so every replica and every restart signs with
+ * the same key.
+ * <p>
+ * The keystore is a JWK set file with private keys, encrypted with PBES2 when
+ * {@code auth.jwt.keystore.password} is set. Replicas share it through a volume: the first one
+ * to start creates the key, and rotation happens under a file lock, after which the others pick
+ * up the new file on their next check. The {@code kid} carries the key's creation time
+ * ({@code es256-20260101T000000Z}), which drives rotation.
+ * <p>
+ * A rotation keeps every key that signed tokens within the last token lifetime
+ * ({@code jwt.expiration}), so the JWKS always has the key of any token that has not expired.
+ * <p>
+ * {@code auth.jwt.algorithm} is RS256 or ES256. ES256 signs roughly an order of magnitude
+ * faster with much smaller keys and signatures. Each replica signs with the newest key of its
+ * configured algorithm and creates one only if there is none, so during a rolling algorithm
+ * change both algorithms' keys are kept and replicas on either side do not rotate each other's
+ * keys away.
+ */
+@Slf4j
+@Component
+public class SigningKeyManager {
+
+    public record SigningKey(String keyId, SignatureAlgorithm algorithm, PrivateKey privateKey) {
+    }
+
+    /**
+     * The public JWKS serialized once per key set, with a strong ETag (SHA-256 of the bytes).
+     * The array is shared by every request and must not be modified.
+     */
+    public record JwksDocument(byte[] json, String etag) {
+    }
+
+    private static final DateTimeFormatter KID_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'")
+            .withZone(ZoneOffset.UTC);
+    private static final int PBES2_SALT_LENGTH = 16;
+    private static final int PBES2_ITERATIONS = 210_000;
+
+    @Value("${auth.jwt.keystore.path:/var/lib/nexhub/auth/jwt-keystore.jwks}")
+    private Path keystorePath;
+
+    @Value("${auth.jwt.keystore.password:}")
+    private String keystorePassword;
+
+    @Value("${auth.jwt.algorithm:RS256}")
+    private String algorithmName;
+
+    // 0 disables scheduled rotation
+    @Value("${auth.jwt.rotation.interval-hours:720}")
+    private long rotationIntervalHours;
+
+    @Value("${auth.jwt.rotation.check-interval-seconds:300}")
+    private long checkIntervalSeconds;
+
+    @Value("${jwt.expiration:86400}")
+    private long tokenLifetimeSeconds;
+
+    private JWSAlgorithm algorithm;
+    private volatile KeyRing ring;
+    private ScheduledExecutorService scheduler;
+
+    @PostConstruct
+    void start() {
+        algorithm = switch (algorithmName.trim().toUpperCase()) {
+            case "RS256" -> JWSAlgorithm.RS256;
+            case "ES256" -> JWSAlgorithm.ES256;
+            default -> throw new ConfigurationException("Unsupported auth.jwt.algorithm: " + algorithmName
+                    + " (use RS256 or ES256)");
+        };
+        if (keystorePassword.isBlank()) {
+            log.warn("auth.jwt.keystore.password is not set: signing keys are stored unencrypted in {}", keystorePath);
+        }
+
+        try {
+            refresh();
+        } catch (IOException | ParseException | JOSEException e) {
+            throw new ConfigurationException("JWT_KEYSTORE_ERROR", "Cannot load signing keys from " + keystorePath, e);
+        }
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "jwt-key-rotation");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::scheduledRefresh, checkIntervalSeconds, checkIntervalSeconds, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    public SigningKey currentKey() {
+        return ring.current;
+    }
+
+    /**
+     * Public key for a {@code kid} in the keystore, or null.
+     */
+    public PublicKey publicKey(String keyId) {
+        return ring.publicKeys.get(keyId);
+    }
+
+    /**
+     * Public JWK set of every key in the keystore, ready to write to the response.
+     */
+    public JwksDocument getJwksDocument() {
+        return ring.jwks;
+    }
+
+    private void scheduledRefresh() {
+        try {
+            refresh();
+        } catch (Exception e) {
+            log.error("Signing key refresh failed, still signing with {}: {}", ring.current.keyId(), e.getMessage());
+        }
+    }
+
+    /**
+     * Reloads the keystore if another replica rewrote it, and rotates if the current key is due.
+     */
+    private synchronized void refresh() throws IOException, ParseException, JOSEException {
+        KeyRing loaded = ring;
+        long modified = Files.exists(keystorePath) ? Files.getLastModifiedTime(keystorePath).toMillis() : -1;
+        if (loaded == null || modified != loaded.fileModifiedMillis) {
+            loaded = modified < 0 ? null : toRing(readKeys(), modified);
+        }
+        if (loaded == null || rotationDue(loaded)) {
+            loaded = rotateUnderLock();
+        }
+        if (ring == null || !loaded.current.keyId().equals(ring.current.keyId())) {
+            log.info("Signing with key {} ({})", loaded.current.keyId(), loaded.current.algorithm());
+        }
+        ring = loaded;
+    }
+
+    private KeyRing rotateUnderLock() throws IOException, ParseException, JOSEException {
+        Files.createDirectories(keystorePath.toAbsolutePath().getParent());
+        Path lockFile = keystorePath.resolveSibling(keystorePath.getFileName() + ".lock");
+        try (FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+             FileLock ignored = channel.lock()) {
+            // Another replica may have rotated while we waited for the lock
+            List<JWK> keys = Files.exists(keystorePath) ? readKeys() : List.of();
+            KeyRing existing = toRing(keys, keys.isEmpty() ? -1 : Files.getLastModifiedTime(keystorePath).toMillis());
+            if (existing != null && !rotationDue(existing)) {
+                return existing;
+            }
+
+            List<JWK> kept = new ArrayList<>();
+            kept.add(generate());
+            kept.addAll(stillInUse(keys, Instant.now()));
+            writeKeys(kept);
+            log.info("Rotated signing key: new {}, keeping {}", kept.get(0).getKeyID(),
+                    kept.stream().skip(1).map(JWK::getKeyID).toList());
+            return toRing(kept, Files.getLastModifiedTime(keystorePath).toMillis());
+        }
+    }
+
+    private boolean rotationDue(KeyRing ring) {
+        if (ring.current == null) {
+            return true; // No key of the configured algorithm yet
+        }
+        // A fresh newest key of the other algorithm is not due: a replica configured for it just created it
+        return rotationIntervalHours > 0
+                && ring.newestCreatedAt.plus(Duration.ofHours(rotationIntervalHours)).isBefore(Instant.now());
+    }
+
+    /**
+     * The existing keys to keep when a key of the configured algorithm is added at {@code now}.
+     * A key stops signing when a newer key of its algorithm replaces it, and is kept until
+     * every token it signed has expired. The newest key of another algorithm may still be
+     * signing on replicas configured for it, so it is kept until it would have been rotated.
+     */
+    private List<JWK> stillInUse(List<JWK> keys, Instant now) {
+        Duration tokenLifetime = Duration.ofSeconds(tokenLifetimeSeconds);
+        Map<String, Instant> replacedAt = new HashMap<>();
+        replacedAt.put(algorithm.getName(), now);
+        List<JWK> kept = new ArrayList<>();
+        for (JWK jwk : newestFirst(keys)) {
+            String keyAlgorithm = String.valueOf(jwk.getAlgorithm());
+            Instant createdAt = createdAt(jwk);
+            Instant retiredAt = replacedAt.getOrDefault(keyAlgorithm, rotationIntervalHours > 0
+                    ? createdAt.plus(Duration.ofHours(rotationIntervalHours)) : now);
+            if (retiredAt.plus(tokenLifetime).isAfter(now)) {
+                kept.add(jwk);
+            }
+            replacedAt.put(keyAlgorithm, createdAt);
+        }
+        return kept;
+    }
+
+    private JWK generate() throws JOSEException {
+        String keyId = algorithm.getName().toLowerCase() + "-" + KID_TIME.format(Instant.now());
+        if (JWSAlgorithm.ES256.equals(algorithm)) {
+            return new ECKeyGenerator(Curve.P_256)
+                    .keyUse(KeyUse.SIGNATURE).algorithm(algorithm).keyID(keyId)
+                    .generate();
+        }
+        return new RSAKeyGenerator(2048)
+                .keyUse(KeyUse.SIGNATURE).algorithm(algorithm).keyID(keyId)
+                .generate();
+    }
+
+    private KeyRing toRing(List<JWK> keys, long fileModifiedMillis) throws JOSEException {
+        if (keys.isEmpty()) {
+            return null;
+        }
+        List<JWK> sorted = newestFirst(keys);
+        // Newest key of the configured algorithm signs; the newest key overall decides the next rotation
+        Optional<JWK> current = sorted.stream()
+                .filter(jwk -> algorithm.equals(jwk.getAlgorithm()))
+                .findFirst();
+        SigningKey signingKey = null;
+        if (current.isPresent()) {
+            JWK jwk = current.get();
+            signingKey = new SigningKey(jwk.getKeyID(), SignatureAlgorithm.forName(algorithm.getName()),
+                    ((AsymmetricJWK) jwk).toPrivateKey());
+        }
+        Map<String, PublicKey> publicKeys = new HashMap<>();
+        for (JWK jwk : sorted) {
+            publicKeys.put(jwk.getKeyID(), ((AsymmetricJWK) jwk).toPublicKey());
+        }
+        return new KeyRing(signingKey, createdAt(sorted.get(0)), Map.copyOf(publicKeys),
+                jwksDocument(new JWKSet(sorted)), fileModifiedMillis);
+    }
+
+    private static JwksDocument jwksDocument(JWKSet keys) {
+        byte[] json = keys.toString(true).getBytes(StandardCharsets.UTF_8);
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+            return new JwksDocument(json, '"' + Base64.getUrlEncoder().withoutPadding().encodeToString(digest) + '"');
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private List<JWK> newestFirst(List<JWK> keys) {
+        return keys.stream().sorted(Comparator.comparing(this::createdAt).reversed()).toList();
+    }
+
+    private Instant createdAt(JWK jwk) {
+        String keyId = jwk.getKeyID();
+        int separator = keyId == null ? -1 : keyId.indexOf('-');
+        try {
+            return Instant.from(KID_TIME.parse(keyId.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            // Imported key without a timestamped kid: treat it as old
+            return Instant.EPOCH;
+        }
+    }
+
+    private List<JWK> readKeys() throws IOException, ParseException, JOSEException {
+        String content = Files.readString(keystorePath, StandardCharsets.UTF_8).trim();
+        if (!content.startsWith("{")) {
+            if (keystorePassword.isBlank()) {
+                throw new ConfigurationException("JWT_KEYSTORE_ERROR", "Keystore " + keystorePath
+                        + " is encrypted but auth.jwt.keystore.password is not set");
+            }
+            JWEObject jwe = JWEObject.parse(content);
+            jwe.decrypt(new PasswordBasedDecrypter(keystorePassword));
+            content = jwe.getPayload().toString();
+        }
+        List<JWK> keys = JWKSet.parse(content).getKeys();
+        if (keys.stream().anyMatch(jwk -> !jwk.isPrivate())) {
+            throw new ConfigurationException("JWT_KEYSTORE_ERROR", "Keystore " + keystorePath + " holds a public-only key");
+        }
+        return keys;
+    }
+
+    private void writeKeys(List<JWK> keys) throws IOException, JOSEException {
+        String content = new JWKSet(keys).toString(false);
+        if (!keystorePassword.isBlank()) {
+            JWEObject jwe = new JWEObject(new JWEHeader(JWEAlgorithm.PBES2_HS512_A256KW, EncryptionMethod.A256GCM),
+                    new Payload(content));
+            jwe.encrypt(new PasswordBasedEncrypter(keystorePassword, PBES2_SALT_LENGTH, PBES2_ITERATIONS));
+            content = jwe.serialize();
+        }
+
+        // Write next to the target and rename, so readers never see a partial file
+        Path temp = Files.createTempFile(keystorePath.toAbsolutePath().getParent(), ".jwt-keystore", ".tmp");
+        try {
+            try {
+                Files.setPosixFilePermissions(temp, PosixFilePermissions.fromString("rw-------"));
+            } catch (UnsupportedOperationException e) {
+                log.debug("Keystore file permissions not supported on this file system");
+            }
+            Files.writeString(temp, content, StandardCharsets.UTF_8);
+            Files.move(temp, keystorePath, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private record KeyRing(SigningKey current, Instant newestCreatedAt, Map<String, PublicKey> publicKeys,
+                           JwksDocument jwks, long fileModifiedMillis) {
+    }
+}
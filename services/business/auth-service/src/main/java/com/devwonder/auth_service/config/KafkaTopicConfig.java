@@ -2,6 +2,7 @@ package com.devwonder.auth_service.config;
 
 import org.apache.kafka.clients.admin.NewTopic;
 import org.apache.kafka.common.config.TopicConfig;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.config.TopicBuilder;
@@ -77,6 +78,21 @@ public class KafkaTopicConfig {
                 .build();
     }
 
+    /**
+     * Configuration for role-permissions-changed topic
+     * Tells every auth-service instance to rebuild its role permission snapshot
+     */
+    @Bean
+    public NewTopic rolePermissionsChangedTopic(@Value("${kafka.topic.role-permissions-changed:role-permissions-changed}") String name) {
+        return TopicBuilder.name(name)
+                .partitions(1) // Announcements only; no ordering or throughput needs
+                .replicas(3)
+                .config(TopicConfig.CLEANUP_POLICY_CONFIG, "delete")
+                .config(TopicConfig.RETENTION_MS_CONFIG, "3600000") // 1 hour: only running instances care
+                .config(TopicConfig.MIN_IN_SYNC_REPLICAS_CONFIG, "2")
+                .build();
+    }
+
     /*
      * Note: email-notifications and websocket-notifications topics
      * are managed by notification-service as the primary consumer.
@@ -6,10 +6,12 @@ import com.devwonder.common.util.ResponseUtil;
 import com.devwonder.auth_service.dto.LoginRequest;
 import com.devwonder.auth_service.dto.LoginResponse;
 import com.devwonder.auth_service.service.AuthenticationService;
+import com.devwonder.auth_service.util.RequestUtil;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -30,12 +32,14 @@ public class AuthController {
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Login successful"),
         @ApiResponse(responseCode = "400", description = "Invalid input data"),
-        @ApiResponse(responseCode = "401", description = "Invalid credentials or unauthorized role")
+        @ApiResponse(responseCode = "401", description = "Invalid credentials or unauthorized role"),
+        @ApiResponse(responseCode = "429", description = "Too many failed attempts from this client")
     })
-    public ResponseEntity<BaseResponse<LoginResponse>> login(@Valid @RequestBody LoginRequest request) throws BaseException {
+    public ResponseEntity<BaseResponse<LoginResponse>> login(@Valid @RequestBody LoginRequest request,
+                                                             HttpServletRequest httpRequest) throws BaseException {
         log.info("Login request received for username: {} with userType: {}", request.getUsername(), request.getUserType());
         
-        LoginResponse response = authenticationService.login(request);
+        LoginResponse response = authenticationService.login(request, RequestUtil.getClientIpAddress(httpRequest));
         return ResponseUtil.success("Login successful", response);
     }
 }
\ No newline at end of file
@@ -1,15 +1,26 @@
 package com.devwonder.auth_service.controller;
 
-import com.devwonder.common.exception.BaseException;
+import com.devwonder.auth_service.component.SigningKeyManager;
 import com.devwonder.auth_service.util.JwtUtil;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Serves the JWKS from bytes serialized once per key set. The 200 and 304 responses are built
+ * when the keys change and reused for every request until then; verifiers revalidate with
+ * {@code If-None-Match} and get an empty 304 while the keys are unchanged.
+ */
 @RestController
 @RequestMapping("/auth")
 @RequiredArgsConstructor
@@ -17,8 +28,53 @@ public class JwksController {
 
     private final JwtUtil jwtUtil;
 
+    @Value("${auth.jwt.jwks.max-age-seconds:300}")
+    private long maxAgeSeconds;
+
+    private volatile CachedResponses cached;
+
     @GetMapping("/.well-known/jwks.json")
-    public ResponseEntity<Map<String, Object>> getJwks() throws BaseException {
-        return ResponseEntity.ok(jwtUtil.getJwks());
+    public ResponseEntity<byte[]> getJwks(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        CachedResponses responses = responsesFor(jwtUtil.getJwksDocument());
+        return matches(ifNoneMatch, responses.document.etag()) ? responses.notModified : responses.ok;
+    }
+
+    private CachedResponses responsesFor(SigningKeyManager.JwksDocument document) {
+        CachedResponses responses = cached;
+        if (responses == null || responses.document != document) {
+            responses = new CachedResponses(document, CacheControl.maxAge(maxAgeSeconds, TimeUnit.SECONDS).cachePublic());
+            cached = responses;
+        }
+        return responses;
+    }
+
+    // If-None-Match uses weak comparison, so W/"<etag>" and lists of tags match too
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        return ifNoneMatch.contains(etag) || "*".equals(ifNoneMatch.trim());
+    }
+
+    private static final class CachedResponses {
+
+        private final SigningKeyManager.JwksDocument document;
+        private final ResponseEntity<byte[]> ok;
+        private final ResponseEntity<byte[]> notModified;
+
+        private CachedResponses(SigningKeyManager.JwksDocument document, CacheControl cacheControl) {
+            this.document = document;
+            this.ok = ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .contentLength(document.json().length)
+                    .eTag(document.etag())
+                    .cacheControl(cacheControl)
+                    .body(document.json());
+            this.notModified = ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(document.etag())
+                    .cacheControl(cacheControl)
+                    .build();
+        }
     }
-}
\ No newline at end of file
+}
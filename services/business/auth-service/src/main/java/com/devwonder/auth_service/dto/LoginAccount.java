@@ -0,0 +1,49 @@
+package com.devwonder.auth_service.dto;
+
+import com.devwonder.auth_service.enums.AccountStatus;
+import com.devwonder.auth_service.repository.LoginRow;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Read-only view of an account for login, folded from {@link LoginRow}s.
+ */
+@Getter
+@AllArgsConstructor
+public class LoginAccount {
+
+    private final Long id;
+    private final String username;
+    private final String password;
+    private final AccountStatus status;
+    private final LocalDateTime deletedAt;
+    private final Set<String> roles;
+
+    public static Optional<LoginAccount> from(List<LoginRow> rows) {
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+        Set<String> roles = new HashSet<>();
+        for (LoginRow row : rows) {
+            if (row.getRoleName() != null) {
+                roles.add(row.getRoleName());
+            }
+        }
+        LoginRow first = rows.get(0);
+        return Optional.of(new LoginAccount(first.getAccountId(), first.getUsername(), first.getPassword(),
+                first.getStatus(), first.getDeletedAt(), roles));
+    }
+
+    /**
+     * Same rule as {@link com.devwonder.auth_service.entity.Account#canLogin()}
+     */
+    public boolean canLogin() {
+        return status == AccountStatus.APPROVED && deletedAt == null;
+    }
+}
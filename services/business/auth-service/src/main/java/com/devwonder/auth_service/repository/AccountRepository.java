@@ -2,12 +2,27 @@ package com.devwonder.auth_service.repository;
 
 import com.devwonder.auth_service.entity.Account;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface AccountRepository extends JpaRepository<Account, Long> {
     Optional<Account> findByUsername(String username);
     boolean existsByUsername(String username);
-}
\ No newline at end of file
+
+    /**
+     * Everything a login needs in one statement, as flat rows instead of managed entities.
+     * Permissions come from {@link com.devwonder.auth_service.component.RolePermissionSnapshot}.
+     */
+    @Transactional(readOnly = true)
+    @Query("SELECT a.id AS accountId, a.username AS username, a.password AS password, a.status AS status, " +
+           "a.deletedAt AS deletedAt, r.name AS roleName " +
+           "FROM Account a LEFT JOIN a.roles r " +
+           "WHERE a.username = :username")
+    List<LoginRow> findLoginRows(@Param("username") String username);
+}
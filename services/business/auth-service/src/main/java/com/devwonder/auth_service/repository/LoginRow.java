@@ -0,0 +1,18 @@
+package com.devwonder.auth_service.repository;
+
+import com.devwonder.auth_service.enums.AccountStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * One row of {@link AccountRepository#findLoginRows}: the account columns repeated for each
+ * role name. Role is null when the account has none.
+ */
+public interface LoginRow {
+    Long getAccountId();
+    String getUsername();
+    String getPassword();
+    AccountStatus getStatus();
+    LocalDateTime getDeletedAt();
+    String getRoleName();
+}
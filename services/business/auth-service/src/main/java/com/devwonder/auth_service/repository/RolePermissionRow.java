@@ -0,0 +1,10 @@
+package com.devwonder.auth_service.repository;
+
+/**
+ * One row of {@link RoleRepository#findAllRolePermissionNames}; permission is null for a role
+ * without any.
+ */
+public interface RolePermissionRow {
+    String getRoleName();
+    String getPermissionName();
+}
@@ -2,10 +2,18 @@ package com.devwonder.auth_service.repository;
 
 import com.devwonder.auth_service.entity.Role;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
 
 @Repository
 public interface RoleRepository extends JpaRepository<Role, Long> {
     Role findByName(String name);
     boolean existsByName(String name);
-}
\ No newline at end of file
+
+    @Transactional(readOnly = true)
+    @Query("SELECT r.name AS roleName, p.name AS permissionName FROM Role r LEFT JOIN r.permissions p")
+    List<RolePermissionRow> findAllRolePermissionNames();
+}
@@ -1,5 +1,6 @@
 package com.devwonder.auth_service.service;
 
+import com.devwonder.auth_service.component.PasswordHasher;
 import com.devwonder.auth_service.dto.CreateAccountRequest;
 import com.devwonder.auth_service.dto.CreateAccountResponse;
 import com.devwonder.auth_service.entity.Account;
@@ -12,7 +13,6 @@ import com.devwonder.auth_service.repository.AccountRepository;
 import com.devwonder.auth_service.repository.RoleRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -25,7 +25,7 @@ public class AccountService {
     
     private final AccountRepository accountRepository;
     private final RoleRepository roleRepository;
-    private final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+    private final PasswordHasher passwordHasher;
     
     @Transactional
     public CreateAccountResponse createAccount(CreateAccountRequest request) {
@@ -56,7 +56,7 @@ public class AccountService {
             // Create new account
             Account account = new Account();
             account.setUsername(request.getUsername());
-            account.setPassword(passwordEncoder.encode(request.getPassword()));
+            account.setPassword(passwordHasher.encode(request.getPassword()));
             account.setType(accountType);
             account.setInitialStatus(); // Set PENDING status for DEALER accounts, ACTIVE for CUSTOMER
             
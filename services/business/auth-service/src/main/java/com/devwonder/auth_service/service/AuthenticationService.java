@@ -1,15 +1,16 @@
 package com.devwonder.auth_service.service;
 
+import com.devwonder.auth_service.component.LoginFailureTracker;
+import com.devwonder.auth_service.component.PasswordHasher;
+import com.devwonder.auth_service.dto.LoginAccount;
 import com.devwonder.auth_service.dto.LoginRequest;
 import com.devwonder.auth_service.dto.LoginResponse;
-import com.devwonder.auth_service.entity.Account;
 import com.devwonder.auth_service.mapper.AuthMapper;
 import com.devwonder.auth_service.repository.AccountRepository;
 import com.devwonder.auth_service.util.JwtUtil;
 import com.devwonder.common.exception.AuthenticationException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -18,21 +19,29 @@ import org.springframework.stereotype.Service;
 public class AuthenticationService {
 
         private final AccountRepository accountRepository;
-        private final PasswordEncoder passwordEncoder;
+        private final PasswordHasher passwordHasher;
+        private final LoginFailureTracker loginFailureTracker;
         private final JwtUtil jwtUtil;
         private final AuthMapper authMapper;
 
-        public LoginResponse login(LoginRequest request) {
+        public LoginResponse login(LoginRequest request, String clientIp) {
                 log.info("Login attempt for username: {} with userType: {}", request.getUsername(),
                                 request.getUserType());
 
-                // Find account by username
-                Account account = accountRepository.findByUsername(request.getUsername())
-                                .orElseThrow(() -> new AuthenticationException("Invalid username or password"));
+                // Shed blocked clients before any database lookup or hashing
+                loginFailureTracker.checkAllowed(request.getUsername(), clientIp);
+
+                // Account and role names in one query; permissions come from the in-memory snapshot
+                LoginAccount account = LoginAccount.from(accountRepository.findLoginRows(request.getUsername()))
+                                .orElseThrow(() -> {
+                                        loginFailureTracker.recordFailure(request.getUsername(), clientIp);
+                                        return new AuthenticationException("Invalid username or password");
+                                });
 
                 // Verify password
-                if (!passwordEncoder.matches(request.getPassword(), account.getPassword())) {
+                if (!passwordHasher.matches(request.getPassword(), account.getPassword())) {
                         log.warn("Invalid password for username: {}", request.getUsername());
+                        loginFailureTracker.recordFailure(request.getUsername(), clientIp);
                         throw new AuthenticationException("Invalid username or password");
                 }
 
@@ -45,7 +54,7 @@ public class AuthenticationService {
 
                 // Verify user has the requested role type
                 boolean hasRequestedRole = account.getRoles().stream()
-                                .anyMatch(role -> role.getName().equalsIgnoreCase(request.getUserType()));
+                                .anyMatch(role -> role.equalsIgnoreCase(request.getUserType()));
 
                 if (!hasRequestedRole) {
                         log.warn("User {} does not have role: {}", request.getUsername(), request.getUserType());
@@ -66,8 +75,7 @@ public class AuthenticationService {
                                 account.getId(),
                                 account.getUsername(),
                                 request.getUserType(),
-                                userInfo.getRoles(),
-                                userInfo.getPermissions()
+                                userInfo.getRoles()
                 );
 
                 log.info("Login successful for username: {} with userType: {}", request.getUsername(),
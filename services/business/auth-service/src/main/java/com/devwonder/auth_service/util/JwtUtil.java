@@ -1,89 +1,74 @@
 package com.devwonder.auth_service.util;
 
 import io.jsonwebtoken.*;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
-import com.devwonder.auth_service.exception.TokenGenerationException;
+import com.devwonder.auth_service.component.RolePermissionSnapshot;
+import com.devwonder.auth_service.component.SigningKeyManager;
+import com.devwonder.common.security.PermissionCodes;
 
-import java.security.KeyPair;
-import java.security.KeyPairGenerator;
-import java.security.NoSuchAlgorithmException;
-import java.security.interfaces.RSAPrivateKey;
-import java.security.interfaces.RSAPublicKey;
+import java.security.Key;
 import java.util.*;
 
 @Component
 @Slf4j
+@RequiredArgsConstructor
 public class JwtUtil {
 
-    private final RSAPrivateKey privateKey;
-    private final RSAPublicKey publicKey;
-    private final String keyId = UUID.randomUUID().toString();
+    private final RolePermissionSnapshot rolePermissionSnapshot;
+    private final SigningKeyManager signingKeyManager;
 
     @Value("${jwt.expiration:86400}") // 24 hours in seconds
     private Long expiration;
 
-    public JwtUtil() {
-        try {
-            KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("RSA");
-            keyPairGenerator.initialize(2048);
-            KeyPair keyPair = keyPairGenerator.generateKeyPair();
-            
-            this.privateKey = (RSAPrivateKey) keyPair.getPrivate();
-            this.publicKey = (RSAPublicKey) keyPair.getPublic();
-        } catch (NoSuchAlgorithmException e) {
-            throw new TokenGenerationException("Error generating RSA key pair", e);
-        }
-    }
+    // Off by default: the gateway and services must understand the compact claim first
+    @Value("${auth.jwt.compact-permissions:false}")
+    private boolean compactPermissions;
 
-    public String generateToken(Long accountId, String username, String userType, Set<String> roles, Set<String> permissions) {
+    /**
+     * Permissions are expanded from the roles through the in-memory snapshot, without a database call.
+     * With {@code auth.jwt.compact-permissions} they go out as a {@link PermissionCodes} bitmask
+     * unless one of them is missing from the shared registry.
+     */
+    public String generateToken(Long accountId, String username, String userType, Set<String> roles) {
         Date now = new Date();
         Date expirationDate = new Date(now.getTime() + expiration * 1000);
+        SigningKeyManager.SigningKey signingKey = signingKeyManager.currentKey();
+        Set<String> permissions = rolePermissionSnapshot.permissionsFor(roles);
+        String encodedPermissions = compactPermissions ? PermissionCodes.encode(permissions) : null;
+        if (compactPermissions && encodedPermissions == null) {
+            log.debug("Permissions of roles {} are not all in the shared registry, issuing the name list", roles);
+        }
 
-        return Jwts.builder()
-                .setHeaderParam("kid", keyId)
+        JwtBuilder builder = Jwts.builder()
+                .setHeaderParam("kid", signingKey.keyId())
                 .setSubject(String.valueOf(accountId))
                 .claim("username", username)
                 .claim("userType", userType)
                 .claim("roles", roles)
-                .claim("permissions", permissions)
                 .setIssuedAt(now)
                 .setExpiration(expirationDate)
                 .setIssuer("auth-service")
-                .setAudience("nexhub-services")
-                .signWith(privateKey, SignatureAlgorithm.RS256)
+                .setAudience("nexhub-services");
+        if (encodedPermissions != null) {
+            builder.claim(PermissionCodes.CLAIM, encodedPermissions);
+        } else {
+            builder.claim("permissions", permissions);
+        }
+        return builder
+                .signWith(signingKey.privateKey(), signingKey.algorithm())
                 .compact();
     }
 
-    public Map<String, Object> getJwks() {
-        Map<String, Object> jwks = new HashMap<>();
-        List<Map<String, Object>> keys = new ArrayList<>();
-        
-        Map<String, Object> key = new HashMap<>();
-        key.put("kty", "RSA");
-        key.put("use", "sig");
-        key.put("kid", keyId);
-        key.put("alg", "RS256");
-        
-        // Convert RSA public key to JWK format
-        key.put("n", Base64.getUrlEncoder().withoutPadding()
-                .encodeToString(publicKey.getModulus().toByteArray()));
-        key.put("e", Base64.getUrlEncoder().withoutPadding()
-                .encodeToString(publicKey.getPublicExponent().toByteArray()));
-        
-        keys.add(key);
-        jwks.put("keys", keys);
-        
-        return jwks;
+    public SigningKeyManager.JwksDocument getJwksDocument() {
+        return signingKeyManager.getJwksDocument();
     }
 
     public boolean validateToken(String token) {
         try {
-            Jwts.parserBuilder()
-                .setSigningKey(publicKey)
-                .build()
-                .parseClaimsJws(token);
+            parser().parseClaimsJws(token);
             return true;
         } catch (JwtException | IllegalArgumentException e) {
             log.error("Invalid JWT token: {}", e.getMessage());
@@ -92,9 +77,7 @@ public class JwtUtil {
     }
 
     public Claims getClaimsFromToken(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(publicKey)
-                .build()
+        return parser()
                 .parseClaimsJws(token)
                 .getBody();
     }
@@ -118,4 +101,20 @@ public class JwtUtil {
         Claims claims = getClaimsFromToken(token);
         return claims.getExpiration().before(new Date());
     }
-}
\ No newline at end of file
+
+    // Tokens signed with the previous key stay valid until they expire
+    private JwtParser parser() {
+        return Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        Key key = signingKeyManager.publicKey(header.getKeyId());
+                        if (key == null) {
+                            throw new JwtException("Unknown signing key: " + header.getKeyId());
+                        }
+                        return key;
+                    }
+                })
+                .build();
+    }
+}
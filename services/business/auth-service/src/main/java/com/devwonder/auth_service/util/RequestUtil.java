@@ -0,0 +1,24 @@
+package com.devwonder.auth_service.util;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class RequestUtil {
+
+    public static final String CLIENT_IP_HEADER = "X-Nexhub-Client-IP";
+
+    /**
+     * The address of the client's connection to the gateway. The gateway sets it in
+     * {@link #CLIENT_IP_HEADER}, replacing any value the client sent, and carries it over for
+     * batch sub-requests it replays over loopback.
+     */
+    public static String getClientIpAddress(HttpServletRequest request) {
+        String clientIp = request.getHeader(CLIENT_IP_HEADER);
+        if (clientIp != null && !clientIp.isBlank()) {
+            return clientIp.trim();
+        }
+        return request.getRemoteAddr();
+    }
+}
@@ -0,0 +1,85 @@
+package com.devwonder.auth_service.component;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DecayingCountMinSketchTest {
+
+    private static final long WINDOW = 1_000;
+
+    @Test
+    void add_WithinAWindow_ShouldCountEventsPerKey() {
+        AtomicLong clock = new AtomicLong();
+        DecayingCountMinSketch sketch = new DecayingCountMinSketch(4, 1024, WINDOW, clock::get);
+
+        assertEquals(1, sketch.add("ip:10.0.0.1"));
+        assertEquals(2, sketch.add("ip:10.0.0.1"));
+        assertEquals(3, sketch.add("ip:10.0.0.1"));
+        assertEquals(3, sketch.estimate("ip:10.0.0.1"));
+        assertEquals(0, sketch.estimate("ip:10.0.0.2"));
+    }
+
+    @Test
+    void estimate_AfterRotation_ShouldFadeOutPreviousWindowLinearly() {
+        AtomicLong clock = new AtomicLong();
+        DecayingCountMinSketch sketch = new DecayingCountMinSketch(4, 1024, WINDOW, clock::get);
+        for (int i = 0; i < 10; i++) {
+            sketch.add("ip:10.0.0.1");
+        }
+
+        // Just rotated: the whole previous window still overlaps
+        clock.set(WINDOW);
+        assertEquals(10, sketch.estimate("ip:10.0.0.1"));
+        clock.set(WINDOW + WINDOW / 2);
+        assertEquals(5, sketch.estimate("ip:10.0.0.1"));
+        assertEquals(6, sketch.add("ip:10.0.0.1"));
+
+        // Two rotations later only the event from the second window is left, and fading
+        clock.set(2 * WINDOW);
+        assertEquals(1, sketch.estimate("ip:10.0.0.1"));
+        clock.set(3 * WINDOW);
+        assertEquals(0, sketch.estimate("ip:10.0.0.1"));
+    }
+
+    @Test
+    void estimate_AfterQuietPeriod_ShouldKeepWindowsAligned() {
+        AtomicLong clock = new AtomicLong();
+        DecayingCountMinSketch sketch = new DecayingCountMinSketch(4, 1024, WINDOW, clock::get);
+        sketch.add("ip:10.0.0.1");
+
+        // Nothing carries over a gap longer than a window
+        clock.set(2 * WINDOW + WINDOW / 2);
+        assertEquals(0, sketch.estimate("ip:10.0.0.1"));
+        for (int i = 0; i < 4; i++) {
+            sketch.add("ip:10.0.0.1");
+        }
+
+        // The current window started at 2 * WINDOW, not at the first call after the gap
+        clock.set(3 * WINDOW + WINDOW / 2);
+        assertEquals(2, sketch.estimate("ip:10.0.0.1"));
+    }
+
+    @Test
+    void estimate_WithCollisions_ShouldOnlyOvercount() {
+        AtomicLong clock = new AtomicLong();
+        DecayingCountMinSketch sketch = new DecayingCountMinSketch(1, 1, WINDOW, clock::get);
+
+        sketch.add("ip:10.0.0.1");
+        sketch.add("ip:10.0.0.1");
+        sketch.add("ip:10.0.0.2");
+
+        assertTrue(sketch.estimate("ip:10.0.0.1") >= 2);
+        assertEquals(3, sketch.estimate("ip:10.0.0.2"));
+    }
+
+    @Test
+    void constructor_WithEmptyDimensions_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> new DecayingCountMinSketch(0, 1024, WINDOW, System::nanoTime));
+        assertThrows(IllegalArgumentException.class, () -> new DecayingCountMinSketch(4, 0, WINDOW, System::nanoTime));
+    }
+}
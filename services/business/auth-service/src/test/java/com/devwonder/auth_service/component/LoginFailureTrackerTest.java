@@ -0,0 +1,130 @@
+package com.devwonder.auth_service.component;
+
+import com.devwonder.common.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LoginFailureTrackerTest {
+
+    private static final String CHANNEL = "auth:login-blocks";
+
+    private StringRedisTemplate redisTemplate;
+    private SimpleMeterRegistry registry;
+    private LoginFailureTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate = mock(StringRedisTemplate.class);
+        registry = new SimpleMeterRegistry();
+        @SuppressWarnings("unchecked")
+        ObjectProvider<MeterRegistry> registryProvider = mock(ObjectProvider.class);
+        when(registryProvider.getIfAvailable(any())).thenReturn(registry);
+
+        tracker = new LoginFailureTracker(redisTemplate, mock(RedisMessageListenerContainer.class), registryProvider);
+        ReflectionTestUtils.setField(tracker, "enabled", true);
+        ReflectionTestUtils.setField(tracker, "windowSeconds", 300L);
+        ReflectionTestUtils.setField(tracker, "ipThreshold", 5);
+        ReflectionTestUtils.setField(tracker, "accountThreshold", 3);
+        ReflectionTestUtils.setField(tracker, "blockSeconds", 900L);
+        ReflectionTestUtils.setField(tracker, "maxBlockedKeys", 100);
+        ReflectionTestUtils.setField(tracker, "sketchDepth", 4);
+        ReflectionTestUtils.setField(tracker, "sketchWidth", 1024);
+        ReflectionTestUtils.setField(tracker, "channel", CHANNEL);
+        tracker.start();
+    }
+
+    @Test
+    void checkAllowed_AfterAccountThreshold_ShouldBlockAccountAndAddressPair() {
+        tracker.recordFailure("alice", "203.0.113.7");
+        tracker.recordFailure("Alice", "203.0.113.7");
+        assertDoesNotThrow(() -> tracker.checkAllowed("alice", "203.0.113.7"));
+        tracker.recordFailure("alice", "203.0.113.7");
+
+        TooManyRequestsException blocked = assertThrows(TooManyRequestsException.class,
+                () -> tracker.checkAllowed("alice", "203.0.113.7"));
+        assertEquals(900, blocked.getRetryAfterSeconds());
+        verify(redisTemplate, times(1)).convertAndSend(eq(CHANNEL), anyString());
+
+        // The username alone is not blocked, and neither is the address for other accounts
+        assertDoesNotThrow(() -> tracker.checkAllowed("alice", "198.51.100.1"));
+        assertDoesNotThrow(() -> tracker.checkAllowed("bob", "203.0.113.7"));
+    }
+
+    @Test
+    void checkAllowed_WithAddressCyclingThroughUsernames_ShouldBlockAddress() {
+        for (int i = 0; i < 5; i++) {
+            tracker.recordFailure("user" + i, "203.0.113.7");
+        }
+
+        assertThrows(TooManyRequestsException.class, () -> tracker.checkAllowed("someone-else", "203.0.113.7"));
+        assertDoesNotThrow(() -> tracker.checkAllowed("someone-else", "198.51.100.1"));
+    }
+
+    @Test
+    void onMessage_WithOwnBlockEchoedBack_ShouldIgnoreIt() {
+        for (int i = 0; i < 3; i++) {
+            tracker.recordFailure("alice", "203.0.113.7");
+        }
+        ArgumentCaptor<String> published = ArgumentCaptor.forClass(String.class);
+        verify(redisTemplate).convertAndSend(eq(CHANNEL), published.capture());
+
+        tracker.onMessage(message(published.getValue()), null);
+
+        assertEquals(1, blocks("local"));
+        assertEquals(0, blocks("remote"));
+    }
+
+    @Test
+    void onMessage_WithBlockFromOtherInstance_ShouldApplyIt() {
+        long until = System.currentTimeMillis() + 60_000;
+        tracker.onMessage(message(until + ":ip:203.0.113.7"), null);
+        tracker.onMessage(message("not-a-block"), null);
+
+        assertThrows(TooManyRequestsException.class, () -> tracker.checkAllowed("alice", "203.0.113.7"));
+        assertEquals(1, blocks("remote"));
+
+        // Failures for an address another instance already blocked are not republished
+        for (int i = 0; i < 5; i++) {
+            tracker.recordFailure("user" + i, "203.0.113.7");
+        }
+        verify(redisTemplate, never()).convertAndSend(eq(CHANNEL), anyString());
+    }
+
+    @Test
+    void onMessage_WithExpiredBlock_ShouldIgnoreIt() {
+        tracker.onMessage(message((System.currentTimeMillis() - 1) + ":ip:203.0.113.7"), null);
+
+        assertDoesNotThrow(() -> tracker.checkAllowed("alice", "203.0.113.7"));
+        assertEquals(0, blocks("remote"));
+    }
+
+    private double blocks(String source) {
+        return registry.get("auth.login-protection.blocks").tag("source", source).counter().count();
+    }
+
+    private static DefaultMessage message(String body) {
+        return new DefaultMessage(CHANNEL.getBytes(StandardCharsets.UTF_8), body.getBytes(StandardCharsets.UTF_8));
+    }
+}
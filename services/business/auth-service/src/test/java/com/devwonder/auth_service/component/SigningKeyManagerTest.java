@@ -0,0 +1,132 @@
+package com.devwonder.auth_service.component;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.KeyUse;
+import com.nimbusds.jose.jwk.gen.ECKeyGenerator;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SigningKeyManagerTest {
+
+    private static final DateTimeFormatter KID_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'")
+            .withZone(ZoneOffset.UTC);
+
+    @TempDir
+    Path dir;
+
+    private SigningKeyManager manager;
+
+    @AfterEach
+    void tearDown() {
+        if (manager != null) {
+            manager.stop();
+        }
+    }
+
+    @Test
+    void start_WhenRotating_ShouldKeepEveryKeyThatSignedUnexpiredTokens() throws Exception {
+        Path keystore = dir.resolve("jwt-keystore.jwks");
+        JWK previous = rsa(daysAgo(31));
+        JWK older = rsa(daysAgo(60));
+        write(keystore, previous, older, rsa(daysAgo(90)));
+
+        // 30 day rotation, 45 day tokens: the 60 day old key was replaced 31 days ago and is still needed
+        manager = start(keystore, "RS256", Duration.ofDays(45));
+
+        List<String> kept = keyIds(keystore);
+        assertEquals(3, kept.size());
+        assertEquals(manager.currentKey().keyId(), kept.get(0));
+        assertEquals(List.of(previous.getKeyID(), older.getKeyID()), kept.subList(1, 3));
+    }
+
+    @Test
+    void start_WithFreshKeyOfOtherAlgorithm_ShouldNotRotateItAway() throws Exception {
+        Path keystore = dir.resolve("jwt-keystore.jwks");
+        JWK es = ec(Instant.now().minus(Duration.ofHours(1)));
+        JWK rs = rsa(daysAgo(10));
+        write(keystore, es, rs);
+
+        // A replica still on RS256 while another has already switched to ES256
+        manager = start(keystore, "RS256", Duration.ofDays(1));
+
+        assertEquals(rs.getKeyID(), manager.currentKey().keyId());
+        assertEquals(List.of(es.getKeyID(), rs.getKeyID()), keyIds(keystore));
+    }
+
+    @Test
+    void start_WhenSwitchingAlgorithm_ShouldKeepOldKeyForReplicas() throws Exception {
+        Path keystore = dir.resolve("jwt-keystore.jwks");
+        JWK rs = rsa(daysAgo(10));
+        write(keystore, rs);
+
+        manager = start(keystore, "ES256", Duration.ofDays(1));
+
+        List<String> kept = keyIds(keystore);
+        assertTrue(manager.currentKey().keyId().startsWith("es256-"));
+        assertNotEquals(rs.getKeyID(), manager.currentKey().keyId());
+        assertEquals(List.of(manager.currentKey().keyId(), rs.getKeyID()), kept);
+        assertNotNull(manager.publicKey(rs.getKeyID()));
+    }
+
+    private static SigningKeyManager start(Path keystore, String algorithm, Duration tokenLifetime) {
+        SigningKeyManager manager = new SigningKeyManager();
+        ReflectionTestUtils.setField(manager, "keystorePath", keystore);
+        ReflectionTestUtils.setField(manager, "keystorePassword", "");
+        ReflectionTestUtils.setField(manager, "algorithmName", algorithm);
+        ReflectionTestUtils.setField(manager, "rotationIntervalHours", 720L);
+        ReflectionTestUtils.setField(manager, "checkIntervalSeconds", 3600L);
+        ReflectionTestUtils.setField(manager, "tokenLifetimeSeconds", tokenLifetime.toSeconds());
+        manager.start();
+        return manager;
+    }
+
+    private static Instant daysAgo(int days) {
+        return Instant.now().minus(Duration.ofDays(days));
+    }
+
+    private static String kid(String prefix, Instant createdAt) {
+        return prefix + "-" + KID_TIME.format(createdAt);
+    }
+
+    private static JWK rsa(Instant createdAt) throws Exception {
+        return new RSAKeyGenerator(2048)
+                .keyUse(KeyUse.SIGNATURE).algorithm(JWSAlgorithm.RS256).keyID(kid("rs256", createdAt))
+                .generate();
+    }
+
+    private static JWK ec(Instant createdAt) throws Exception {
+        return new ECKeyGenerator(Curve.P_256)
+                .keyUse(KeyUse.SIGNATURE).algorithm(JWSAlgorithm.ES256).keyID(kid("es256", createdAt))
+                .generate();
+    }
+
+    private static void write(Path keystore, JWK... keys) throws Exception {
+        Files.writeString(keystore, new JWKSet(List.of(keys)).toString(false), StandardCharsets.UTF_8);
+    }
+
+    private static List<String> keyIds(Path keystore) throws Exception {
+        return JWKSet.parse(Files.readString(keystore, StandardCharsets.UTF_8)).getKeys().stream()
+                .map(JWK::getKeyID)
+                .toList();
+    }
+}
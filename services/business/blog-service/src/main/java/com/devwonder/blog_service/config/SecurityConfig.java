@@ -12,6 +12,17 @@ public class SecurityConfig extends BaseSecurityConfig {
     protected void configureServiceEndpoints(AuthorizeHttpRequestsConfigurer<HttpSecurity>.AuthorizationManagerRequestMatcherRegistry auth) {
         auth
             // All blog endpoints - ONLY accessible via API Gateway
-            .requestMatchers("/blogs/**", "/posts/**", "/articles/**").access(gatewayHeaderRequired());
+            .requestMatchers("/blog/**", "/blogs/**", "/posts/**", "/articles/**").access(gatewayHeaderRequired());
     }
-}
\ No newline at end of file
+
+    @Override
+    protected String[] publicCacheableGetPaths() {
+        return new String[] {
+            "/blog/posts", "/blog/posts/**",
+            // Not "/blog/categories/**": GET /blog/categories/all is admin-only and lists hidden categories
+            "/blog/categories", "/blog/categories/paginated", "/blog/categories/slug/*", "/blog/categories/{id:[0-9]+}",
+            "/blog/comments/post/*", "/blog/comments/post/*/paginated", "/blog/comments/post/*/count",
+            "/blog/comments/recent"
+        };
+    }
+}
@@ -2,6 +2,7 @@ package com.devwonder.blog_service.controller;
 
 import com.devwonder.common.dto.BaseResponse;
 import com.devwonder.common.exception.BaseException;
+import com.devwonder.common.util.FieldSelection;
 import com.devwonder.common.util.ResponseUtil;
 import com.devwonder.blog_service.dto.BlogPostRequest;
 import com.devwonder.blog_service.dto.BlogPostResponse;
@@ -41,11 +42,14 @@ public class BlogPostController {
             @RequestParam(defaultValue = "0") int page,
             
             @Parameter(description = "Page size", example = "10")
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            
+            @Parameter(description = "Comma-separated properties to return, e.g. id,title,author.name")
+            @RequestParam(required = false) String fields) {
         
         log.info("GET /blog/posts - page: {}, size: {}", page, size);
         
-        Page<BlogPostResponse> posts = blogPostService.getAllPublishedPosts(page, size);
+        Page<BlogPostResponse> posts = blogPostService.getAllPublishedPosts(page, size, FieldSelection.parse(fields));
         return ResponseEntity.ok(BaseResponse.success("Posts retrieved successfully", posts));
     }
     
@@ -61,11 +65,14 @@ public class BlogPostController {
             @RequestParam(defaultValue = "0") int page,
             
             @Parameter(description = "Page size", example = "10")
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            
+            @Parameter(description = "Comma-separated properties to return, e.g. id,title,author.name")
+            @RequestParam(required = false) String fields) {
         
         log.info("GET /blog/posts/category/{} - page: {}, size: {}", categoryId, page, size);
         
-        Page<BlogPostResponse> posts = blogPostService.getPostsByCategory(categoryId, page, size);
+        Page<BlogPostResponse> posts = blogPostService.getPostsByCategory(categoryId, page, size, FieldSelection.parse(fields));
         return ResponseEntity.ok(BaseResponse.success("Posts retrieved successfully", posts));
     }
     
@@ -74,11 +81,13 @@ public class BlogPostController {
     public ResponseEntity<BaseResponse<Page<BlogPostResponse>>> getPostsByAuthor(
             @Parameter(description = "Author ID", example = "1") @PathVariable Long authorId,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Comma-separated properties to return, e.g. id,title,author.name")
+            @RequestParam(required = false) String fields) {
         
         log.info("GET /blog/posts/author/{} - page: {}, size: {}", authorId, page, size);
         
-        Page<BlogPostResponse> posts = blogPostService.getPostsByAuthor(authorId, page, size);
+        Page<BlogPostResponse> posts = blogPostService.getPostsByAuthor(authorId, page, size, FieldSelection.parse(fields));
         return ResponseEntity.ok(BaseResponse.success("Posts retrieved successfully", posts));
     }
     
@@ -86,11 +95,13 @@ public class BlogPostController {
     @Operation(summary = "Get featured posts", description = "Retrieve paginated list of featured blog posts")
     public ResponseEntity<BaseResponse<Page<BlogPostResponse>>> getFeaturedPosts(
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Comma-separated properties to return, e.g. id,title,author.name")
+            @RequestParam(required = false) String fields) {
         
         log.info("GET /blog/posts/featured - page: {}, size: {}", page, size);
         
-        Page<BlogPostResponse> posts = blogPostService.getFeaturedPosts(page, size);
+        Page<BlogPostResponse> posts = blogPostService.getFeaturedPosts(page, size, FieldSelection.parse(fields));
         return ResponseUtil.success("Featured posts retrieved successfully", posts);
     }
     
@@ -98,11 +109,13 @@ public class BlogPostController {
     @Operation(summary = "Get popular posts", description = "Retrieve paginated list of popular blog posts ordered by views")
     public ResponseEntity<BaseResponse<Page<BlogPostResponse>>> getPopularPosts(
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Comma-separated properties to return, e.g. id,title,author.name")
+            @RequestParam(required = false) String fields) {
         
         log.info("GET /blog/posts/popular - page: {}, size: {}", page, size);
         
-        Page<BlogPostResponse> posts = blogPostService.getPopularPosts(page, size);
+        Page<BlogPostResponse> posts = blogPostService.getPopularPosts(page, size, FieldSelection.parse(fields));
         return ResponseUtil.success("Popular posts retrieved successfully", posts);
     }
     
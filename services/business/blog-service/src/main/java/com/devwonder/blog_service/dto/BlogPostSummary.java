@@ -0,0 +1,40 @@
+package com.devwonder.blog_service.dto;
+
+import com.devwonder.blog_service.entity.BlogPost;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * List row read straight from the query, without the post content, SEO metadata or tags.
+ */
+@Data
+@AllArgsConstructor
+public class BlogPostSummary {
+    private Long id;
+    private String title;
+    private String slug;
+    private String excerpt;
+    private String featuredImage;
+    private BlogPost.PostStatus status;
+    private Boolean isFeatured;
+    private Integer viewsCount;
+    private Integer likesCount;
+    private Integer commentsCount;
+    private Integer readingTime;
+    private LocalDateTime publishedAt;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    
+    private Long authorId;
+    private String authorName;
+    private String authorTitle;
+    private String authorAvatar;
+    
+    private Long categoryId;
+    private String categoryName;
+    private String categorySlug;
+    private String categoryColor;
+    private String categoryIcon;
+}
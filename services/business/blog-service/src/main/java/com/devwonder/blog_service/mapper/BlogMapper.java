@@ -71,6 +71,43 @@ public class BlogMapper {
         return response;
     }
     
+    public BlogPostResponse toPostResponse(BlogPostSummary summary) {
+        if (summary == null) return null;
+        
+        BlogPostResponse response = new BlogPostResponse();
+        response.setId(summary.getId());
+        response.setTitle(summary.getTitle());
+        response.setSlug(summary.getSlug());
+        response.setExcerpt(summary.getExcerpt());
+        response.setFeaturedImage(summary.getFeaturedImage());
+        response.setStatus(summary.getStatus());
+        response.setIsFeatured(summary.getIsFeatured());
+        response.setViewsCount(summary.getViewsCount());
+        response.setLikesCount(summary.getLikesCount());
+        response.setCommentsCount(summary.getCommentsCount());
+        response.setReadingTime(summary.getReadingTime());
+        response.setPublishedAt(summary.getPublishedAt());
+        response.setCreatedAt(summary.getCreatedAt());
+        response.setUpdatedAt(summary.getUpdatedAt());
+        
+        BlogPostResponse.AuthorSummary authorSummary = new BlogPostResponse.AuthorSummary();
+        authorSummary.setId(summary.getAuthorId());
+        authorSummary.setName(summary.getAuthorName());
+        authorSummary.setTitle(summary.getAuthorTitle());
+        authorSummary.setAvatar(summary.getAuthorAvatar());
+        response.setAuthor(authorSummary);
+        
+        BlogPostResponse.CategorySummary categorySummary = new BlogPostResponse.CategorySummary();
+        categorySummary.setId(summary.getCategoryId());
+        categorySummary.setName(summary.getCategoryName());
+        categorySummary.setSlug(summary.getCategorySlug());
+        categorySummary.setColor(summary.getCategoryColor());
+        categorySummary.setIcon(summary.getCategoryIcon());
+        response.setCategory(categorySummary);
+        
+        return response;
+    }
+    
     public BlogCategoryResponse toCategoryResponse(BlogCategory category) {
         if (category == null) return null;
         
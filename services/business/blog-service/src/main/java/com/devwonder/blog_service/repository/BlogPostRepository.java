@@ -1,5 +1,6 @@
 package com.devwonder.blog_service.repository;
 
+import com.devwonder.blog_service.dto.BlogPostSummary;
 import com.devwonder.blog_service.entity.BlogPost;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -34,6 +35,33 @@ public interface BlogPostRepository extends JpaRepository<BlogPost, Long> {
     @Query("SELECT p FROM BlogPost p WHERE p.status = 'PUBLISHED' AND p.deletedAt IS NULL ORDER BY p.viewsCount DESC, p.publishedAt DESC")
     Page<BlogPost> findPopularPosts(Pageable pageable);
     
+    // Summary rows for list pages that don't need content, SEO metadata or tags
+    String SUMMARY_SELECT = "SELECT new com.devwonder.blog_service.dto.BlogPostSummary(" +
+            "p.id, p.title, p.slug, p.excerpt, p.featuredImage, p.status, p.isFeatured, p.viewsCount, " +
+            "p.likesCount, p.commentsCount, p.readingTime, p.publishedAt, p.createdAt, p.updatedAt, " +
+            "a.id, a.name, a.title, a.avatar, c.id, c.name, c.slug, c.color, c.icon) " +
+            "FROM BlogPost p JOIN p.author a JOIN p.category c ";
+    
+    @Query(value = SUMMARY_SELECT + "WHERE p.status = 'PUBLISHED' AND p.deletedAt IS NULL ORDER BY p.publishedAt DESC",
+           countQuery = "SELECT COUNT(p) FROM BlogPost p WHERE p.status = 'PUBLISHED' AND p.deletedAt IS NULL")
+    Page<BlogPostSummary> findPublishedPostSummaries(Pageable pageable);
+    
+    @Query(value = SUMMARY_SELECT + "WHERE p.status = 'PUBLISHED' AND c.id = :categoryId AND p.deletedAt IS NULL ORDER BY p.publishedAt DESC",
+           countQuery = "SELECT COUNT(p) FROM BlogPost p WHERE p.status = 'PUBLISHED' AND p.category.id = :categoryId AND p.deletedAt IS NULL")
+    Page<BlogPostSummary> findPublishedPostSummariesByCategory(@Param("categoryId") Long categoryId, Pageable pageable);
+    
+    @Query(value = SUMMARY_SELECT + "WHERE p.status = 'PUBLISHED' AND a.id = :authorId AND p.deletedAt IS NULL ORDER BY p.publishedAt DESC",
+           countQuery = "SELECT COUNT(p) FROM BlogPost p WHERE p.status = 'PUBLISHED' AND p.author.id = :authorId AND p.deletedAt IS NULL")
+    Page<BlogPostSummary> findPublishedPostSummariesByAuthor(@Param("authorId") Long authorId, Pageable pageable);
+    
+    @Query(value = SUMMARY_SELECT + "WHERE p.status = 'PUBLISHED' AND p.isFeatured = true AND p.deletedAt IS NULL ORDER BY p.publishedAt DESC",
+           countQuery = "SELECT COUNT(p) FROM BlogPost p WHERE p.status = 'PUBLISHED' AND p.isFeatured = true AND p.deletedAt IS NULL")
+    Page<BlogPostSummary> findFeaturedPostSummaries(Pageable pageable);
+    
+    @Query(value = SUMMARY_SELECT + "WHERE p.status = 'PUBLISHED' AND p.deletedAt IS NULL ORDER BY p.viewsCount DESC, p.publishedAt DESC",
+           countQuery = "SELECT COUNT(p) FROM BlogPost p WHERE p.status = 'PUBLISHED' AND p.deletedAt IS NULL")
+    Page<BlogPostSummary> findPopularPostSummaries(Pageable pageable);
+    
     // Search posts
     @Query("SELECT p FROM BlogPost p WHERE p.status = 'PUBLISHED' AND p.deletedAt IS NULL AND " +
            "(LOWER(p.title) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
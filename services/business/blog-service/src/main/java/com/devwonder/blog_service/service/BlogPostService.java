@@ -13,6 +13,7 @@ import com.devwonder.blog_service.repository.BlogPostRepository;
 import com.devwonder.blog_service.repository.BlogTagRepository;
 import com.devwonder.blog_service.exception.BlogPostNotFoundException;
 import com.devwonder.common.exception.ValidationException;
+import com.devwonder.common.util.FieldSelection;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -31,6 +32,9 @@ import java.util.Set;
 @Transactional
 public class BlogPostService {
     
+    // Properties only the full entity query can fill in
+    private static final String[] FULL_POST_FIELDS = {"content", "metaTitle", "metaDescription", "metaKeywords", "tags"};
+    
     private final BlogPostRepository postRepository;
     private final BlogCategoryRepository categoryRepository;
     private final BlogAuthorRepository authorRepository;
@@ -41,10 +45,13 @@ public class BlogPostService {
     
     // Get all published posts
     @Transactional(readOnly = true)
-    public Page<BlogPostResponse> getAllPublishedPosts(int page, int size) {
-        log.info("Fetching published posts - page: {}, size: {}", page, size);
+    public Page<BlogPostResponse> getAllPublishedPosts(int page, int size, FieldSelection fields) {
+        log.info("Fetching published posts - page: {}, size: {}, fields: {}", page, size, fields);
         
         Pageable pageable = PageRequest.of(page, size);
+        if (!needsFullPost(fields)) {
+            return postRepository.findPublishedPostSummaries(pageable).map(blogMapper::toPostResponse);
+        }
         Page<BlogPost> posts = postRepository.findPublishedPosts(pageable);
         
         return posts.map(blogMapper::toPostResponse);
@@ -52,10 +59,13 @@ public class BlogPostService {
     
     // Get posts by category
     @Transactional(readOnly = true)
-    public Page<BlogPostResponse> getPostsByCategory(Long categoryId, int page, int size) {
-        log.info("Fetching posts by category: {} - page: {}, size: {}", categoryId, page, size);
+    public Page<BlogPostResponse> getPostsByCategory(Long categoryId, int page, int size, FieldSelection fields) {
+        log.info("Fetching posts by category: {} - page: {}, size: {}, fields: {}", categoryId, page, size, fields);
         
         Pageable pageable = PageRequest.of(page, size);
+        if (!needsFullPost(fields)) {
+            return postRepository.findPublishedPostSummariesByCategory(categoryId, pageable).map(blogMapper::toPostResponse);
+        }
         Page<BlogPost> posts = postRepository.findPublishedPostsByCategory(categoryId, pageable);
         
         return posts.map(blogMapper::toPostResponse);
@@ -63,10 +73,13 @@ public class BlogPostService {
     
     // Get posts by author
     @Transactional(readOnly = true)
-    public Page<BlogPostResponse> getPostsByAuthor(Long authorId, int page, int size) {
-        log.info("Fetching posts by author: {} - page: {}, size: {}", authorId, page, size);
+    public Page<BlogPostResponse> getPostsByAuthor(Long authorId, int page, int size, FieldSelection fields) {
+        log.info("Fetching posts by author: {} - page: {}, size: {}, fields: {}", authorId, page, size, fields);
         
         Pageable pageable = PageRequest.of(page, size);
+        if (!needsFullPost(fields)) {
+            return postRepository.findPublishedPostSummariesByAuthor(authorId, pageable).map(blogMapper::toPostResponse);
+        }
         Page<BlogPost> posts = postRepository.findPublishedPostsByAuthor(authorId, pageable);
         
         return posts.map(blogMapper::toPostResponse);
@@ -74,10 +87,13 @@ public class BlogPostService {
     
     // Get featured posts
     @Transactional(readOnly = true)
-    public Page<BlogPostResponse> getFeaturedPosts(int page, int size) {
-        log.info("Fetching featured posts - page: {}, size: {}", page, size);
+    public Page<BlogPostResponse> getFeaturedPosts(int page, int size, FieldSelection fields) {
+        log.info("Fetching featured posts - page: {}, size: {}, fields: {}", page, size, fields);
         
         Pageable pageable = PageRequest.of(page, size);
+        if (!needsFullPost(fields)) {
+            return postRepository.findFeaturedPostSummaries(pageable).map(blogMapper::toPostResponse);
+        }
         Page<BlogPost> posts = postRepository.findFeaturedPosts(pageable);
         
         return posts.map(blogMapper::toPostResponse);
@@ -85,10 +101,13 @@ public class BlogPostService {
     
     // Get popular posts
     @Transactional(readOnly = true)
-    public Page<BlogPostResponse> getPopularPosts(int page, int size) {
-        log.info("Fetching popular posts - page: {}, size: {}", page, size);
+    public Page<BlogPostResponse> getPopularPosts(int page, int size, FieldSelection fields) {
+        log.info("Fetching popular posts - page: {}, size: {}, fields: {}", page, size, fields);
         
         Pageable pageable = PageRequest.of(page, size);
+        if (!needsFullPost(fields)) {
+            return postRepository.findPopularPostSummaries(pageable).map(blogMapper::toPostResponse);
+        }
         Page<BlogPost> posts = postRepository.findPopularPosts(pageable);
         
         return posts.map(blogMapper::toPostResponse);
@@ -315,4 +334,7 @@ public class BlogPostService {
         statsService.incrementLikeCount(id);
     }
     
-}
\ No newline at end of file
+    private boolean needsFullPost(FieldSelection fields) {
+        return fields.includesAny(FULL_POST_FIELDS);
+    }
+}
@@ -3,6 +3,8 @@ package com.devwonder.notification_service.config;
 import com.devwonder.common.security.JwtService;
 import com.devwonder.common.exception.AuthenticationException;
 import com.devwonder.common.exception.AuthorizationException;
+import com.devwonder.notification_service.security.StompPrincipal;
+import com.devwonder.notification_service.security.StompSessionRegistry;
 import com.nimbusds.jwt.JWTClaimsSet;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.lang.NonNull;
@@ -14,17 +16,19 @@ import org.springframework.messaging.support.ChannelInterceptor;
 import org.springframework.messaging.support.MessageHeaderAccessor;
 import org.springframework.stereotype.Component;
 
-import java.security.Principal;
 import java.util.List;
+import java.util.Map;
 
 @Slf4j
 @Component
 public class WebSocketAuthenticationInterceptor implements ChannelInterceptor {
     
     private final JwtService jwtService;
+    private final StompSessionRegistry sessionRegistry;
     
-    public WebSocketAuthenticationInterceptor(JwtService jwtService) {
+    public WebSocketAuthenticationInterceptor(JwtService jwtService, StompSessionRegistry sessionRegistry) {
         this.jwtService = jwtService;
+        this.sessionRegistry = sessionRegistry;
     }
 
     @Override
@@ -49,18 +53,19 @@ public class WebSocketAuthenticationInterceptor implements ChannelInterceptor {
                 JWTClaimsSet claimsSet = jwtService.validateToken(token);
                 log.info("✅ JWT token validation successful");
                 
-                // Extract user info (no role restriction - all authenticated users allowed)
-                List<String> roles = jwtService.extractRoles(claimsSet);
-                String username = jwtService.extractUsername(claimsSet);
-                Long accountId = jwtService.extractAccountId(claimsSet);
-                
-                // Create a Principal and set it in the accessor
-                Principal principal = createPrincipal(claimsSet);
+                // Resolve identity once for the whole session (no role restriction - all authenticated users allowed)
+                StompPrincipal principal = createPrincipal(claimsSet);
                 accessor.setUser(principal);
                 
+                // Later SEND/SUBSCRIBE frames authorize against this instead of the JWT
+                Map<String, Object> sessionAttributes = accessor.getSessionAttributes();
+                if (sessionAttributes != null) {
+                    sessionAttributes.put(StompPrincipal.SESSION_ATTRIBUTE, principal);
+                }
+                sessionRegistry.register(accessor.getSessionId(), principal);
+                
                 log.info("✅ STOMP CONNECT authenticated successfully!");
-                log.info("👤 User: {} (ID: {}) with roles: {}", username, accountId, roles);
-                log.info("🔑 Principal created: {}", principal.getName());
+                log.info("👤 User: {} (ID: {}) with roles: {}", principal.getUsername(), principal.getAccountId(), principal.getRoles());
                 
             } catch (AuthenticationException | AuthorizationException e) {
                 log.error("❌ Authentication/Authorization failed: {}", e.getMessage());
@@ -94,15 +99,17 @@ public class WebSocketAuthenticationInterceptor implements ChannelInterceptor {
         return null;
     }
 
-    private Principal createPrincipal(JWTClaimsSet claimsSet) {
+    private StompPrincipal createPrincipal(JWTClaimsSet claimsSet) {
         String username = jwtService.extractUsername(claimsSet);
         Long accountId = jwtService.extractAccountId(claimsSet);
         
-        return new Principal() {
-            @Override
-            public String getName() {
-                return username != null ? username : String.valueOf(accountId);
-            }
-        };
+        List<String> roles = jwtService.extractRoles(claimsSet);
+        if (roles == null || roles.isEmpty()) {
+            // Fallback to userType if no roles found
+            String userType = jwtService.extractUserType(claimsSet);
+            roles = userType != null && !userType.trim().isEmpty() ? List.of(userType) : List.of();
+        }
+        
+        return new StompPrincipal(accountId, username, roles, claimsSet.getExpirationTime());
     }
 }
\ No newline at end of file
@@ -1,9 +1,6 @@
 package com.devwonder.notification_service.config;
 
-import com.devwonder.common.security.JwtService;
-import com.devwonder.common.exception.AuthenticationException;
-import com.devwonder.common.exception.AuthorizationException;
-import com.nimbusds.jwt.JWTClaimsSet;
+import com.devwonder.notification_service.security.StompPrincipal;
 import org.springframework.lang.NonNull;
 import org.springframework.messaging.Message;
 import org.springframework.messaging.MessageChannel;
@@ -15,18 +12,12 @@ import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Component;
 import lombok.extern.slf4j.Slf4j;
 
-import java.util.List;
+import java.util.Map;
 
 @Slf4j
 @Component
 public class WebSocketAuthorizationInterceptor implements ChannelInterceptor {
     
-    private final JwtService jwtService;
-    
-    public WebSocketAuthorizationInterceptor(JwtService jwtService) {
-        this.jwtService = jwtService;
-    }
-
     @Override
     public Message<?> preSend(@NonNull Message<?> message, @NonNull MessageChannel channel) {
         StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
@@ -54,34 +45,32 @@ public class WebSocketAuthorizationInterceptor implements ChannelInterceptor {
     
     private void handleSendCommand(StompHeaderAccessor accessor) {
         String destination = accessor.getDestination();
-        List<String> userRoles = getUserRoles(accessor);
+        StompPrincipal principal = getPrincipal(accessor);
         
-        log.info("🔒 Processing SEND command authorization");
-        log.info("📍 Destination: {}", destination);
-        log.info("👥 User roles: {}", userRoles);
+        log.debug("🔒 Processing SEND command authorization - destination: {}, user: {}", destination, principal);
         
         // Check if user has ADMIN role
-        boolean isAdmin = userRoles.stream().anyMatch("ADMIN"::equalsIgnoreCase);
+        boolean isAdmin = principal != null && principal.hasRole(StompPrincipal.ROLE_ADMIN);
         
         // Broadcast messages - Only ADMIN can send
         if ("/app/broadcast".equals(destination)) {
-            log.info("📢 Broadcast permission check - Is Admin: {}", isAdmin);
+            log.debug("📢 Broadcast permission check - Is Admin: {}", isAdmin);
             if (!isAdmin) {
                 log.error("❌ SEND ACCESS DENIED - Only ADMIN can send broadcast messages");
                 throw new AccessDeniedException("Access denied: Only ADMIN can send broadcast messages");
             }
-            log.info("✅ SEND ACCESS GRANTED - ADMIN authorized to broadcast");
+            log.debug("✅ SEND ACCESS GRANTED - ADMIN authorized to broadcast");
             return;
         }
         
         // Private messages - Only ADMIN can send
         if (destination != null && destination.startsWith("/app/private/")) {
-            log.info("📧 Private message permission check - Is Admin: {}", isAdmin);
+            log.debug("📧 Private message permission check - Is Admin: {}", isAdmin);
             if (!isAdmin) {
-                log.error("❌ SEND ACCESS DENIED - Only ADMIN can send private messages (roles: {})", userRoles);
+                log.error("❌ SEND ACCESS DENIED - Only ADMIN can send private messages (user: {})", principal);
                 throw new AccessDeniedException("Access denied: Only ADMIN can send private messages");
             }
-            log.info("✅ SEND ACCESS GRANTED - ADMIN authorized to send private message");
+            log.debug("✅ SEND ACCESS GRANTED - ADMIN authorized to send private message");
             return;
         }
         
@@ -92,38 +81,33 @@ public class WebSocketAuthorizationInterceptor implements ChannelInterceptor {
     
     private void handleSubscribeCommand(StompHeaderAccessor accessor) {
         String destination = accessor.getDestination();
-        List<String> userRoles = getUserRoles(accessor);
+        StompPrincipal principal = getPrincipal(accessor);
         
-        log.info("🔒 Processing SUBSCRIBE command authorization");
-        log.info("📍 Destination: {}", destination);
-        log.info("👥 User roles: {}", userRoles);
+        log.debug("🔒 Processing SUBSCRIBE command authorization - destination: {}, user: {}", destination, principal);
         
         // Check user roles
-        boolean isAdmin = userRoles.stream().anyMatch("ADMIN"::equalsIgnoreCase);
-        boolean isCustomer = userRoles.stream().anyMatch("CUSTOMER"::equalsIgnoreCase);
-        
-        log.info("👤 Role check - Is Admin: {}, Is Customer: {}", isAdmin, isCustomer);
+        boolean isAdmin = principal != null && principal.hasRole(StompPrincipal.ROLE_ADMIN);
         
         // Public topic subscriptions - All authenticated users can subscribe
         if ("/topic/notifications".equals(destination)) {
-            log.info("✅ SUBSCRIBE ACCESS GRANTED - Public notifications topic accessible to all");
+            log.debug("✅ SUBSCRIBE ACCESS GRANTED - Public notifications topic accessible to all");
             return;
         }
         
         // Private message queue - All authenticated users can subscribe to their own queue
         if (destination != null && (destination.startsWith("/user/queue/private") || destination.contains("/queue/private"))) {
-            log.info("✅ SUBSCRIBE ACCESS GRANTED - User authorized to subscribe to their own private queue");
+            log.debug("✅ SUBSCRIBE ACCESS GRANTED - User authorized to subscribe to their own private queue");
             return;
         }
         
         // Dealer registration topic - ADMIN only (optional feature)  
         if ("/topic/dealer-registrations".equals(destination)) {
-            log.info("🏪 Dealer registrations subscription check - Is Admin: {}", isAdmin);
+            log.debug("🏪 Dealer registrations subscription check - Is Admin: {}", isAdmin);
             if (!isAdmin) {
-                log.error("❌ SUBSCRIBE ACCESS DENIED - Only ADMIN can subscribe to dealer registrations (roles: {})", userRoles);
+                log.error("❌ SUBSCRIBE ACCESS DENIED - Only ADMIN can subscribe to dealer registrations (user: {})", principal);
                 throw new AccessDeniedException("Access denied: Only ADMIN can subscribe to dealer registrations");
             }
-            log.info("✅ SUBSCRIBE ACCESS GRANTED - ADMIN authorized to subscribe to dealer registrations");
+            log.debug("✅ SUBSCRIBE ACCESS GRANTED - ADMIN authorized to subscribe to dealer registrations");
             return;
         }
         
@@ -132,53 +116,21 @@ public class WebSocketAuthorizationInterceptor implements ChannelInterceptor {
         throw new AccessDeniedException("Access denied to unknown subscription destination: " + destination);
     }
     
-    private String extractTokenFromHeaders(StompHeaderAccessor accessor) {
-        // Try to get token from Authorization header
-        List<String> authHeaders = accessor.getNativeHeader("Authorization");
-        if (authHeaders != null && !authHeaders.isEmpty()) {
-            String authHeader = authHeaders.get(0);
-            if (authHeader.startsWith("Bearer ")) {
-                return authHeader.substring(7);
-            }
+    private StompPrincipal getPrincipal(StompHeaderAccessor accessor) {
+        // Resolved once at CONNECT by WebSocketAuthenticationInterceptor
+        StompPrincipal principal = null;
+        Map<String, Object> sessionAttributes = accessor.getSessionAttributes();
+        if (sessionAttributes != null && sessionAttributes.get(StompPrincipal.SESSION_ATTRIBUTE) instanceof StompPrincipal stored) {
+            principal = stored;
+        } else if (accessor.getUser() instanceof StompPrincipal user) {
+            principal = user;
         }
         
-        return null;
-    }
-    
-    private List<String> getUserRoles(StompHeaderAccessor accessor) {
-        try {
-            // Extract and validate JWT token for role extraction
-            String token = extractTokenFromHeaders(accessor);
-            
-            if (token == null || token.isEmpty()) {
-                log.warn("⚠️ No JWT token found in headers for role extraction - using empty roles");
-                return List.of();
-            }
-            
-            // Validate JWT token and extract fresh roles
-            JWTClaimsSet claimsSet = jwtService.validateToken(token);
-            List<String> roles = jwtService.extractRoles(claimsSet);
-            
-            if (roles != null && !roles.isEmpty()) {
-                log.debug("✅ Extracted roles from JWT token: {}", roles);
-                return roles;
-            }
-            
-            // Fallback to userType if no roles found
-            String userType = jwtService.extractUserType(claimsSet);
-            if (userType != null && !userType.trim().isEmpty()) {
-                log.debug("✅ Using userType from JWT as role: {}", userType);
-                return List.of(userType);
-            }
-            
-            // No roles or userType found
-            log.warn("⚠️ No roles or userType found in JWT token");
-            return List.of();
-            
-        } catch (Exception e) {
-            log.error("❌ Error during role extraction (non-fatal): {}", e.getMessage());
-            // Return empty roles instead of throwing - let specific authorization logic handle it
-            return List.of();
+        if (principal != null && principal.isExpired()) {
+            log.warn("⚠️ Token expired for WebSocket session of user: {}", principal.getName());
+            throw new AccessDeniedException("Access denied: Token expired");
         }
+        
+        return principal;
     }
 }
\ No newline at end of file
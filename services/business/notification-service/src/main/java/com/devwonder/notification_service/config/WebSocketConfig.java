@@ -1,5 +1,6 @@
 package com.devwonder.notification_service.config;
 
+import com.devwonder.notification_service.security.StompSessionRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.lang.NonNull;
@@ -8,6 +9,7 @@ import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -22,6 +24,9 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
     
     @Autowired
     private WebSocketAuthorizationInterceptor authorizationInterceptor;
+    
+    @Autowired
+    private StompSessionRegistry sessionRegistry;
 
     @Override
     public void configureMessageBroker(@NonNull MessageBrokerRegistry config) {
@@ -45,4 +50,10 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
         // Add role-based authorization interceptor for STOMP SEND frames
         registration.interceptors(authenticationInterceptor, authorizationInterceptor);
     }
+
+    @Override
+    public void configureWebSocketTransport(@NonNull WebSocketTransportRegistration registration) {
+        // Lets the session registry close connections whose JWT has expired
+        registration.addDecoratorFactory(sessionRegistry::decorate);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,114 @@
+package com.devwonder.notification_service.config;
+
+import com.devwonder.notification_service.security.StompSessionRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.serviceregistry.Registration;
+import org.springframework.cloud.client.serviceregistry.ServiceRegistry;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Drains WebSocket connections before the instance shuts down.
+ * <p>
+ * The instance is first marked OUT_OF_SERVICE in Eureka and keeps serving for
+ * {@code notification.websocket.drain.deregistration-wait-seconds}, so the gateway stops
+ * hashing new connections onto it. The status change reaches the gateway only after the Eureka
+ * server's response cache (30s), the gateway's registry fetch (30s) and its load balancer
+ * instance cache (35s) have all refreshed, so the wait defaults to just over their sum. Open
+ * connections are then closed with 1012 (service restart) spread over
+ * {@code close-period-seconds}, so clients reconnect through the gateway to the remaining
+ * instances a few at a time instead of all at once.
+ * <p>
+ * Runs on {@link ContextClosedEvent}, before the WebSocket broker and web server stop. The
+ * container's stop timeout must cover both periods.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class WebSocketDrainer {
+
+    private static final CloseStatus DRAINING = CloseStatus.SERVICE_RESTARTED.withReason("Instance shutting down");
+
+    private final ApplicationContext applicationContext;
+    private final StompSessionRegistry sessionRegistry;
+    private final ObjectProvider<Registration> registrationProvider;
+    @SuppressWarnings("rawtypes")
+    private final ObjectProvider<ServiceRegistry> serviceRegistryProvider;
+
+    @Value("${notification.websocket.drain.enabled:true}")
+    private boolean enabled;
+
+    @Value("${notification.websocket.drain.deregistration-wait-seconds:100}")
+    private long deregistrationWaitSeconds;
+
+    @Value("${notification.websocket.drain.close-period-seconds:10}")
+    private long closePeriodSeconds;
+
+    @EventListener
+    public void onContextClosed(ContextClosedEvent event) {
+        // Child contexts (load balancer, Feign clients) publish their own close events
+        if (!enabled || event.getApplicationContext() != applicationContext) {
+            return;
+        }
+        if (sessionRegistry.getOpenSessions().isEmpty()) {
+            return;
+        }
+
+        if (markOutOfService()) {
+            log.info("Draining WebSocket connections: out of service, waiting {}s for the gateway to notice",
+                    deregistrationWaitSeconds);
+            sleep(deregistrationWaitSeconds * 1000);
+        }
+
+        List<WebSocketSession> open = sessionRegistry.getOpenSessions();
+        log.info("Closing {} WebSocket connections over {}s", open.size(), closePeriodSeconds);
+        long pauseMillis = open.isEmpty() ? 0 : closePeriodSeconds * 1000 / open.size();
+        for (WebSocketSession session : open) {
+            try {
+                if (session.isOpen()) {
+                    session.close(DRAINING);
+                }
+            } catch (IOException e) {
+                log.warn("Failed to close WebSocket session {} while draining: {}", session.getId(), e.getMessage());
+            }
+            if (pauseMillis > 0) {
+                sleep(pauseMillis);
+            }
+        }
+        log.info("WebSocket connections drained");
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private boolean markOutOfService() {
+        Registration registration = registrationProvider.getIfAvailable();
+        ServiceRegistry serviceRegistry = serviceRegistryProvider.getIfAvailable();
+        if (registration == null || serviceRegistry == null) {
+            return false;
+        }
+        try {
+            serviceRegistry.setStatus(registration, "OUT_OF_SERVICE");
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("Could not mark instance out of service before draining: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.devwonder.notification_service.security;
+
+import lombok.Getter;
+import lombok.ToString;
+
+import java.security.Principal;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Identity resolved once at STOMP CONNECT and kept in the session attributes.
+ * Later frames authorize against the precomputed {@link #roleMask} instead of re-validating the JWT.
+ */
+@Getter
+@ToString(of = {"accountId", "username", "roles"})
+public class StompPrincipal implements Principal {
+
+    public static final String SESSION_ATTRIBUTE = "nexhub.stompPrincipal";
+
+    public static final int ROLE_ADMIN = 1;
+    public static final int ROLE_DEALER = 1 << 1;
+    public static final int ROLE_CUSTOMER = 1 << 2;
+
+    private final Long accountId;
+    private final String username;
+    private final List<String> roles;
+    private final int roleMask;
+    private final long expiresAtMillis;
+
+    // Flipped by the session expiry sweep, read on every frame
+    private volatile boolean expired;
+
+    public StompPrincipal(Long accountId, String username, List<String> roles, Date expiration) {
+        this.accountId = accountId;
+        this.username = username;
+        this.roles = roles != null ? List.copyOf(roles) : List.of();
+        this.roleMask = toRoleMask(this.roles);
+        this.expiresAtMillis = expiration != null ? expiration.getTime() : Long.MAX_VALUE;
+    }
+
+    public static int toRoleMask(Collection<String> roles) {
+        int mask = 0;
+        for (String role : roles) {
+            if ("ADMIN".equalsIgnoreCase(role)) {
+                mask |= ROLE_ADMIN;
+            } else if ("DEALER".equalsIgnoreCase(role)) {
+                mask |= ROLE_DEALER;
+            } else if ("CUSTOMER".equalsIgnoreCase(role)) {
+                mask |= ROLE_CUSTOMER;
+            }
+        }
+        return mask;
+    }
+
+    public boolean hasRole(int role) {
+        return (roleMask & role) != 0;
+    }
+
+    public boolean isExpiredAt(long nowMillis) {
+        return nowMillis >= expiresAtMillis;
+    }
+
+    void markExpired() {
+        this.expired = true;
+    }
+
+    @Override
+    public String getName() {
+        return username != null ? username : String.valueOf(accountId);
+    }
+}
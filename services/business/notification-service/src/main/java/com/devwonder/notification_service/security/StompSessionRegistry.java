@@ -0,0 +1,137 @@
+package com.devwonder.notification_service.security;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tracks authenticated STOMP sessions and closes them once their JWT expires.
+ * <p>
+ * Expiry is checked by a periodic sweep rather than on every frame: expired principals are
+ * flagged (so in-flight frames are rejected) and the underlying WebSocket is closed.
+ * The number of open connections is exported as {@code notification.websocket.connections}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StompSessionRegistry {
+
+    private static final CloseStatus TOKEN_EXPIRED = CloseStatus.POLICY_VIOLATION.withReason("Token expired");
+
+    @Value("${notification.websocket.expiry-check-interval-seconds:30}")
+    private long expiryCheckIntervalSeconds;
+
+    private final ObjectProvider<MeterRegistry> meterRegistryProvider;
+    private final Map<String, StompPrincipal> principals = new ConcurrentHashMap<>();
+    private final Map<String, WebSocketSession> sessions = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService scheduler;
+
+    @PostConstruct
+    void start() {
+        meterRegistryProvider.ifAvailable(registry -> {
+            Gauge.builder("notification.websocket.connections", sessions, Map::size)
+                    .register(registry);
+            Gauge.builder("notification.websocket.authenticated-sessions", principals, Map::size)
+                    .register(registry);
+        });
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "stomp-session-expiry");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::expireSessions,
+                expiryCheckIntervalSeconds, expiryCheckIntervalSeconds, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    public void register(String sessionId, StompPrincipal principal) {
+        if (sessionId != null) {
+            principals.put(sessionId, principal);
+        }
+    }
+
+    public int getSessionCount() {
+        return principals.size();
+    }
+
+    /**
+     * Snapshot of the WebSocket connections that are currently open.
+     */
+    public List<WebSocketSession> getOpenSessions() {
+        return sessions.values().stream().filter(WebSocketSession::isOpen).toList();
+    }
+
+    /**
+     * Decorates the STOMP WebSocket handler so the registry can close sessions it expires.
+     */
+    public WebSocketHandler decorate(WebSocketHandler handler) {
+        return new WebSocketHandlerDecorator(handler) {
+            @Override
+            public void afterConnectionEstablished(@NonNull WebSocketSession session) throws Exception {
+                sessions.put(session.getId(), session);
+                super.afterConnectionEstablished(session);
+            }
+
+            @Override
+            public void afterConnectionClosed(@NonNull WebSocketSession session, @NonNull CloseStatus closeStatus) throws Exception {
+                sessions.remove(session.getId());
+                principals.remove(session.getId());
+                super.afterConnectionClosed(session, closeStatus);
+            }
+        };
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        principals.remove(event.getSessionId());
+    }
+
+    void expireSessions() {
+        long now = System.currentTimeMillis();
+        principals.forEach((sessionId, principal) -> {
+            if (!principal.isExpiredAt(now)) {
+                return;
+            }
+            principal.markExpired();
+            principals.remove(sessionId);
+
+            WebSocketSession session = sessions.remove(sessionId);
+            if (session != null && session.isOpen()) {
+                try {
+                    session.close(TOKEN_EXPIRED);
+                    log.info("Closed WebSocket session {} for {} - token expired", sessionId, principal.getName());
+                } catch (IOException e) {
+                    log.warn("Failed to close expired WebSocket session {}: {}", sessionId, e.getMessage());
+                }
+            }
+        });
+    }
+}
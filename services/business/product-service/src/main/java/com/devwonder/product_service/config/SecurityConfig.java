@@ -26,4 +26,12 @@ public class SecurityConfig extends BaseSecurityConfig {
             // Other product endpoints - require authentication via API Gateway  
             .requestMatchers("/product/**").access(gatewayHeaderRequired());
     }
-}
\ No newline at end of file
+
+    @Override
+    protected String[] publicCacheableGetPaths() {
+        return new String[] {
+            "/product/products", "/product/products/**",
+            "/product/categories", "/product/categories/**"
+        };
+    }
+}
@@ -1,5 +1,6 @@
 package com.devwonder.product_service.repository;
 
+import com.devwonder.product_service.dto.ProductResponse;
 import com.devwonder.product_service.entity.Product;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -12,17 +13,28 @@ import java.util.Optional;
 @Repository
 public interface ProductRepository extends JpaRepository<Product, Long> {
     
-    @Query("SELECT p FROM Product p WHERE p.deletedAt IS NULL")
-    Page<Product> findAllActive(Pageable pageable);
+    // List queries select only the ProductResponse columns, so the long description, specifications,
+    // warranty and SEO text columns are never read for listings
+    String RESPONSE_SELECT = "SELECT new com.devwonder.product_service.dto.ProductResponse(" +
+            "p.id, p.name, p.subtitle, p.description, c.name, p.availabilityStatus, p.estimatedDelivery, " +
+            "p.warrantyPeriod, p.highlights, p.targetAudience, p.popularity, p.rating, p.reviewCount, p.sku, " +
+            "p.publishedAt, p.createdAt) FROM Product p LEFT JOIN p.category c ";
     
-    @Query("SELECT p FROM Product p WHERE p.deletedAt IS NULL AND p.availabilityStatus = 'AVAILABLE' ORDER BY p.popularity DESC, p.createdAt DESC")
-    Page<Product> findAvailableProducts(Pageable pageable);
+    @Query(value = RESPONSE_SELECT + "WHERE p.deletedAt IS NULL",
+           countQuery = "SELECT COUNT(p) FROM Product p WHERE p.deletedAt IS NULL")
+    Page<ProductResponse> findAllActive(Pageable pageable);
     
-    @Query("SELECT p FROM Product p WHERE p.deletedAt IS NULL AND p.availabilityStatus = 'AVAILABLE' AND p.category.id = :categoryId ORDER BY p.popularity DESC")
-    Page<Product> findAvailableProductsByCategory(Long categoryId, Pageable pageable);
+    @Query(value = RESPONSE_SELECT + "WHERE p.deletedAt IS NULL AND p.availabilityStatus = 'AVAILABLE' ORDER BY p.popularity DESC, p.createdAt DESC",
+           countQuery = "SELECT COUNT(p) FROM Product p WHERE p.deletedAt IS NULL AND p.availabilityStatus = 'AVAILABLE'")
+    Page<ProductResponse> findAvailableProducts(Pageable pageable);
     
-    @Query("SELECT p FROM Product p WHERE p.deletedAt IS NULL AND p.availabilityStatus = 'AVAILABLE' AND LOWER(p.name) LIKE LOWER(CONCAT('%', :keyword, '%')) ORDER BY p.popularity DESC")
-    Page<Product> findAvailableProductsByKeyword(String keyword, Pageable pageable);
+    @Query(value = RESPONSE_SELECT + "WHERE p.deletedAt IS NULL AND p.availabilityStatus = 'AVAILABLE' AND c.id = :categoryId ORDER BY p.popularity DESC",
+           countQuery = "SELECT COUNT(p) FROM Product p WHERE p.deletedAt IS NULL AND p.availabilityStatus = 'AVAILABLE' AND p.category.id = :categoryId")
+    Page<ProductResponse> findAvailableProductsByCategory(Long categoryId, Pageable pageable);
+    
+    @Query(value = RESPONSE_SELECT + "WHERE p.deletedAt IS NULL AND p.availabilityStatus = 'AVAILABLE' AND LOWER(p.name) LIKE LOWER(CONCAT('%', :keyword, '%')) ORDER BY p.popularity DESC",
+           countQuery = "SELECT COUNT(p) FROM Product p WHERE p.deletedAt IS NULL AND p.availabilityStatus = 'AVAILABLE' AND LOWER(p.name) LIKE LOWER(CONCAT('%', :keyword, '%'))")
+    Page<ProductResponse> findAvailableProductsByKeyword(String keyword, Pageable pageable);
     
     @Query("SELECT p FROM Product p WHERE p.deletedAt IS NULL AND p.sku = :sku")
     Optional<Product> findActiveBySku(String sku);
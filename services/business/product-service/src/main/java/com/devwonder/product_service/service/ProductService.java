@@ -37,9 +37,7 @@ public class ProductService {
         log.info("Fetching products from database - page: {}, size: {}", page, size);
         
         Pageable pageable = PageRequest.of(page, size);
-        Page<Product> products = productRepository.findAvailableProducts(pageable);
-        
-        return products.map(productMapper::toResponse);
+        return productRepository.findAvailableProducts(pageable);
     }
 
     @Cacheable(value = "products-by-category", key = "'cat:' + #categoryId + ':page:' + #page + ':size:' + #size")
@@ -47,9 +45,7 @@ public class ProductService {
         log.info("Fetching products by category from database: {} - page: {}, size: {}", categoryId, page, size);
         
         Pageable pageable = PageRequest.of(page, size);
-        Page<Product> products = productRepository.findAvailableProductsByCategory(categoryId, pageable);
-        
-        return products.map(productMapper::toResponse);
+        return productRepository.findAvailableProductsByCategory(categoryId, pageable);
     }
 
     @Cacheable(value = "products-search", key = "'search:' + #keyword + ':page:' + #page + ':size:' + #size")
@@ -57,9 +53,7 @@ public class ProductService {
         log.info("Searching products in database with keyword: '{}' - page: {}, size: {}", keyword, page, size);
         
         Pageable pageable = PageRequest.of(page, size);
-        Page<Product> products = productRepository.findAvailableProductsByKeyword(keyword, pageable);
-        
-        return products.map(productMapper::toResponse);
+        return productRepository.findAvailableProductsByKeyword(keyword, pageable);
     }
 
     @CacheEvict(value = {"products", "products-active", "products-by-category", "products-search"}, allEntries = true)
@@ -234,9 +228,7 @@ public class ProductService {
         log.info("Fetching all active products from database - page: {}, size: {}", page, size);
         
         Pageable pageable = PageRequest.of(page, size);
-        Page<Product> products = productRepository.findAllActive(pageable);
-        
-        return products.map(productMapper::toResponse);
+        return productRepository.findAllActive(pageable);
     }
 
     private void updateProductFields(Product product, ProductRequest request, Category category) {
@@ -2,6 +2,7 @@ package com.devwonder.user_service.controller;
 
 import com.devwonder.common.dto.BaseResponse;
 import com.devwonder.common.exception.BaseException;
+import com.devwonder.common.security.GatewayIdentityResolver;
 import com.devwonder.common.util.ResponseUtil;
 import com.devwonder.user_service.dto.CreateResellerRequest;
 import com.devwonder.user_service.dto.RejectResellerRequest;
@@ -29,6 +30,7 @@ import org.springframework.web.bind.annotation.*;
 public class ResellerController {
     
     private final ResellerService resellerService;
+    private final GatewayIdentityResolver gatewayIdentityResolver;
 
     // Message constants
     private static final String RESELLER_WITH_ACCOUNT_ID = "Reseller with account ID ";
@@ -38,30 +40,11 @@ public class ResellerController {
      * In microservices architecture, API Gateway validates JWT and forwards claims as headers
      */
     private Long getCurrentUserId(HttpServletRequest request) {
-        try {
-            // Try to get account ID from Gateway-forwarded header
-            String accountIdHeader = request.getHeader("X-JWT-Account-ID");
-            if (accountIdHeader != null && !accountIdHeader.trim().isEmpty()) {
-                Long userId = Long.parseLong(accountIdHeader.trim());
-                log.info("Successfully extracted user ID from Gateway header: {}", userId);
-                return userId;
-            }
-            
-            // Fallback: try subject header
-            String subjectHeader = request.getHeader("X-JWT-Subject");
-            if (subjectHeader != null && !subjectHeader.trim().isEmpty()) {
-                Long userId = Long.parseLong(subjectHeader.trim());
-                log.info("Successfully extracted user ID from JWT subject header: {}", userId);
-                return userId;
-            }
-            
-            log.warn("No user ID found in Gateway headers (X-JWT-Account-ID or X-JWT-Subject)");
-            return null;
-            
-        } catch (Exception e) {
-            log.error("Failed to extract user ID from Gateway headers: {}", e.getMessage());
-            return null;
+        Long userId = gatewayIdentityResolver.resolveAccountId(request).orElse(null);
+        if (userId == null) {
+            log.warn("No user ID found in Gateway identity headers");
         }
+        return userId;
     }
     
     @PostMapping("/register")
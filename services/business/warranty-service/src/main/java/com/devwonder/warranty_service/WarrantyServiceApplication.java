@@ -1,17 +1,20 @@
 package com.devwonder.warranty_service;
 
+import com.devwonder.common.loadbalancer.LatencyAwareLoadBalancerConfiguration;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cloud.openfeign.EnableFeignClients;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
 
 @SpringBootApplication
 @ComponentScan(basePackages = {"com.devwonder.warranty_service", "com.devwonder.common"})
 @EnableCaching
 @EnableFeignClients
 @EnableDiscoveryClient
+@LoadBalancerClients(defaultConfiguration = LatencyAwareLoadBalancerConfiguration.class)
 public class WarrantyServiceApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,199 @@
+package com.devwonder.api_gateway.batch;
+
+import com.devwonder.api_gateway.constants.ForwardedHeaderConstants;
+import com.devwonder.api_gateway.util.RequestUtil;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Runs the sub-requests of a batch in parallel.
+ * <p>
+ * Each sub-request is sent back through this gateway over loopback, so it goes through exactly
+ * the same security rules, rate limits, caching and routing as if the client had sent it on
+ * its own. The caller's {@code Authorization} header and client address are carried over.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BatchExecutor {
+
+    public static final String BATCH_PATH = "/api/batch";
+
+    private static final Set<HttpMethod> ALLOWED_METHODS = Set.of(
+            HttpMethod.GET, HttpMethod.POST, HttpMethod.PUT, HttpMethod.PATCH, HttpMethod.DELETE);
+    private static final Set<String> BLOCKED_HEADERS = Set.of(
+            HttpHeaders.HOST.toLowerCase(Locale.ROOT), HttpHeaders.CONTENT_LENGTH.toLowerCase(Locale.ROOT),
+            HttpHeaders.TRANSFER_ENCODING.toLowerCase(Locale.ROOT), HttpHeaders.CONNECTION.toLowerCase(Locale.ROOT),
+            HttpHeaders.ACCEPT_ENCODING.toLowerCase(Locale.ROOT), "x-forwarded-for", "x-real-ip", ForwardedHeaderConstants.CLIENT_IP.toLowerCase(Locale.ROOT));
+    private static final List<String> RETURNED_HEADERS = List.of(
+            HttpHeaders.CONTENT_TYPE, HttpHeaders.ETAG, HttpHeaders.CACHE_CONTROL, HttpHeaders.LOCATION,
+            HttpHeaders.RETRY_AFTER, "X-Cache");
+
+    private final WebClient.Builder webClientBuilder;
+    private final ObjectMapper objectMapper;
+
+    @Value("${server.port:8080}")
+    private int serverPort;
+
+    @Value("${gateway.batch.max-concurrency:8}")
+    private int maxConcurrency;
+
+    @Value("${gateway.batch.timeout-millis:10000}")
+    private long timeoutMillis;
+
+    @Value("${gateway.batch.max-response-bytes:1048576}")
+    private int maxResponseBytes;
+
+    private WebClient webClient;
+    private String baseUrl;
+
+    @PostConstruct
+    void start() {
+        // Paths are sent as given (already encoded), so they are appended to the base URL rather than templated
+        baseUrl = "http://localhost:" + serverPort;
+        webClient = webClientBuilder
+                .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(maxResponseBytes))
+                .build();
+    }
+
+    public Mono<BatchResponse> execute(List<BatchSubRequest> requests, ServerHttpRequest batchRequest) {
+        String authorization = batchRequest.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        String clientIp = RequestUtil.getClientIpAddress(batchRequest);
+        String connectionIp = RequestUtil.getConnectionClientIp(batchRequest);
+        return Flux.fromIterable(requests)
+                .flatMapSequential(sub -> executeOne(sub, authorization, clientIp, connectionIp), maxConcurrency)
+                .collectList()
+                .map(BatchResponse::new);
+    }
+
+    private Mono<BatchSubResponse> executeOne(BatchSubRequest sub, String authorization, String clientIp,
+                                              String connectionIp) {
+        String problem = validate(sub);
+        if (problem != null) {
+            return Mono.just(error(sub, HttpStatus.BAD_REQUEST, problem));
+        }
+
+        URI uri;
+        try {
+            uri = URI.create(baseUrl + sub.path());
+        } catch (IllegalArgumentException e) {
+            return Mono.just(error(sub, HttpStatus.BAD_REQUEST, "Invalid path"));
+        }
+
+        HttpMethod method = HttpMethod.valueOf(sub.method().toUpperCase(Locale.ROOT));
+        WebClient.RequestBodySpec spec = webClient.method(method)
+                .uri(uri)
+                .headers(headers -> {
+                    if (authorization != null) {
+                        headers.set(HttpHeaders.AUTHORIZATION, authorization);
+                    }
+                    if (sub.headers() != null) {
+                        sub.headers().forEach((name, value) -> {
+                            if (!BLOCKED_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                                headers.set(name, value);
+                            }
+                        });
+                    }
+                    // Keep rate limiting keyed on the real client, not on loopback
+                    headers.set("X-Forwarded-For", clientIp);
+                    // Loopback would otherwise become every sub-request's client address downstream
+                    headers.set(ForwardedHeaderConstants.CLIENT_IP, connectionIp);
+                    ForwardedHeaderConstants.IDENTITY_HEADERS.forEach(headers::remove);
+                    // Sub-response bodies are embedded in the batch JSON, so they must come back uncompressed
+                    headers.set(HttpHeaders.ACCEPT_ENCODING, "identity");
+                });
+        WebClient.RequestHeadersSpec<?> request = sub.body() != null && !sub.body().isNull()
+                ? spec.contentType(MediaType.APPLICATION_JSON).bodyValue(sub.body())
+                : spec;
+
+        return request.exchangeToMono(response -> response.toEntity(byte[].class))
+                .timeout(Duration.ofMillis(timeoutMillis))
+                .map(response -> toSubResponse(sub, response))
+                .onErrorResume(e -> {
+                    log.debug("Batch sub-request {} {} failed: {}", sub.method(), sub.path(), e.getMessage());
+                    if (e instanceof TimeoutException) {
+                        return Mono.just(error(sub, HttpStatus.GATEWAY_TIMEOUT, "Sub-request timed out"));
+                    }
+                    if (e instanceof WebClientRequestException) {
+                        return Mono.just(error(sub, HttpStatus.BAD_GATEWAY, "Sub-request could not be sent"));
+                    }
+                    return Mono.just(error(sub, HttpStatus.BAD_GATEWAY, "Sub-request failed"));
+                });
+    }
+
+    static String validate(BatchSubRequest sub) {
+        if (sub == null) {
+            return "Sub-request is empty";
+        }
+        if (sub.method() == null || !ALLOWED_METHODS.contains(HttpMethod.valueOf(sub.method().toUpperCase(Locale.ROOT)))) {
+            return "Unsupported method: " + sub.method();
+        }
+        String path = sub.path();
+        if (path == null || !path.startsWith("/api/") || path.contains("://")) {
+            return "Path must be a gateway path starting with /api/";
+        }
+        if (path.equals(BATCH_PATH) || path.startsWith(BATCH_PATH + "?") || path.startsWith(BATCH_PATH + "/")) {
+            return "Batches cannot be nested";
+        }
+        return null;
+    }
+
+    private BatchSubResponse toSubResponse(BatchSubRequest sub, ResponseEntity<byte[]> response) {
+        Map<String, String> headers = new LinkedHashMap<>();
+        for (String name : RETURNED_HEADERS) {
+            String value = response.getHeaders().getFirst(name);
+            if (value != null) {
+                headers.put(name, value);
+            }
+        }
+        return new BatchSubResponse(sub.id(), response.getStatusCode().value(), headers,
+                parseBody(response.getHeaders().getContentType(), response.getBody()));
+    }
+
+    private JsonNode parseBody(MediaType contentType, byte[] body) {
+        if (body == null || body.length == 0) {
+            return null;
+        }
+        if (contentType != null && contentType.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+            try {
+                return objectMapper.readTree(body);
+            } catch (Exception e) {
+                log.debug("Batch sub-response declared JSON but could not be parsed: {}", e.getMessage());
+            }
+        }
+        return JsonNodeFactory.instance.textNode(new String(body, StandardCharsets.UTF_8));
+    }
+
+    private static BatchSubResponse error(BatchSubRequest sub, HttpStatus status, String message) {
+        return new BatchSubResponse(sub != null ? sub.id() : null, status.value(), Map.of(),
+                JsonNodeFactory.instance.objectNode()
+                        .put("error", status.getReasonPhrase())
+                        .put("message", message));
+    }
+}
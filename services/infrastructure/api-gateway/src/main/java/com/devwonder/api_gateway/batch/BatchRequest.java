@@ -0,0 +1,9 @@
+package com.devwonder.api_gateway.batch;
+
+import java.util.List;
+
+/**
+ * Body of {@code POST /api/batch}.
+ */
+public record BatchRequest(List<BatchSubRequest> requests) {
+}
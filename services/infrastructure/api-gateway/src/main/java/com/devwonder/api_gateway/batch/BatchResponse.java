@@ -0,0 +1,9 @@
+package com.devwonder.api_gateway.batch;
+
+import java.util.List;
+
+/**
+ * Sub-responses in the same order as the sub-requests.
+ */
+public record BatchResponse(List<BatchSubResponse> responses) {
+}
@@ -0,0 +1,12 @@
+package com.devwonder.api_gateway.batch;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.Map;
+
+/**
+ * One call inside a batch. {@code path} is a gateway path including the query string,
+ * e.g. {@code /api/product/products?featured=true}; {@code id} is echoed back to match responses.
+ */
+public record BatchSubRequest(String id, String method, String path, Map<String, String> headers, JsonNode body) {
+}
@@ -0,0 +1,12 @@
+package com.devwonder.api_gateway.batch;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.Map;
+
+/**
+ * Outcome of one sub-request. {@code body} is the parsed JSON body, or a JSON string for
+ * non-JSON responses.
+ */
+public record BatchSubResponse(String id, int status, Map<String, String> headers, JsonNode body) {
+}
@@ -0,0 +1,38 @@
+package com.devwonder.api_gateway.cache;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A successful backend response kept by {@link ResponseCache}.
+ *
+ * @param headers         the subset of response headers replayed on a hit
+ * @param encodedBodies   precompressed copies of {@code body} keyed by content coding
+ *                        ({@code br}, {@code gzip}); may be {@code null} for older entries
+ * @param etag            strong entity tag of the uncompressed body, quoted
+ * @param expiresAtMillis when the entry stops being served
+ */
+public record CachedResponse(Map<String, List<String>> headers, byte[] body, Map<String, byte[]> encodedBodies,
+                             String etag, long expiresAtMillis) {
+
+    public boolean isExpiredAt(long nowMillis) {
+        return nowMillis >= expiresAtMillis;
+    }
+
+    public byte[] encodedBody(String encoding) {
+        return encodedBodies != null ? encodedBodies.get(encoding) : null;
+    }
+
+    /**
+     * Bytes held by this entry, counting the precompressed copies.
+     */
+    public long sizeBytes() {
+        long size = body.length;
+        if (encodedBodies != null) {
+            for (byte[] encoded : encodedBodies.values()) {
+                size += encoded.length;
+            }
+        }
+        return size;
+    }
+}
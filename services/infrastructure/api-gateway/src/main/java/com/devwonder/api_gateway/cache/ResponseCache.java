@@ -0,0 +1,152 @@
+package com.devwonder.api_gateway.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Two-tier store for cached gateway responses.
+ * <p>
+ * The in-memory tier is bounded by entry count and total body bytes, precompressed copies
+ * included; when either limit is hit an expired entry from a small sample is evicted, or else
+ * the one expiring soonest. The optional Redis tier lets gateway replicas share entries; it is
+ * only consulted on an in-memory miss, and Redis errors or slow replies are treated as a miss.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ResponseCache {
+
+    private static final String REDIS_KEY_PREFIX = "nexhub:response-cache:";
+    private static final int EVICTION_SAMPLE_SIZE = 8;
+
+    private final ReactiveStringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${gateway.response-cache.max-entries:10000}")
+    private int maxEntries;
+
+    @Value("${gateway.response-cache.max-bytes:67108864}")
+    private long maxBytes;
+
+    @Value("${gateway.response-cache.redis.enabled:false}")
+    private boolean redisEnabled;
+
+    @Value("${gateway.response-cache.redis.timeout-millis:50}")
+    private long redisTimeoutMillis;
+
+    private final Map<String, CachedResponse> entries = new ConcurrentHashMap<>();
+    private final AtomicLong totalBytes = new AtomicLong();
+
+    public Mono<CachedResponse> get(String key) {
+        long now = System.currentTimeMillis();
+        CachedResponse local = entries.get(key);
+        if (local != null) {
+            if (!local.isExpiredAt(now)) {
+                return Mono.just(local);
+            }
+            remove(key, local);
+        }
+        if (!redisEnabled) {
+            return Mono.empty();
+        }
+        return redisTemplate.opsForValue().get(REDIS_KEY_PREFIX + key)
+                .timeout(Duration.ofMillis(redisTimeoutMillis))
+                .map(this::deserialize)
+                .filter(remote -> !remote.isExpiredAt(System.currentTimeMillis()))
+                .doOnNext(remote -> putLocal(key, remote))
+                .onErrorResume(e -> {
+                    log.debug("Response cache Redis lookup failed for {}: {}", key, e.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    public void put(String key, CachedResponse response) {
+        putLocal(key, response);
+        if (redisEnabled) {
+            long ttlMillis = response.expiresAtMillis() - System.currentTimeMillis();
+            if (ttlMillis <= 0) {
+                return;
+            }
+            redisTemplate.opsForValue()
+                    .set(REDIS_KEY_PREFIX + key, serialize(response), Duration.ofMillis(ttlMillis))
+                    .timeout(Duration.ofMillis(redisTimeoutMillis))
+                    .subscribe(ok -> { }, e -> log.debug("Response cache Redis write failed for {}: {}", key, e.getMessage()));
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long getTotalBytes() {
+        return totalBytes.get();
+    }
+
+    private void putLocal(String key, CachedResponse response) {
+        long size = response.sizeBytes();
+        if (size > maxBytes) {
+            return;
+        }
+        while (entries.size() >= maxEntries || totalBytes.get() + size > maxBytes) {
+            if (!evictOne()) {
+                break;
+            }
+        }
+        CachedResponse previous = entries.put(key, response);
+        totalBytes.addAndGet(size - (previous != null ? previous.sizeBytes() : 0));
+    }
+
+    private void remove(String key, CachedResponse expected) {
+        if (entries.remove(key, expected)) {
+            totalBytes.addAndGet(-expected.sizeBytes());
+        }
+    }
+
+    private boolean evictOne() {
+        long now = System.currentTimeMillis();
+        Map.Entry<String, CachedResponse> victim = null;
+        Iterator<Map.Entry<String, CachedResponse>> it = entries.entrySet().iterator();
+        for (int i = 0; i < EVICTION_SAMPLE_SIZE && it.hasNext(); i++) {
+            Map.Entry<String, CachedResponse> candidate = it.next();
+            if (candidate.getValue().isExpiredAt(now)) {
+                victim = candidate;
+                break;
+            }
+            if (victim == null || candidate.getValue().expiresAtMillis() < victim.getValue().expiresAtMillis()) {
+                victim = candidate;
+            }
+        }
+        if (victim == null) {
+            return false;
+        }
+        remove(victim.getKey(), victim.getValue());
+        return true;
+    }
+
+    private String serialize(CachedResponse response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to serialize cached response", e);
+        }
+    }
+
+    private CachedResponse deserialize(String value) {
+        try {
+            return objectMapper.readValue(value, CachedResponse.class);
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to deserialize cached response", e);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.devwonder.api_gateway.compression;
+
+/**
+ * Content codings the gateway can produce, in order of preference.
+ */
+public enum ContentEncoding {
+
+    BROTLI("br"),
+    GZIP("gzip");
+
+    private final String token;
+
+    ContentEncoding(String token) {
+        this.token = token;
+    }
+
+    /**
+     * Name used in {@code Accept-Encoding} and {@code Content-Encoding}.
+     */
+    public String token() {
+        return token;
+    }
+
+    /**
+     * Strong entity tag for this encoding of a representation, e.g. {@code "abc"} becomes
+     * {@code "abc-br"}. Each encoding is a different representation, so it needs its own tag.
+     * Weak tags are returned unchanged.
+     */
+    public String etag(String etag) {
+        if (etag == null || etag.startsWith("W/") || etag.length() < 2 || !etag.endsWith("\"")) {
+            return etag;
+        }
+        return etag.substring(0, etag.length() - 1) + "-" + token + "\"";
+    }
+}
@@ -0,0 +1,216 @@
+package com.devwonder.api_gateway.compression;
+
+import com.aayushatharva.brotli4j.Brotli4jLoader;
+import com.aayushatharva.brotli4j.encoder.Encoder;
+import com.devwonder.api_gateway.metrics.GatewayMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Negotiates and produces gzip and brotli response bodies.
+ * <p>
+ * Only responses whose content type is on the allowlist and that are at least
+ * {@code gateway.compression.min-response-bytes} long are compressed. Brotli is offered when
+ * its native library loads on this platform; otherwise the gateway falls back to gzip alone.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ResponseCompressor {
+
+    private final GatewayMetrics gatewayMetrics;
+
+    @Value("${gateway.compression.enabled:true}")
+    private boolean enabled;
+
+    @Value("${gateway.compression.min-response-bytes:1024}")
+    private int minResponseBytes;
+
+    @Value("${gateway.compression.mime-types:application/json,application/problem+json,application/javascript,application/xml,text/html,text/plain,text/css,text/javascript,image/svg+xml}")
+    private List<MediaType> mimeTypes;
+
+    @Value("${gateway.compression.gzip-level:6}")
+    private int gzipLevel;
+
+    @Value("${gateway.compression.brotli.enabled:true}")
+    private boolean brotliEnabled;
+
+    @Value("${gateway.compression.brotli.quality:5}")
+    private int brotliQuality;
+
+    private List<ContentEncoding> encodings = List.of(ContentEncoding.GZIP);
+    private Encoder.Parameters brotliParameters;
+
+    @PostConstruct
+    void start() {
+        List<ContentEncoding> available = new ArrayList<>();
+        if (brotliEnabled && loadBrotli()) {
+            brotliParameters = new Encoder.Parameters().setQuality(brotliQuality).setMode(Encoder.Mode.TEXT);
+            available.add(ContentEncoding.BROTLI);
+        }
+        available.add(ContentEncoding.GZIP);
+        encodings = List.copyOf(available);
+        log.info("Response compression {} with {}", enabled ? "enabled" : "disabled", encodings);
+    }
+
+    private static boolean loadBrotli() {
+        try {
+            Brotli4jLoader.ensureAvailability();
+            return true;
+        } catch (Throwable e) {
+            log.warn("Brotli is not available on this platform, compressing with gzip only: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int getMinResponseBytes() {
+        return minResponseBytes;
+    }
+
+    /**
+     * Picks the encoding with the highest {@code Accept-Encoding} quality, preferring brotli on
+     * a tie. Returns {@code null} when the client accepts none of them.
+     */
+    public ContentEncoding negotiate(HttpHeaders requestHeaders) {
+        List<String> acceptEncoding = requestHeaders.get(HttpHeaders.ACCEPT_ENCODING);
+        if (acceptEncoding == null || acceptEncoding.isEmpty()) {
+            return null;
+        }
+        ContentEncoding best = null;
+        double bestQuality = 0;
+        for (ContentEncoding encoding : encodings) {
+            double quality = quality(acceptEncoding, encoding.token());
+            if (quality > bestQuality) {
+                best = encoding;
+                bestQuality = quality;
+            }
+        }
+        return best;
+    }
+
+    static double quality(List<String> acceptEncoding, String token) {
+        double wildcard = 0;
+        for (String header : acceptEncoding) {
+            for (String element : header.split(",")) {
+                String[] parts = element.split(";");
+                String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+                if (!coding.equals(token) && !coding.equals("*")) {
+                    continue;
+                }
+                double quality = 1;
+                for (int i = 1; i < parts.length; i++) {
+                    String parameter = parts[i].trim();
+                    if (parameter.startsWith("q=")) {
+                        try {
+                            quality = Double.parseDouble(parameter.substring(2));
+                        } catch (NumberFormatException e) {
+                            quality = 0;
+                        }
+                    }
+                }
+                if (coding.equals(token)) {
+                    return quality;
+                }
+                wildcard = quality;
+            }
+        }
+        return wildcard;
+    }
+
+    /**
+     * Whether a response with these headers is worth compressing. A negative length means it is
+     * not known yet.
+     */
+    public boolean isCompressible(HttpHeaders responseHeaders, long length) {
+        if (!enabled || responseHeaders.containsKey(HttpHeaders.CONTENT_ENCODING)
+                || (length >= 0 && length < minResponseBytes)) {
+            return false;
+        }
+        MediaType contentType;
+        try {
+            contentType = responseHeaders.getContentType();
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+        if (contentType == null) {
+            return false;
+        }
+        for (MediaType allowed : mimeTypes) {
+            if (allowed.includes(contentType)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public byte[] compress(byte[] body, ContentEncoding encoding) {
+        long start = System.nanoTime();
+        byte[] compressed = switch (encoding) {
+            case GZIP -> gzip(body);
+            case BROTLI -> brotli(body);
+        };
+        gatewayMetrics.recordCompression(encoding.token(), body.length, compressed.length, System.nanoTime() - start);
+        return compressed;
+    }
+
+    /**
+     * Every encoding this gateway can serve, for storing alongside a cached body. Encodings that
+     * don't make the body smaller are left out.
+     */
+    public Map<String, byte[]> compressAll(byte[] body) {
+        Map<String, byte[]> compressed = new LinkedHashMap<>();
+        for (ContentEncoding encoding : encodings) {
+            byte[] encoded = compress(body, encoding);
+            if (encoded.length < body.length) {
+                compressed.put(encoding.token(), encoded);
+            }
+        }
+        return compressed;
+    }
+
+    private byte[] gzip(byte[] body) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, body.length / 4));
+        try (GZIPOutputStream gzip = new LevelledGzipOutputStream(out, gzipLevel)) {
+            gzip.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException("gzip failed", e);
+        }
+        return out.toByteArray();
+    }
+
+    private byte[] brotli(byte[] body) {
+        try {
+            return Encoder.compress(body, brotliParameters);
+        } catch (IOException e) {
+            throw new UncheckedIOException("brotli failed", e);
+        }
+    }
+
+    private static final class LevelledGzipOutputStream extends GZIPOutputStream {
+
+        LevelledGzipOutputStream(ByteArrayOutputStream out, int level) throws IOException {
+            super(out, 8192);
+            def.setLevel(level);
+        }
+    }
+}
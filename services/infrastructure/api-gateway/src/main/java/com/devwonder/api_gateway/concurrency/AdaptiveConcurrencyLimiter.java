@@ -0,0 +1,104 @@
+package com.devwonder.api_gateway.concurrency;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Gradient-based concurrency limit for one backend.
+ * <p>
+ * Two moving averages of request latency are kept: a short one that follows the backend's
+ * current behaviour and a long one that approximates its unloaded latency. While the short
+ * average stays near the long one the limit grows by roughly {@code sqrt(limit)}; as the
+ * backend slows down the ratio drops below one and the limit shrinks with it. Samples feed the
+ * long average clamped to the tolerance band, so it trails a slowdown instead of adopting it
+ * within one window (which would bring the limit straight back up). Failed requests
+ * (5xx from the backend or connection errors) cut the limit multiplicatively.
+ * <p>
+ * Acquiring is lock-free; only latency samples are serialized.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private static final double SHORT_WINDOW = 10;
+    private static final double LONG_WINDOW = 600;
+    private static final double RTT_TOLERANCE = 1.5;
+    private static final double MIN_GRADIENT = 0.5;
+    private static final double SMOOTHING = 0.2;
+    private static final double BACKOFF_RATIO = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private volatile double limit;
+    private double shortRttNanos;
+    private double longRttNanos;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    /**
+     * Takes a slot if the backend is under its current limit.
+     */
+    public boolean tryAcquire() {
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= (int) limit) {
+                return false;
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    public void onSuccess(long rttNanos) {
+        int inFlightAtCompletion = inFlight.getAndDecrement();
+        sample(rttNanos, inFlightAtCompletion);
+    }
+
+    public void onDropped() {
+        inFlight.decrementAndGet();
+        synchronized (this) {
+            limit = Math.max(minLimit, limit * BACKOFF_RATIO);
+        }
+    }
+
+    /**
+     * Releases a slot without feeding the algorithm, e.g. when the client went away.
+     */
+    public void onIgnored() {
+        inFlight.decrementAndGet();
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private synchronized void sample(long rttNanos, int inFlightAtCompletion) {
+        shortRttNanos = shortRttNanos == 0 ? rttNanos : shortRttNanos + (rttNanos - shortRttNanos) / SHORT_WINDOW;
+        // The baseline absorbs at most RTT_TOLERANCE x itself per sample, so a sustained slowdown
+        // takes thousands of samples to become the new normal instead of one long window
+        longRttNanos = longRttNanos == 0 ? rttNanos
+                : longRttNanos + (Math.min(rttNanos, longRttNanos * RTT_TOLERANCE) - longRttNanos) / LONG_WINDOW;
+
+        // Let the baseline recover after a long slow period instead of staying inflated
+        if (longRttNanos > shortRttNanos * 2) {
+            longRttNanos *= 0.95;
+        }
+
+        // Don't grow the limit when the backend isn't being pushed anywhere near it
+        if (inFlightAtCompletion < limit / 2) {
+            return;
+        }
+
+        double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, RTT_TOLERANCE * longRttNanos / shortRttNanos));
+        double newLimit = limit * gradient + Math.sqrt(limit);
+        newLimit = limit * (1 - SMOOTHING) + newLimit * SMOOTHING;
+        limit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+    }
+}
@@ -0,0 +1,96 @@
+package com.devwonder.api_gateway.concurrency;
+
+import com.devwonder.api_gateway.metrics.GatewayMetrics;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.config.GatewayProperties;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.route.RouteDefinition;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * One {@link AdaptiveConcurrencyLimiter} per backend target, so each {@code lb://} service is
+ * its own bulkhead: a slow backend exhausts only its own slots.
+ * <p>
+ * The bulkhead size (the limiter's upper bound) defaults to
+ * {@code gateway.concurrency.max-limit} and can be set with the {@code max-concurrency} route
+ * metadata. Several routes can share a target (a service and its API docs, say); the size is
+ * the smallest one configured on any of them, so it doesn't depend on which route is hit first.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ConcurrencyLimiterRegistry {
+
+    public static final String MAX_CONCURRENCY_METADATA_KEY = "max-concurrency";
+
+    private final GatewayMetrics gatewayMetrics;
+    private final GatewayProperties gatewayProperties;
+    private final Map<String, AdaptiveConcurrencyLimiter> limiters = new ConcurrentHashMap<>();
+
+    @Value("${gateway.concurrency.initial-limit:20}")
+    private int initialLimit;
+
+    @Value("${gateway.concurrency.min-limit:5}")
+    private int minLimit;
+
+    @Value("${gateway.concurrency.max-limit:200}")
+    private int maxLimit;
+
+    public String targetOf(Route route) {
+        return targetOf(route.getUri(), route.getId());
+    }
+
+    public AdaptiveConcurrencyLimiter forTarget(String target) {
+        AdaptiveConcurrencyLimiter limiter = limiters.get(target);
+        if (limiter != null) {
+            return limiter;
+        }
+        return limiters.computeIfAbsent(target, t -> {
+            int bulkhead = resolveMaxLimit(t);
+            AdaptiveConcurrencyLimiter created = new AdaptiveConcurrencyLimiter(
+                    Math.min(initialLimit, bulkhead), Math.min(minLimit, bulkhead), bulkhead);
+            gatewayMetrics.registerConcurrencyLimiter(t, created);
+            log.info("Created concurrency limiter for {} (max {})", t, bulkhead);
+            return created;
+        });
+    }
+
+    private int resolveMaxLimit(String target) {
+        int bulkhead = maxLimit;
+        for (RouteDefinition definition : gatewayProperties.getRoutes()) {
+            if (definition.getUri() != null && target.equals(targetOf(definition.getUri(), definition.getId()))) {
+                Integer configured = configuredMaxLimit(definition);
+                if (configured != null) {
+                    bulkhead = Math.min(bulkhead, configured);
+                }
+            }
+        }
+        return bulkhead;
+    }
+
+    private static Integer configuredMaxLimit(RouteDefinition definition) {
+        Object configured = definition.getMetadata().get(MAX_CONCURRENCY_METADATA_KEY);
+        if (configured instanceof Number number) {
+            return number.intValue();
+        }
+        if (configured instanceof String value) {
+            try {
+                return Integer.parseInt(value.trim());
+            } catch (NumberFormatException e) {
+                log.warn("Invalid {} metadata on route {}: {}", MAX_CONCURRENCY_METADATA_KEY, definition.getId(), value);
+            }
+        }
+        return null;
+    }
+
+    private static String targetOf(URI uri, String routeId) {
+        String authority = uri.getAuthority();
+        return authority != null ? authority : routeId;
+    }
+}
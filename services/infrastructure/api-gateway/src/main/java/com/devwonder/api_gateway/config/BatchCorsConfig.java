@@ -0,0 +1,48 @@
+package com.devwonder.api_gateway.config;
+
+import com.devwonder.api_gateway.batch.BatchExecutor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cloud.gateway.config.GlobalCorsProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.reactive.config.CorsRegistration;
+import org.springframework.web.reactive.config.CorsRegistry;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+
+/**
+ * The batch endpoint is a controller, not a route, so the gateway's globalcors settings don't
+ * reach it on their own. This applies the same {@code /**} CORS rules to it.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class BatchCorsConfig implements WebFluxConfigurer {
+
+    private final GlobalCorsProperties globalCorsProperties;
+
+    @Override
+    public void addCorsMappings(CorsRegistry registry) {
+        CorsConfiguration global = globalCorsProperties.getCorsConfigurations().get("/**");
+        if (global == null) {
+            return;
+        }
+        CorsRegistration registration = registry.addMapping(BatchExecutor.BATCH_PATH);
+        if (global.getAllowedOrigins() != null) {
+            registration.allowedOrigins(global.getAllowedOrigins().toArray(String[]::new));
+        }
+        if (global.getAllowedOriginPatterns() != null) {
+            registration.allowedOriginPatterns(global.getAllowedOriginPatterns().toArray(String[]::new));
+        }
+        if (global.getAllowedMethods() != null) {
+            registration.allowedMethods(global.getAllowedMethods().toArray(String[]::new));
+        }
+        if (global.getAllowedHeaders() != null) {
+            registration.allowedHeaders(global.getAllowedHeaders().toArray(String[]::new));
+        }
+        if (global.getAllowCredentials() != null) {
+            registration.allowCredentials(global.getAllowCredentials());
+        }
+        if (global.getMaxAge() != null) {
+            registration.maxAge(global.getMaxAge());
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.devwonder.api_gateway.config;
+
+import io.netty.channel.ChannelOption;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.gateway.config.HttpClientCustomizer;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.web.reactive.socket.client.ReactorNettyWebSocketClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.Http2AllocationStrategy;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.client.WebsocketClientSpec;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+
+/**
+ * Talks to the business services over h2c (HTTP/2 without TLS, prior knowledge) instead of
+ * checking out one HTTP/1.1 connection per request.
+ * <p>
+ * Each service instance gets a small pool of multiplexed connections sized by stream
+ * concurrency: a new connection is only opened once every open one carries
+ * {@code gateway.http2.max-concurrent-streams} requests, up to {@code max-connections}. The
+ * stream limit matches Tomcat's ({@code nexhub.http2.max-concurrent-streams}), so with the
+ * default concurrency max-limit of 200 a busy instance needs two connections.
+ * <p>
+ * WebSockets can't run over h2c, so the WebSocket routing client keeps its own HTTP/1.1 pool.
+ * Set {@code gateway.http2.enabled=false} to fall back to the default HTTP/1.1 client.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "gateway.http2.enabled", havingValue = "true", matchIfMissing = true)
+public class Http2ClientConfig {
+
+    @Value("${gateway.http2.max-concurrent-streams:100}")
+    private long maxConcurrentStreams;
+
+    @Value("${gateway.http2.min-connections:1}")
+    private int minConnections;
+
+    @Value("${gateway.http2.max-connections:4}")
+    private int maxConnections;
+
+    // Below Tomcat's 20s HTTP/2 keep-alive, so the gateway closes idle connections first
+    @Value("${gateway.http2.max-idle-millis:15000}")
+    private long maxIdleMillis;
+
+    @Value("${gateway.http2.acquire-timeout-millis:10000}")
+    private long acquireTimeoutMillis;
+
+    /**
+     * Replaces the gateway's default {@link HttpClient}, which is only created when no other
+     * client is defined. Used by the routing filter and, through it, by every lb:// route.
+     */
+    @Bean
+    @Primary
+    public HttpClient gatewayHttpClient(HttpClientProperties properties, ObjectProvider<HttpClientCustomizer> customizers) {
+        ConnectionProvider connectionProvider = ConnectionProvider.builder("gateway-h2c")
+                .allocationStrategy(Http2AllocationStrategy.builder()
+                        .minConnections(minConnections)
+                        .maxConnections(maxConnections)
+                        .maxConcurrentStreams(maxConcurrentStreams)
+                        .build())
+                .pendingAcquireTimeout(Duration.ofMillis(acquireTimeoutMillis))
+                .maxIdleTime(Duration.ofMillis(maxIdleMillis))
+                .metrics(true)
+                .build();
+
+        HttpClient httpClient = timeouts(HttpClient.create(connectionProvider), properties)
+                .protocol(HttpProtocol.H2C);
+        for (HttpClientCustomizer customizer : customizers.orderedStream().toList()) {
+            httpClient = customizer.customize(httpClient);
+        }
+        log.info("Routing to services over h2c: {} streams per connection, {}-{} connections per instance",
+                maxConcurrentStreams, minConnections, maxConnections);
+        return httpClient;
+    }
+
+    @Bean
+    @Primary
+    public ReactorNettyWebSocketClient http11WebSocketClient(HttpClientProperties properties) {
+        HttpClient httpClient = timeouts(HttpClient.create(ConnectionProvider.builder("gateway-websocket")
+                .maxIdleTime(Duration.ofMillis(maxIdleMillis))
+                .metrics(true)
+                .build()), properties)
+                .protocol(HttpProtocol.HTTP11);
+        HttpClientProperties.Websocket websocket = properties.getWebsocket();
+        return new ReactorNettyWebSocketClient(httpClient, () -> {
+            WebsocketClientSpec.Builder spec = WebsocketClientSpec.builder().handlePing(websocket.isProxyPing());
+            if (websocket.getMaxFramePayloadLength() != null) {
+                spec.maxFramePayloadLength(websocket.getMaxFramePayloadLength());
+            }
+            return spec;
+        });
+    }
+
+    private static HttpClient timeouts(HttpClient httpClient, HttpClientProperties properties) {
+        if (properties.getConnectTimeout() != null) {
+            httpClient = httpClient.option(ChannelOption.CONNECT_TIMEOUT_MILLIS, properties.getConnectTimeout());
+        }
+        if (properties.getResponseTimeout() != null) {
+            httpClient = httpClient.responseTimeout(properties.getResponseTimeout());
+        }
+        return httpClient;
+    }
+}
@@ -1,22 +1,48 @@
 package com.devwonder.api_gateway.config;
 
+import java.net.InetSocketAddress;
 import java.util.*;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.http.HttpMethod;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
 import org.springframework.security.config.web.server.ServerHttpSecurity;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
-import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
-import org.springframework.security.oauth2.server.resource.authentication.ReactiveJwtAuthenticationConverterAdapter;
+import org.springframework.security.oauth2.jose.jws.SignatureAlgorithm;
+import org.springframework.security.oauth2.jwt.NimbusReactiveJwtDecoder;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
+import org.springframework.security.oauth2.server.resource.web.server.authentication.ServerBearerTokenAuthenticationConverter;
+import org.springframework.security.web.server.authentication.ServerAuthenticationConverter;
 import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.util.matcher.PathPatternParserServerWebExchangeMatcher;
+import org.springframework.security.web.server.util.matcher.ServerWebExchangeMatcher;
+import com.devwonder.api_gateway.batch.BatchExecutor;
+import com.devwonder.api_gateway.metrics.GatewayMetrics;
 import com.devwonder.api_gateway.security.AllAuthoritiesAuthorizationManager;
+import com.devwonder.api_gateway.security.AnyAuthorityAuthorizationManager;
+import com.devwonder.api_gateway.security.AuthorityIndex;
+import com.devwonder.api_gateway.security.CompiledJwtAuthenticationConverter;
+import com.devwonder.common.security.PermissionCodes;
+import lombok.RequiredArgsConstructor;
 
 @Configuration
 @EnableWebFluxSecurity
+@RequiredArgsConstructor
 public class SecurityConfig {
 
+    private static final String JWK_SET_URI = "http://auth-service:8081/auth/.well-known/jwks.json";
+    private static final String NOTIFICATION_WEBSOCKET_PATH = "/ws/notifications";
+
+    private final GatewayMetrics gatewayMetrics;
+
+    // Every authority used in the rules below gets a bit here while the filter chain is built
+    private final AuthorityIndex authorityIndex = new AuthorityIndex();
+
+    @Value("${management.server.port:-1}")
+    private int managementPort;
+
     @Bean
     public SecurityWebFilterChain springSecurityFilterChain(ServerHttpSecurity http) {
         return http
@@ -29,9 +55,32 @@ public class SecurityConfig {
     }
 
     private void configureOAuth2ResourceServer(ServerHttpSecurity.OAuth2ResourceServerSpec oauth2) {
-        oauth2.jwt(jwt -> jwt
-                .jwkSetUri("http://auth-service:8081/auth/.well-known/jwks.json")
-                .jwtAuthenticationConverter(jwtAuthenticationConverter()));
+        oauth2.bearerTokenConverter(bearerTokenConverter())
+                .jwt(jwt -> jwt
+                        .jwtDecoder(jwtDecoder())
+                        .jwtAuthenticationConverter(jwtAuthenticationConverter()));
+    }
+
+    /**
+     * Browsers can't set headers on a WebSocket handshake, so the notification socket may pass
+     * its token as {@code ?access_token=}; everywhere else only the Authorization header counts.
+     */
+    private ServerAuthenticationConverter bearerTokenConverter() {
+        ServerBearerTokenAuthenticationConverter headerOnly = new ServerBearerTokenAuthenticationConverter();
+        ServerBearerTokenAuthenticationConverter withQueryParameter = new ServerBearerTokenAuthenticationConverter();
+        withQueryParameter.setAllowUriQueryParameter(true);
+        return exchange -> exchange.getRequest().getPath().value().startsWith(NOTIFICATION_WEBSOCKET_PATH)
+                ? withQueryParameter.convert(exchange)
+                : headerOnly.convert(exchange);
+    }
+
+    private ReactiveJwtDecoder jwtDecoder() {
+        // auth-service signs with RS256 or ES256 (auth.jwt.algorithm); both stay accepted across a switch
+        ReactiveJwtDecoder decoder = NimbusReactiveJwtDecoder.withJwkSetUri(JWK_SET_URI)
+                .jwsAlgorithm(SignatureAlgorithm.RS256)
+                .jwsAlgorithm(SignatureAlgorithm.ES256)
+                .build();
+        return token -> gatewayMetrics.timeJwtDecode(decoder.decode(token));
     }
 
     private void configureAuthorization(ServerHttpSecurity.AuthorizeExchangeSpec exchanges) {
@@ -57,8 +106,28 @@ public class SecurityConfig {
         exchanges
                 // Swagger UI - public access for development
                 .pathMatchers(getSwaggerPaths()).permitAll()
+                // Health checks
+                .pathMatchers("/actuator/health", "/actuator/health/**").permitAll()
+                // Prometheus scraping - only on the internal management port
+                .matchers(onManagementPort("/actuator/prometheus")).permitAll()
                 // Auth Service - public access
-                .pathMatchers("/api/auth/**").permitAll();
+                .pathMatchers("/api/auth/**").permitAll()
+                // Batch endpoint - each sub-request is authorized on its own when replayed through the gateway
+                .pathMatchers(HttpMethod.POST, BatchExecutor.BATCH_PATH).permitAll();
+    }
+
+    /**
+     * Matches the path only for requests that arrived on {@code management.server.port}, so the
+     * endpoint stays closed if actuator is ever served on the public port again.
+     */
+    private ServerWebExchangeMatcher onManagementPort(String path) {
+        ServerWebExchangeMatcher pathMatcher = new PathPatternParserServerWebExchangeMatcher(path);
+        return exchange -> {
+            InetSocketAddress local = exchange.getRequest().getLocalAddress();
+            return local != null && local.getPort() == managementPort
+                    ? pathMatcher.matches(exchange)
+                    : ServerWebExchangeMatcher.MatchResult.notMatch();
+        };
     }
 
     private void configureProductServiceAuth(ServerHttpSecurity.AuthorizeExchangeSpec exchanges) {
@@ -68,11 +137,11 @@ public class SecurityConfig {
                 .pathMatchers("/api/product-serials/*/exists").permitAll() // For validation
                 // POST/PUT/DELETE require specific permissions
                 .pathMatchers(HttpMethod.POST, "/api/product/**")
-                .hasAnyAuthority("ROLE_ADMIN", "PERM_PRODUCT_CREATE")
+                .access(anyOf("ROLE_ADMIN", "PERM_PRODUCT_CREATE"))
                 .pathMatchers(HttpMethod.PUT, "/api/product/**")
-                .hasAnyAuthority("ROLE_ADMIN", "PERM_PRODUCT_UPDATE")
+                .access(anyOf("ROLE_ADMIN", "PERM_PRODUCT_UPDATE"))
                 .pathMatchers(HttpMethod.DELETE, "/api/product/**")
-                .hasAnyAuthority("ROLE_ADMIN", "PERM_PRODUCT_DELETE");
+                .access(anyOf("ROLE_ADMIN", "PERM_PRODUCT_DELETE"));
     }
 
     private void configureBlogServiceAuth(ServerHttpSecurity.AuthorizeExchangeSpec exchanges) {
@@ -81,14 +150,14 @@ public class SecurityConfig {
                 .pathMatchers(HttpMethod.GET, "/api/blog/**").permitAll()
                 // Comments can be created by customers
                 .pathMatchers(HttpMethod.POST, "/api/blog/comments/**")
-                .hasAnyAuthority("ROLE_ADMIN", "ROLE_CUSTOMER", "PERM_COMMENT_CREATE")
+                .access(anyOf("ROLE_ADMIN", "ROLE_CUSTOMER", "PERM_COMMENT_CREATE"))
                 // Blog management requires admin permissions
                 .pathMatchers(HttpMethod.POST, "/api/blog/**")
-                .hasAnyAuthority("ROLE_ADMIN", "PERM_BLOG_CREATE")
+                .access(anyOf("ROLE_ADMIN", "PERM_BLOG_CREATE"))
                 .pathMatchers(HttpMethod.PUT, "/api/blog/**")
-                .hasAnyAuthority("ROLE_ADMIN", "PERM_BLOG_UPDATE")
+                .access(anyOf("ROLE_ADMIN", "PERM_BLOG_UPDATE"))
                 .pathMatchers(HttpMethod.DELETE, "/api/blog/**")
-                .hasAnyAuthority("ROLE_ADMIN", "PERM_BLOG_DELETE");
+                .access(anyOf("ROLE_ADMIN", "PERM_BLOG_DELETE"));
     }
 
     private void configureUserServiceAuth(ServerHttpSecurity.AuthorizeExchangeSpec exchanges) {
@@ -98,47 +167,47 @@ public class SecurityConfig {
                 .pathMatchers("/user/customer/*/exists").permitAll()
                 // Get all resellers - Requires ALL authorities
                 .pathMatchers(HttpMethod.GET, "/api/user/reseller")
-                .access(new AllAuthoritiesAuthorizationManager(
+                .access(allOf(
                     "ROLE_ADMIN",
                     "PERM_RESELLER_READ"
                 ))
                 // Get deleted resellers - Requires ALL authorities
                 .pathMatchers(HttpMethod.GET, "/api/user/reseller/deleted")
-                .access(new AllAuthoritiesAuthorizationManager(
+                .access(allOf(
                     "ROLE_ADMIN",
                     "PERM_RESELLER_READ"
                 ))
                 // Get single reseller - Requires ANY authorities
                 .pathMatchers(HttpMethod.GET, "/api/user/reseller/*")
-                .hasAnyAuthority("ROLE_ADMIN", "ROLE_DEALER", "PERM_RESELLER_READ")
+                .access(anyOf("ROLE_ADMIN", "ROLE_DEALER", "PERM_RESELLER_READ"))
                 // Update reseller - Requires ALL authorities
                 .pathMatchers(HttpMethod.PUT, "/api/user/reseller/*")
-                .access(new AllAuthoritiesAuthorizationManager(
+                .access(allOf(
                     "ROLE_ADMIN",
                     "PERM_RESELLER_UPDATE"
                 ))
                 // Approve reseller - Requires ALL authorities
                 .pathMatchers(HttpMethod.PUT, "/api/user/reseller/*/approve")
-                .access(new AllAuthoritiesAuthorizationManager(
+                .access(allOf(
                     "ROLE_ADMIN",
                     "PERM_RESELLER_APPROVE"
                 ))
                 // Reject reseller - Requires ALL authorities
                 .pathMatchers(HttpMethod.PUT, "/api/user/reseller/*/reject")
-                .access(new AllAuthoritiesAuthorizationManager(
+                .access(allOf(
                     "ROLE_ADMIN",
                     "PERM_RESELLER_REJECT"
                 ))
                 // Restore reseller - Requires ALL authorities
                 .pathMatchers(HttpMethod.PUT, "/api/user/reseller/*/restore")
-                .access(new AllAuthoritiesAuthorizationManager(
+                .access(allOf(
                     "ROLE_ADMIN",
                     "PERM_RESELLER_RESTORE"
                 ))
                 
                 // Delete reseller - Requires ALL authorities
                 .pathMatchers(HttpMethod.DELETE, "/api/user/reseller/*")
-                .access(new AllAuthoritiesAuthorizationManager(
+                .access(allOf(
                     "ROLE_ADMIN",
                     "PERM_RESELLER_DELETE"
                 ));
@@ -148,30 +217,41 @@ public class SecurityConfig {
         exchanges
                 // Warranty access by role
                 .pathMatchers(HttpMethod.GET, "/api/warranty/**")
-                .hasAnyAuthority("ROLE_ADMIN", "ROLE_DEALER", "ROLE_CUSTOMER", "PERM_WARRANTY_READ")
+                .access(anyOf("ROLE_ADMIN", "ROLE_DEALER", "ROLE_CUSTOMER", "PERM_WARRANTY_READ"))
                 .pathMatchers(HttpMethod.POST, "/api/warranty/**")
-                .hasAnyAuthority("ROLE_ADMIN", "ROLE_DEALER", "PERM_WARRANTY_CREATE")
+                .access(anyOf("ROLE_ADMIN", "ROLE_DEALER", "PERM_WARRANTY_CREATE"))
                 .pathMatchers(HttpMethod.PUT, "/api/warranty/**")
-                .hasAnyAuthority("ROLE_ADMIN", "ROLE_DEALER", "PERM_WARRANTY_UPDATE")
+                .access(anyOf("ROLE_ADMIN", "ROLE_DEALER", "PERM_WARRANTY_UPDATE"))
                 .pathMatchers(HttpMethod.DELETE, "/api/warranty/**")
-                .hasAnyAuthority("ROLE_ADMIN", "PERM_WARRANTY_DELETE");
+                .access(anyOf("ROLE_ADMIN", "PERM_WARRANTY_DELETE"));
     }
 
     private void configureNotificationServiceAuth(ServerHttpSecurity.AuthorizeExchangeSpec exchanges) {
         exchanges
                 // Get all notifications - Requires ALL authorities
                 .pathMatchers(HttpMethod.GET, "/api/notification/all")
-                .access(new AllAuthoritiesAuthorizationManager(
+                .access(allOf(
                     "ROLE_ADMIN",
                     "PERM_NOTIFICATION_READ"
                 ))
                 
                 // Mark specific notification as read - Requires ALL authorities
                 .pathMatchers(HttpMethod.PUT, "/api/notification/{id}/read")
-                .access(new AllAuthoritiesAuthorizationManager(
+                .access(allOf(
                     "ROLE_ADMIN",
                     "PERM_NOTIFICATION_UPDATE"
-                ));
+                ))
+
+                // WebSocket / SockJS endpoint - the STOMP CONNECT frame is authenticated by the service
+                .pathMatchers(NOTIFICATION_WEBSOCKET_PATH, NOTIFICATION_WEBSOCKET_PATH + "/**").permitAll();
+    }
+
+    private AnyAuthorityAuthorizationManager anyOf(String... authorities) {
+        return new AnyAuthorityAuthorizationManager(authorityIndex, authorities);
+    }
+
+    private AllAuthoritiesAuthorizationManager allOf(String... authorities) {
+        return new AllAuthoritiesAuthorizationManager(authorityIndex, authorities);
     }
 
     private String[] getSwaggerPaths() {
@@ -195,10 +275,8 @@ public class SecurityConfig {
     }
 
     @Bean
-    public ReactiveJwtAuthenticationConverterAdapter jwtAuthenticationConverter() {
-        JwtAuthenticationConverter jwtConverter = new JwtAuthenticationConverter();
-        jwtConverter.setJwtGrantedAuthoritiesConverter(this::extractAuthorities);
-        return new ReactiveJwtAuthenticationConverterAdapter(jwtConverter);
+    public CompiledJwtAuthenticationConverter jwtAuthenticationConverter() {
+        return new CompiledJwtAuthenticationConverter(this::extractAuthorities, authorityIndex);
     }
 
     private Collection<org.springframework.security.core.GrantedAuthority> extractAuthorities(
@@ -231,9 +309,16 @@ public class SecurityConfig {
     private void extractPermissions(org.springframework.security.oauth2.jwt.Jwt jwt,
             Set<SimpleGrantedAuthority> authorities) {
         Object permsObj = jwt.getClaim("permissions");
+        java.util.List<String> permsList = null;
         if (permsObj instanceof java.util.List) {
             @SuppressWarnings("unchecked")
-            java.util.List<String> permsList = (java.util.List<String>) permsObj;
+            java.util.List<String> names = (java.util.List<String>) permsObj;
+            permsList = names;
+        } else if (jwt.hasClaim(PermissionCodes.CLAIM)) {
+            // Compact set from the shared registry; unreadable sets grant no permissions
+            permsList = PermissionCodes.decode(jwt.getClaimAsString(PermissionCodes.CLAIM));
+        }
+        if (permsList != null) {
             permsList.stream()
                     .map(perm -> new SimpleGrantedAuthority("PERM_" + perm))
                     .forEach(authorities::add);
@@ -0,0 +1,24 @@
+package com.devwonder.api_gateway.constants;
+
+import java.util.List;
+
+public final class ForwardedHeaderConstants {
+
+    private ForwardedHeaderConstants() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    public static final String GATEWAY_REQUEST = "X-Gateway-Request";
+    public static final String JWT_SUBJECT = "X-JWT-Subject";
+    public static final String JWT_USERNAME = "X-JWT-Username";
+    public static final String JWT_ACCOUNT_ID = "X-JWT-Account-ID";
+    public static final String JWT_AUTHORITIES = "X-JWT-Authorities";
+    public static final String USER_ROLES = "X-User-Roles";
+    public static final String USER_PERMISSIONS = "X-User-Permissions";
+    public static final String IDENTITY = "X-Nexhub-Identity"; // Compact signed replacement for the headers above
+    public static final String CLIENT_IP = "X-Nexhub-Client-IP"; // Address of the client's connection to the gateway
+
+    // Identity headers are only ever set by the gateway; anything a client sends is dropped
+    public static final List<String> IDENTITY_HEADERS = List.of(
+            JWT_SUBJECT, JWT_USERNAME, JWT_ACCOUNT_ID, JWT_AUTHORITIES, USER_ROLES, USER_PERMISSIONS, IDENTITY);
+}
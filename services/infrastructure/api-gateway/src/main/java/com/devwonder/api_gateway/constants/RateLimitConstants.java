@@ -8,5 +8,8 @@ public final class RateLimitConstants {
     
     public static final int MAX_REQUESTS_PER_MINUTE = 300;
     public static final long WINDOW_SIZE_MILLIS = 60 * 1000L; // 1 minute in milliseconds
-    public static final String RETRY_AFTER_HEADER_VALUE = "60"; // seconds
-}
\ No newline at end of file
+    
+    public static final int MAX_TRACKED_CLIENTS = 100_000; // Hard cap on per-client buckets held in memory
+    public static final long IDLE_SWEEP_INTERVAL_MILLIS = 30 * 1000L;
+    public static final String ROUTE_LIMIT_METADATA_KEY = "rate-limit-per-minute"; // Per-route override in api-gateway.yml
+}
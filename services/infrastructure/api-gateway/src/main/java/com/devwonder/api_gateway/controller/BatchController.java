@@ -0,0 +1,52 @@
+package com.devwonder.api_gateway.controller;
+
+import com.devwonder.api_gateway.batch.BatchExecutor;
+import com.devwonder.api_gateway.batch.BatchRequest;
+import com.devwonder.api_gateway.batch.BatchResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * {@code POST /api/batch}: several API calls in one round trip.
+ * <p>
+ * The batch itself needs no authority; every sub-request is authorized on its own by the
+ * gateway's security rules. The response is 200 with one entry per sub-request carrying that
+ * sub-request's own status.
+ */
+@RestController
+@RequiredArgsConstructor
+public class BatchController {
+
+    private final BatchExecutor batchExecutor;
+
+    @Value("${gateway.batch.max-requests:20}")
+    private int maxRequests;
+
+    @PostMapping(BatchExecutor.BATCH_PATH)
+    public Mono<ResponseEntity<?>> batch(@RequestBody BatchRequest request, ServerWebExchange exchange) {
+        if (request.requests() == null || request.requests().isEmpty()) {
+            return Mono.just(badRequest("Batch must contain at least one request"));
+        }
+        if (request.requests().size() > maxRequests) {
+            return Mono.just(badRequest("Batch may contain at most " + maxRequests + " requests"));
+        }
+        return batchExecutor.execute(request.requests(), exchange.getRequest())
+                .map(ResponseEntity::ok);
+    }
+
+    private static ResponseEntity<?> badRequest(String message) {
+        return ResponseEntity.badRequest().body(Map.of(
+                "error", "Invalid batch",
+                "message", message,
+                "timestamp", Instant.now().toString()));
+    }
+}
@@ -0,0 +1,94 @@
+package com.devwonder.api_gateway.filter;
+
+import com.devwonder.api_gateway.concurrency.AdaptiveConcurrencyLimiter;
+import com.devwonder.api_gateway.concurrency.ConcurrencyLimiterRegistry;
+import com.devwonder.api_gateway.metrics.GatewayMetrics;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+/**
+ * Sheds requests with 503 once a backend is at its adaptive concurrency limit, instead of
+ * letting them queue on connections shared with healthy routes.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AdaptiveConcurrencyFilter implements GlobalFilter, Ordered {
+
+    private static final String RETRY_AFTER_SECONDS = "1";
+
+    private final ConcurrencyLimiterRegistry limiterRegistry;
+    private final GatewayMetrics gatewayMetrics;
+
+    @Value("${gateway.concurrency.enabled:true}")
+    private boolean enabled;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        // Sticky routes hold WebSockets open for minutes; they'd pin permits and skew the latency gradient
+        if (!enabled || route == null || StickySessionFilter.isSticky(route)) {
+            return chain.filter(exchange);
+        }
+
+        String target = limiterRegistry.targetOf(route);
+        AdaptiveConcurrencyLimiter limiter = limiterRegistry.forTarget(target);
+        if (!limiter.tryAcquire()) {
+            log.debug("Concurrency limit {} reached for {}, shedding request", limiter.getLimit(), target);
+            gatewayMetrics.recordConcurrencyRejection(target);
+            return handleOverloaded(exchange);
+        }
+
+        long start = System.nanoTime();
+        return chain.filter(exchange).doFinally(signal -> {
+            if (signal == SignalType.CANCEL) {
+                limiter.onIgnored();
+            } else if (signal == SignalType.ON_ERROR || isOverloadStatus(exchange.getResponse().getStatusCode())) {
+                limiter.onDropped();
+            } else {
+                limiter.onSuccess(System.nanoTime() - start);
+            }
+        });
+    }
+
+    private static boolean isOverloadStatus(HttpStatusCode status) {
+        return status != null && (status.value() == 502 || status.value() == 503 || status.value() == 504);
+    }
+
+    private Mono<Void> handleOverloaded(ServerWebExchange exchange) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+        response.getHeaders().add("Content-Type", MediaType.APPLICATION_JSON_VALUE);
+        response.getHeaders().add("Retry-After", RETRY_AFTER_SECONDS);
+
+        String body = String.format(
+            "{\"error\":\"Service overloaded\",\"message\":\"The service is busy. Try again shortly.\",\"timestamp\":\"%s\"}",
+            Instant.now()
+        );
+
+        var buffer = response.bufferFactory().wrap(body.getBytes(StandardCharsets.UTF_8));
+        return response.writeWith(Mono.just(buffer));
+    }
+
+    @Override
+    public int getOrder() {
+        return -80; // After the response cache and coalescing, so only upstream calls take a slot
+    }
+}
@@ -0,0 +1,135 @@
+package com.devwonder.api_gateway.filter;
+
+import com.devwonder.api_gateway.compression.ContentEncoding;
+import com.devwonder.api_gateway.compression.ResponseCompressor;
+import lombok.RequiredArgsConstructor;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Compresses responses with the best encoding the client accepts (brotli, then gzip).
+ * <p>
+ * Compression is negotiated here only: {@code Accept-Encoding} is not forwarded, so backends
+ * always answer uncompressed and cached bodies are never tied to one client's encoding. The
+ * negotiated encoding is left in the {@link #ENCODING_ATTR} exchange attribute so
+ * {@link ResponseCacheFilter} can serve its precompressed copies; responses that already carry
+ * a {@code Content-Encoding} pass through untouched.
+ * <p>
+ * Compressing means buffering the whole body, so streamed responses are left alone: sticky-session
+ * routes (SockJS {@code xhr_streaming} and {@code htmlfile}) are skipped entirely, and
+ * {@code text/event-stream} bodies pass through as they arrive.
+ */
+@Component
+@RequiredArgsConstructor
+public class CompressionFilter implements GlobalFilter, Ordered {
+
+    public static final String ENCODING_ATTR = CompressionFilter.class.getName() + ".encoding";
+
+    private final ResponseCompressor compressor;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        if (!compressor.isEnabled() || (route != null && StickySessionFilter.isSticky(route))) {
+            return chain.filter(exchange);
+        }
+        ContentEncoding encoding = compressor.negotiate(exchange.getRequest().getHeaders());
+        if (encoding != null) {
+            exchange.getAttributes().put(ENCODING_ATTR, encoding);
+        }
+        return chain.filter(exchange.mutate()
+                .request(request -> request.headers(headers -> headers.remove(HttpHeaders.ACCEPT_ENCODING)))
+                .response(new CompressingResponse(exchange.getResponse(), encoding))
+                .build());
+    }
+
+    /**
+     * Adds {@code Vary: Accept-Encoding} to compressible responses and compresses their body
+     * when the client accepts an encoding.
+     */
+    private final class CompressingResponse extends ServerHttpResponseDecorator {
+
+        private final ContentEncoding encoding;
+
+        CompressingResponse(ServerHttpResponse delegate, ContentEncoding encoding) {
+            super(delegate);
+            this.encoding = encoding;
+        }
+
+        @Override
+        @NonNull
+        public Mono<Void> writeWith(@NonNull Publisher<? extends DataBuffer> body) {
+            HttpHeaders headers = getHeaders();
+            if (isEventStream(headers) || !compressor.isCompressible(headers, headers.getContentLength())) {
+                return super.writeWith(body);
+            }
+            addVaryAcceptEncoding(headers);
+            if (encoding == null) {
+                return super.writeWith(body);
+            }
+
+            return DataBufferUtils.join(body).defaultIfEmpty(bufferFactory().wrap(new byte[0])).flatMap(joined -> {
+                byte[] bytes = new byte[joined.readableByteCount()];
+                joined.read(bytes);
+                DataBufferUtils.release(joined);
+
+                if (bytes.length < compressor.getMinResponseBytes()) {
+                    return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+                }
+                byte[] compressed = compressor.compress(bytes, encoding);
+                if (compressed.length >= bytes.length) {
+                    return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+                }
+                setEncodedHeaders(headers, encoding, compressed.length);
+                return super.writeWith(Mono.just(bufferFactory().wrap(compressed)));
+            });
+        }
+    }
+
+    private static boolean isEventStream(HttpHeaders headers) {
+        try {
+            return MediaType.TEXT_EVENT_STREAM.isCompatibleWith(headers.getContentType());
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+    }
+
+    static void addVaryAcceptEncoding(HttpHeaders headers) {
+        if (headers.getVary().stream().noneMatch(HttpHeaders.ACCEPT_ENCODING::equalsIgnoreCase)) {
+            headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+    }
+
+    /**
+     * Headers for a body sent in {@code encoding}; the ETag is made specific to that encoding.
+     */
+    static void setEncodedHeaders(HttpHeaders headers, ContentEncoding encoding, int length) {
+        headers.set(HttpHeaders.CONTENT_ENCODING, encoding.token());
+        headers.remove(HttpHeaders.TRANSFER_ENCODING);
+        headers.setContentLength(length);
+        if (headers.getETag() != null) {
+            headers.setETag(encoding.etag(headers.getETag()));
+        }
+        addVaryAcceptEncoding(headers);
+    }
+
+    @Override
+    public int getOrder() {
+        return -150; // Wraps the response before ResponseCacheFilter (-100), so cache hits are seen too
+    }
+}
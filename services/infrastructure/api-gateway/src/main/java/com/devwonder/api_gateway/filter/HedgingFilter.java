@@ -0,0 +1,451 @@
+package com.devwonder.api_gateway.filter;
+
+import com.devwonder.api_gateway.hedge.HedgeBudget;
+import com.devwonder.api_gateway.hedge.LatencyTracker;
+import com.devwonder.api_gateway.metrics.GatewayMetrics;
+import io.netty.channel.ChannelOption;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.DefaultRequest;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycle;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycleValidator;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerProperties;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerUriTools;
+import org.springframework.cloud.client.loadbalancer.RequestData;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.client.loadbalancer.ResponseData;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.RouteMetadataUtils;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Hedges idempotent GETs on routes with the {@code hedge-requests} metadata.
+ * <p>
+ * The request goes to the instance chosen by the load balancer. If its response headers haven't
+ * arrived within the route's recent p95, the same request is sent to another instance picked by
+ * the service's load balancer; the first response to arrive wins and is streamed to the client,
+ * the other call is cancelled. Hedges are limited by a per-route {@link HedgeBudget} (5% extra
+ * load by default). Until a route has enough latency samples its requests go to the primary only.
+ * Samples are always the time until the response headers arrive, the same point the hedge delay
+ * is measured against.
+ * <p>
+ * This filter replaces {@code NettyRoutingFilter} for these routes, so it applies the same
+ * {@code connect-timeout} and {@code response-timeout} route metadata (falling back to
+ * {@code spring.cloud.gateway.httpclient}) to the primary and to the hedge alike.
+ * <p>
+ * Hedges go through the load balancer lifecycle like routed requests, so the latency-aware
+ * balancer counts them in its in-flight and latency stats; a cancelled hedge is reported as
+ * discarded.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class HedgingFilter implements GlobalFilter, Ordered {
+
+    public static final String HEDGE_METADATA_KEY = "hedge-requests";
+
+    private static final String LB_SCHEME = "lb";
+    private static final String DEFAULT_HINT = "default";
+    private static final int LATENCY_SAMPLES = 1024;
+    private static final double HEDGE_PERCENTILE = 0.95;
+
+    private final WebClient.Builder webClientBuilder;
+    private final HttpClient httpClient;
+    private final LoadBalancerClientFactory clientFactory;
+    private final ObjectProvider<List<HttpHeadersFilter>> headersFiltersProvider;
+    private final GatewayMetrics gatewayMetrics;
+    private final HttpClientProperties httpClientProperties;
+    private final Map<String, RouteHedging> routes = new ConcurrentHashMap<>();
+    private final Map<Integer, WebClient> connectTimeoutClients = new ConcurrentHashMap<>();
+
+    @Value("${gateway.hedging.enabled:true}")
+    private boolean enabled;
+
+    @Value("${gateway.hedging.budget-ratio:0.05}")
+    private double budgetRatio;
+
+    @Value("${gateway.hedging.max-burst:10}")
+    private int maxBurst;
+
+    @Value("${gateway.hedging.min-samples:100}")
+    private int minSamples;
+
+    @Value("${gateway.hedging.min-delay-millis:10}")
+    private long minDelayMillis;
+
+    private WebClient webClient;
+
+    @PostConstruct
+    void start() {
+        // Same client and connection pool as the routing filter, so hedges are multiplexed too
+        webClient = webClientBuilder
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        URI primaryUri = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR);
+        if (!enabled || route == null || primaryUri == null
+                || exchange.getRequest().getMethod() != HttpMethod.GET
+                || ServerWebExchangeUtils.isAlreadyRouted(exchange)
+                || !LB_SCHEME.equals(route.getUri().getScheme())
+                || !isHedgingRoute(route)) {
+            return chain.filter(exchange);
+        }
+
+        RouteHedging hedging = routes.computeIfAbsent(route.getId(), this::createRouteHedging);
+        hedging.budget().onRequest();
+        long start = System.nanoTime();
+
+        HttpHeaders requestHeaders = HttpHeadersFilter.filterRequest(headersFiltersProvider.getIfAvailable(), exchange);
+        requestHeaders.remove(HttpHeaders.HOST);
+        String routeId = route.getId();
+        WebClient client = webClientFor(route);
+        Duration responseTimeout = responseTimeout(route, httpClientProperties.getResponseTimeout());
+        AtomicBoolean decided = new AtomicBoolean();
+
+        Mono<Attempt> primary = send(client, primaryUri, requestHeaders, responseTimeout)
+                .flatMap(response -> claim(decided, new Attempt(response, false)));
+        long p95Nanos = hedging.latency().percentileNanos();
+        if (p95Nanos < 0) {
+            // Warming up: no hedge until the route's latency is known
+            return primary
+                    .flatMap(winner -> {
+                        hedging.latency().record(System.nanoTime() - start);
+                        return write(exchange, winner.response());
+                    })
+                    .onErrorResume(e -> upstreamFailed(primaryUri, e));
+        }
+
+        Duration hedgeDelay = Duration.ofNanos(Math.max(p95Nanos, Duration.ofMillis(minDelayMillis).toNanos()));
+        HedgeCall hedgeCall = new HedgeCall(exchange, route.getUri().getHost());
+        Mono<Attempt> hedge = Mono.delay(hedgeDelay)
+                .flatMap(tick -> chooseHedgeInstance(hedgeCall, primaryUri))
+                .switchIfEmpty(Mono.fromRunnable(() -> gatewayMetrics.recordHedgeSkipped(routeId, "no-instance")))
+                .filter(instance -> {
+                    if (hedging.budget().tryHedge()) {
+                        return true;
+                    }
+                    gatewayMetrics.recordHedgeSkipped(routeId, "budget");
+                    return false;
+                })
+                .flatMap(instance -> {
+                    URI uri = LoadBalancerUriTools.reconstructURI(instance.getServer(), primaryUri);
+                    log.debug("Hedging {} to {} after {}ms", primaryUri, uri, hedgeDelay.toMillis());
+                    hedgeCall.started(instance);
+                    return send(client, uri, requestHeaders, responseTimeout)
+                            .doOnError(hedgeCall::failed)
+                            .doOnCancel(hedgeCall::discarded);
+                })
+                .flatMap(response -> claim(decided, new Attempt(response, true))
+                        .doOnNext(won -> hedgeCall.won())
+                        .switchIfEmpty(Mono.fromRunnable(hedgeCall::discarded)));
+
+        return Mono.firstWithValue(primary, hedge)
+                .flatMap(winner -> {
+                    hedging.latency().record(System.nanoTime() - start);
+                    gatewayMetrics.recordHedgeOutcome(routeId,
+                            !hedgeCall.isStarted() ? "primary" : winner.hedge() ? "hedge-won" : "primary-won");
+                    Mono<Void> written = write(exchange, winner.response());
+                    return winner.hedge()
+                            ? written.doOnSuccess(done -> hedgeCall.completed(winner.response()))
+                                    .doOnError(hedgeCall::failed)
+                                    .doOnCancel(hedgeCall::abandoned)
+                            : written;
+                })
+                .onErrorResume(e -> upstreamFailed(primaryUri, e));
+    }
+
+    /**
+     * Response headers of the call; the body is left unread until the winner is streamed.
+     * Headers that take longer than {@code responseTimeout} end the call with a 504, as in
+     * {@code NettyRoutingFilter}.
+     */
+    private Mono<ResponseEntity<Flux<DataBuffer>>> send(WebClient client, URI uri, HttpHeaders headers,
+                                                        Duration responseTimeout) {
+        Mono<ResponseEntity<Flux<DataBuffer>>> response = client.get()
+                .uri(uri)
+                .headers(h -> h.addAll(headers))
+                .retrieve()
+                // Error statuses are passed through to the client like any other response
+                .onStatus(status -> true, r -> Mono.empty())
+                .toEntityFlux(DataBuffer.class);
+        if (responseTimeout == null) {
+            return response;
+        }
+        return response.timeout(responseTimeout)
+                .onErrorMap(TimeoutException.class, e -> new ResponseStatusException(HttpStatus.GATEWAY_TIMEOUT,
+                        "Response took longer than timeout: " + responseTimeout, e));
+    }
+
+    /**
+     * A timed-out attempt is reported as 504 like a routed request; anything else as 503.
+     * {@link Mono#firstWithValue} wraps the errors of its sources, so they are searched for
+     * the timeout.
+     */
+    private static Mono<Void> upstreamFailed(URI primaryUri, Throwable error) {
+        log.debug("Hedged request to {} failed: {}", primaryUri, error.getMessage());
+        ResponseStatusException timeout = findGatewayTimeout(error, 0);
+        return Mono.error(timeout != null ? timeout
+                : new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Upstream request failed", error));
+    }
+
+    private static ResponseStatusException findGatewayTimeout(Throwable error, int depth) {
+        if (error == null || depth > 4) {
+            return null;
+        }
+        if (error instanceof ResponseStatusException status && status.getStatusCode() == HttpStatus.GATEWAY_TIMEOUT) {
+            return status;
+        }
+        for (Throwable suppressed : error.getSuppressed()) {
+            ResponseStatusException found = findGatewayTimeout(suppressed, depth + 1);
+            if (found != null) {
+                return found;
+            }
+        }
+        return error.getCause() != error ? findGatewayTimeout(error.getCause(), depth + 1) : null;
+    }
+
+    /**
+     * The route's {@code response-timeout} metadata in milliseconds, where a negative value turns
+     * the timeout off; {@code fallback} when the route doesn't set one.
+     */
+    static Duration responseTimeout(Route route, Duration fallback) {
+        Object configured = route.getMetadata().get(RouteMetadataUtils.RESPONSE_TIMEOUT_ATTR);
+        if (configured == null) {
+            return fallback;
+        }
+        try {
+            long millis = configured instanceof Number number ? number.longValue() : Long.parseLong(configured.toString().trim());
+            return millis >= 0 ? Duration.ofMillis(millis) : null;
+        } catch (NumberFormatException e) {
+            log.warn("Invalid {} metadata on route {}: {}", RouteMetadataUtils.RESPONSE_TIMEOUT_ATTR, route.getId(), configured);
+            return fallback;
+        }
+    }
+
+    /**
+     * The shared client, or one with the route's {@code connect-timeout}; either way on the
+     * routing filter's connection pool.
+     */
+    private WebClient webClientFor(Route route) {
+        Object configured = route.getMetadata().get(RouteMetadataUtils.CONNECT_TIMEOUT_ATTR);
+        if (configured == null) {
+            return webClient;
+        }
+        int connectTimeoutMillis;
+        try {
+            connectTimeoutMillis = configured instanceof Number number
+                    ? number.intValue() : Integer.parseInt(configured.toString().trim());
+        } catch (NumberFormatException e) {
+            log.warn("Invalid {} metadata on route {}: {}", RouteMetadataUtils.CONNECT_TIMEOUT_ATTR, route.getId(), configured);
+            return webClient;
+        }
+        return connectTimeoutClients.computeIfAbsent(connectTimeoutMillis, millis -> webClientBuilder.clone()
+                .clientConnector(new ReactorClientHttpConnector(httpClient.option(ChannelOption.CONNECT_TIMEOUT_MILLIS, millis)))
+                .build());
+    }
+
+    /**
+     * Lets exactly one attempt through; a response that arrives after the winner is cancelled,
+     * which releases its connection.
+     */
+    private static Mono<Attempt> claim(AtomicBoolean decided, Attempt attempt) {
+        if (decided.compareAndSet(false, true)) {
+            return Mono.just(attempt);
+        }
+        Flux<DataBuffer> body = attempt.response().getBody();
+        if (body != null) {
+            body.subscribe().dispose();
+        }
+        return Mono.empty();
+    }
+
+    /**
+     * The load balancer's pick for the hedge, or another instance at random if it picked the
+     * primary's.
+     */
+    private Mono<Response<ServiceInstance>> chooseHedgeInstance(HedgeCall call, URI primaryUri) {
+        ReactorServiceInstanceLoadBalancer loadBalancer = clientFactory.getInstance(call.serviceId, ReactorServiceInstanceLoadBalancer.class);
+        if (loadBalancer == null) {
+            return Mono.empty();
+        }
+        call.lifecycles.forEach(lifecycle -> lifecycle.onStart(call.request));
+        return loadBalancer.choose(call.request)
+                .flatMap(chosen -> chosen.hasServer() && !isInstanceOf(chosen.getServer(), primaryUri)
+                        ? Mono.just(chosen)
+                        : otherInstance(call, primaryUri));
+    }
+
+    private Mono<Response<ServiceInstance>> otherInstance(HedgeCall call, URI primaryUri) {
+        ServiceInstanceListSupplier supplier = clientFactory.getInstance(call.serviceId, ServiceInstanceListSupplier.class);
+        if (supplier == null) {
+            return Mono.empty();
+        }
+        return supplier.get(call.request).next()
+                .map(instances -> instances.stream().filter(instance -> !isInstanceOf(instance, primaryUri)).toList())
+                .filter(others -> !others.isEmpty())
+                .map(others -> new DefaultResponse(others.get(ThreadLocalRandom.current().nextInt(others.size()))));
+    }
+
+    private static boolean isInstanceOf(ServiceInstance instance, URI uri) {
+        return instance.getHost().equals(uri.getHost()) && instance.getPort() == uri.getPort();
+    }
+
+    private Mono<Void> write(ServerWebExchange exchange, ResponseEntity<Flux<DataBuffer>> upstream) {
+        ServerWebExchangeUtils.setAlreadyRouted(exchange);
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(upstream.getStatusCode());
+
+        HttpHeaders headers = HttpHeadersFilter.filter(headersFiltersProvider.getIfAvailable(),
+                upstream.getHeaders(), exchange, HttpHeadersFilter.Type.RESPONSE);
+        response.getHeaders().putAll(headers);
+        response.getHeaders().remove(HttpHeaders.TRANSFER_ENCODING);
+        Flux<DataBuffer> body = upstream.getBody() != null ? upstream.getBody() : Flux.empty();
+        return response.writeWith(body);
+    }
+
+    private RouteHedging createRouteHedging(String routeId) {
+        RouteHedging hedging = new RouteHedging(
+                new LatencyTracker(LATENCY_SAMPLES, HEDGE_PERCENTILE, minSamples),
+                new HedgeBudget(budgetRatio, maxBurst));
+        gatewayMetrics.registerHedgeDelay(routeId, hedging.latency());
+        return hedging;
+    }
+
+    private boolean isHedgingRoute(Route route) {
+        Object configured = route.getMetadata().get(HEDGE_METADATA_KEY);
+        return Boolean.TRUE.equals(configured) || "true".equals(configured);
+    }
+
+    /**
+     * Load balancer request and lifecycle callbacks of one hedge, mirroring what
+     * {@code ReactiveLoadBalancerClientFilter} reports for routed requests. Completion is
+     * reported at most once.
+     */
+    private final class HedgeCall {
+
+        private final String serviceId;
+        private final RequestData requestData;
+        private final DefaultRequest<RequestDataContext> request;
+        private final Set<LoadBalancerLifecycle> lifecycles;
+        private final AtomicBoolean completed = new AtomicBoolean();
+        private volatile Response<ServiceInstance> instance;
+        private volatile boolean won;
+
+        @SuppressWarnings("unchecked")
+        HedgeCall(ServerWebExchange exchange, String serviceId) {
+            this.serviceId = serviceId;
+            this.requestData = new RequestData(exchange.getRequest(), exchange.getAttributes());
+            this.request = new DefaultRequest<>(new RequestDataContext(requestData, hintFor(serviceId)));
+            this.lifecycles = LoadBalancerLifecycleValidator.getSupportedLifecycleProcessors(
+                    clientFactory.getInstances(serviceId, LoadBalancerLifecycle.class),
+                    RequestDataContext.class, ResponseData.class, ServiceInstance.class);
+        }
+
+        @SuppressWarnings("unchecked")
+        void started(Response<ServiceInstance> chosen) {
+            instance = chosen;
+            lifecycles.forEach(lifecycle -> lifecycle.onStartRequest(request, chosen));
+        }
+
+        boolean isStarted() {
+            return instance != null;
+        }
+
+        void won() {
+            won = true;
+        }
+
+        void completed(ResponseEntity<?> response) {
+            complete(new CompletionContext<>(CompletionContext.Status.SUCCESS, request, instance,
+                    new ResponseData(response.getStatusCode(), response.getHeaders(), new LinkedMultiValueMap<>(), requestData)));
+        }
+
+        void failed(Throwable error) {
+            complete(new CompletionContext<>(CompletionContext.Status.FAILED, error, request, instance));
+        }
+
+        /**
+         * The hedge lost the race; a winner is reported once its response has been written.
+         */
+        void discarded() {
+            if (!won) {
+                abandoned();
+            }
+        }
+
+        void abandoned() {
+            complete(new CompletionContext<>(CompletionContext.Status.DISCARD, request, instance));
+        }
+
+        @SuppressWarnings("unchecked")
+        private void complete(CompletionContext<?, ServiceInstance, ?> context) {
+            if (instance != null && completed.compareAndSet(false, true)) {
+                lifecycles.forEach(lifecycle -> lifecycle.onComplete(context));
+            }
+        }
+
+        private String hintFor(String serviceId) {
+            LoadBalancerProperties properties = clientFactory.getProperties(serviceId);
+            if (properties == null) {
+                return DEFAULT_HINT;
+            }
+            Map<String, String> hints = properties.getHint();
+            return hints.getOrDefault(serviceId, hints.getOrDefault(DEFAULT_HINT, DEFAULT_HINT));
+        }
+    }
+
+    private record RouteHedging(LatencyTracker latency, HedgeBudget budget) {
+    }
+
+    private record Attempt(ResponseEntity<Flux<DataBuffer>> response, boolean hedge) {
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.LOWEST_PRECEDENCE - 1; // After the load balancer picked the primary instance, replaces NettyRoutingFilter
+    }
+}
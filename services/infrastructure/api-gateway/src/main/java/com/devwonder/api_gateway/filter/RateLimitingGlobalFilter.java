@@ -1,9 +1,15 @@
 package com.devwonder.api_gateway.filter;
 
+import com.devwonder.api_gateway.constants.RateLimitConstants;
+import com.devwonder.api_gateway.metrics.GatewayMetrics;
+import com.devwonder.api_gateway.ratelimit.DistributedRateLimiter;
 import com.devwonder.api_gateway.util.RequestUtil;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cloud.gateway.filter.GatewayFilterChain;
 import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
 import org.springframework.core.Ordered;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -15,24 +21,21 @@ import reactor.core.publisher.Mono;
 
 import java.nio.charset.StandardCharsets;
 import java.time.Instant;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicInteger;
 
 @Slf4j
 @Component
+@RequiredArgsConstructor
 public class RateLimitingGlobalFilter implements GlobalFilter, Ordered {
-    
-    private static final int MAX_REQUESTS_PER_MINUTE = 300;
-    private static final long WINDOW_SIZE_MILLIS = 60 * 1000L; // 1 minute in milliseconds
-    
-    private final ConcurrentHashMap<String, RequestCounter> requestCounts = new ConcurrentHashMap<>();
+
+    private final DistributedRateLimiter rateLimiter;
+    private final GatewayMetrics gatewayMetrics;
 
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
         ServerHttpRequest request = exchange.getRequest();
         String clientId = RequestUtil.getClientIpAddress(request);
         String path = request.getPath().value();
-        
+
         // Skip rate limiting for health checks, static resources, and API documentation
         if (path.contains("/actuator/") ||
             path.contains("/health") ||
@@ -42,39 +45,51 @@ public class RateLimitingGlobalFilter implements GlobalFilter, Ordered {
             path.contains("/webjars/")) {
             return chain.filter(exchange);
         }
-        
-        RequestCounter counter = requestCounts.computeIfAbsent(clientId, k -> new RequestCounter());
-        
-        long now = Instant.now().toEpochMilli();
-        
-        synchronized (counter) {
-            // Reset counter if window has passed
-            if (now - counter.windowStart > WINDOW_SIZE_MILLIS) {
-                counter.reset(now);
+
+        // Each route keeps its own bucket so a strict limit on one route doesn't starve the others
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        String key = route != null ? route.getId() + ":" + clientId : clientId;
+        int limit = resolveLimit(route);
+
+        return rateLimiter.tryAcquire(key, limit).flatMap(retryAfterMillis -> {
+            if (retryAfterMillis > 0) {
+                log.warn("Rate limit exceeded for client: {} on route: {}", clientId, route != null ? route.getId() : "-");
+                gatewayMetrics.recordRateLimitRejection(route != null ? route.getId() : GatewayMetrics.UNKNOWN_ROUTE);
+                return handleRateLimitExceeded(exchange, retryAfterMillis);
             }
-            
-            if (counter.count.get() >= MAX_REQUESTS_PER_MINUTE) {
-                log.warn("Rate limit exceeded for client: {}", clientId);
-                return handleRateLimitExceeded(exchange);
+            return chain.filter(exchange);
+        });
+    }
+
+    private int resolveLimit(Route route) {
+        if (route == null) {
+            return RateLimitConstants.MAX_REQUESTS_PER_MINUTE;
+        }
+        Object configured = route.getMetadata().get(RateLimitConstants.ROUTE_LIMIT_METADATA_KEY);
+        if (configured instanceof Number number) {
+            return number.intValue();
+        }
+        if (configured instanceof String value) {
+            try {
+                return Integer.parseInt(value.trim());
+            } catch (NumberFormatException e) {
+                log.warn("Invalid {} metadata on route {}: {}", RateLimitConstants.ROUTE_LIMIT_METADATA_KEY, route.getId(), value);
             }
-            
-            counter.count.incrementAndGet();
         }
-        
-        return chain.filter(exchange);
+        return RateLimitConstants.MAX_REQUESTS_PER_MINUTE;
     }
 
-    private Mono<Void> handleRateLimitExceeded(ServerWebExchange exchange) {
+    private Mono<Void> handleRateLimitExceeded(ServerWebExchange exchange, long retryAfterMillis) {
         ServerHttpResponse response = exchange.getResponse();
         response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
         response.getHeaders().add("Content-Type", MediaType.APPLICATION_JSON_VALUE);
-        response.getHeaders().add("Retry-After", "60");
-        
+        response.getHeaders().add("Retry-After", String.valueOf(Math.max(1, (retryAfterMillis + 999) / 1000)));
+
         String body = String.format(
             "{\"error\":\"Rate limit exceeded\",\"message\":\"Too many requests. Try again later.\",\"timestamp\":\"%s\"}",
             Instant.now()
         );
-        
+
         var buffer = response.bufferFactory().wrap(body.getBytes(StandardCharsets.UTF_8));
         return response.writeWith(Mono.just(buffer));
     }
@@ -83,18 +98,4 @@ public class RateLimitingGlobalFilter implements GlobalFilter, Ordered {
     public int getOrder() {
         return -200; // Execute before authentication
     }
-
-    private static class RequestCounter {
-        private final AtomicInteger count = new AtomicInteger(0);
-        private volatile long windowStart;
-        
-        public RequestCounter() {
-            this.windowStart = Instant.now().toEpochMilli();
-        }
-        
-        public void reset(long newWindowStart) {
-            this.count.set(0);
-            this.windowStart = newWindowStart;
-        }
-    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,260 @@
+package com.devwonder.api_gateway.filter;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Folds concurrent identical GETs into one upstream call (single-flight).
+ * <p>
+ * The first request for a key becomes the leader and is proxied as usual; its buffered
+ * response is replayed to every request that arrived for the same key while it was in flight.
+ * Keys cover method, path, query and the configured vary headers. Only routes with the
+ * {@code coalesce-requests} metadata take part. If the leader's response can't be shared
+ * (too large, no body, error or cancelled) the followers are proxied on their own.
+ */
+@Slf4j
+@Component
+public class RequestCoalescingFilter implements GlobalFilter, Ordered {
+
+    public static final String COALESCE_METADATA_KEY = "coalesce-requests";
+
+    private static final String METRIC_PREFIX = "gateway.coalescing";
+    private static final Set<String> HOP_BY_HOP_HEADERS = Set.of(
+            HttpHeaders.TRANSFER_ENCODING.toLowerCase(), HttpHeaders.CONNECTION.toLowerCase(), "keep-alive");
+    private static final String CORS_HEADER_PREFIX = "Access-Control-";
+
+    private final ObjectProvider<MeterRegistry> meterRegistryProvider;
+    private final Map<String, Sinks.One<BufferedResponse>> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder leaders = new LongAdder();
+    private final LongAdder followers = new LongAdder();
+    private final LongAdder fallbacks = new LongAdder();
+
+    @Value("${gateway.coalescing.enabled:true}")
+    private boolean enabled;
+
+    @Value("${gateway.coalescing.vary-headers:Accept,Accept-Encoding,Accept-Language,Authorization}")
+    private List<String> varyHeaders;
+
+    @Value("${gateway.coalescing.max-body-bytes:1048576}")
+    private int maxBodyBytes;
+
+    public RequestCoalescingFilter(ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        this.meterRegistryProvider = meterRegistryProvider;
+    }
+
+    @PostConstruct
+    void start() {
+        meterRegistryProvider.ifAvailable(this::registerMetrics);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        if (!enabled || exchange.getRequest().getMethod() != HttpMethod.GET
+                || !isCoalescingRoute(exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR))) {
+            return chain.filter(exchange);
+        }
+
+        String key = coalescingKey(exchange.getRequest());
+        Sinks.One<BufferedResponse> sink = Sinks.one();
+        Sinks.One<BufferedResponse> existing = inFlight.putIfAbsent(key, sink);
+        if (existing != null) {
+            return followLeader(exchange, chain, existing);
+        }
+
+        leaders.increment();
+        return chain.filter(exchange.mutate().response(new SharingResponse(exchange.getResponse(), key, sink)).build())
+                .doFinally(signal -> {
+                    // Leader ended without a shareable response - release followers to proxy on their own
+                    inFlight.remove(key, sink);
+                    sink.tryEmitEmpty();
+                });
+    }
+
+    private Mono<Void> followLeader(ServerWebExchange exchange, GatewayFilterChain chain, Sinks.One<BufferedResponse> leader) {
+        // Choose the write before running it: a finished replay completes empty, and must not
+        // fall through to the fallback
+        return leader.asMono()
+                .onErrorResume(e -> Mono.empty())
+                .map(shared -> {
+                    followers.increment();
+                    return replay(exchange.getResponse(), shared);
+                })
+                .switchIfEmpty(Mono.fromSupplier(() -> {
+                    fallbacks.increment();
+                    return chain.filter(exchange);
+                }))
+                .flatMap(write -> write);
+    }
+
+    /**
+     * Writes the leader's response. The key ignores {@code Origin}, so CORS headers are the
+     * follower's own (set by the CORS filter before routing); {@code Vary} values are merged.
+     */
+    private static Mono<Void> replay(ServerHttpResponse response, BufferedResponse shared) {
+        response.setStatusCode(shared.status());
+        HttpHeaders headers = response.getHeaders();
+        shared.headers().forEach((name, values) -> {
+            if (HttpHeaders.VARY.equalsIgnoreCase(name)) {
+                mergeVary(headers, shared.headers().getVary());
+            } else if (!name.regionMatches(true, 0, CORS_HEADER_PREFIX, 0, CORS_HEADER_PREFIX.length())) {
+                headers.put(name, values);
+            }
+        });
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(shared.body())));
+    }
+
+    private static void mergeVary(HttpHeaders headers, List<String> sharedVary) {
+        List<String> own = headers.getVary();
+        List<String> merged = new ArrayList<>(own);
+        for (String name : sharedVary) {
+            if (own.stream().noneMatch(name::equalsIgnoreCase)) {
+                merged.add(name);
+            }
+        }
+        headers.setVary(merged);
+    }
+
+    /**
+     * Buffers the leader's body so it can be handed to the followers, then writes it through.
+     */
+    private final class SharingResponse extends ServerHttpResponseDecorator {
+
+        private final String key;
+        private final Sinks.One<BufferedResponse> sink;
+
+        SharingResponse(ServerHttpResponse delegate, String key, Sinks.One<BufferedResponse> sink) {
+            super(delegate);
+            this.key = key;
+            this.sink = sink;
+        }
+
+        @Override
+        @NonNull
+        public Mono<Void> writeWith(@NonNull Publisher<? extends DataBuffer> body) {
+            if (getHeaders().getContentLength() > maxBodyBytes) {
+                inFlight.remove(key, sink);
+                sink.tryEmitEmpty();
+                return super.writeWith(body);
+            }
+            return DataBufferUtils.join(body).defaultIfEmpty(bufferFactory().wrap(new byte[0])).flatMap(joined -> {
+                byte[] bytes = new byte[joined.readableByteCount()];
+                joined.read(bytes);
+                DataBufferUtils.release(joined);
+
+                // Requests arriving from now on start a new flight instead of joining a finished one
+                inFlight.remove(key, sink);
+                HttpStatusCode status = getStatusCode();
+                if (status != null && bytes.length <= maxBodyBytes) {
+                    sink.tryEmitValue(new BufferedResponse(status, shareableHeaders(getHeaders()), bytes));
+                } else {
+                    sink.tryEmitEmpty();
+                }
+                return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+            });
+        }
+    }
+
+    private boolean isCoalescingRoute(Route route) {
+        if (route == null) {
+            return false;
+        }
+        Object configured = route.getMetadata().get(COALESCE_METADATA_KEY);
+        return Boolean.TRUE.equals(configured) || "true".equals(configured);
+    }
+
+    private String coalescingKey(ServerHttpRequest request) {
+        StringBuilder key = new StringBuilder(128)
+                .append(request.getMethod().name()).append(' ')
+                .append(request.getURI().getRawPath());
+        String query = request.getURI().getRawQuery();
+        if (query != null) {
+            key.append('?').append(query);
+        }
+        HttpHeaders headers = request.getHeaders();
+        for (String name : varyHeaders) {
+            List<String> values = headers.get(name);
+            key.append('\n').append(name).append(':');
+            if (values != null) {
+                key.append(String.join(",", values));
+            }
+        }
+        return key.toString();
+    }
+
+    private static HttpHeaders shareableHeaders(HttpHeaders source) {
+        HttpHeaders copy = new HttpHeaders();
+        source.forEach((name, values) -> {
+            if (!HOP_BY_HOP_HEADERS.contains(name.toLowerCase())) {
+                copy.put(name, List.copyOf(values));
+            }
+        });
+        return HttpHeaders.readOnlyHttpHeaders(copy);
+    }
+
+    public double getCoalesceRatio() {
+        long shared = followers.sum();
+        long total = shared + leaders.sum() + fallbacks.sum();
+        return total == 0 ? 0 : (double) shared / total;
+    }
+
+    private void registerMetrics(MeterRegistry registry) {
+        FunctionCounter.builder(METRIC_PREFIX + ".requests", leaders, LongAdder::sum)
+                .tag("role", "leader")
+                .description("Coalescable requests proxied upstream")
+                .register(registry);
+        FunctionCounter.builder(METRIC_PREFIX + ".requests", followers, LongAdder::sum)
+                .tag("role", "follower")
+                .description("Requests answered with another request's response")
+                .register(registry);
+        FunctionCounter.builder(METRIC_PREFIX + ".requests", fallbacks, LongAdder::sum)
+                .tag("role", "fallback")
+                .description("Followers proxied on their own because the leader's response could not be shared")
+                .register(registry);
+        Gauge.builder(METRIC_PREFIX + ".ratio", this, RequestCoalescingFilter::getCoalesceRatio)
+                .description("Share of coalescable requests served without their own upstream call")
+                .register(registry);
+        Gauge.builder(METRIC_PREFIX + ".in.flight", inFlight, Map::size)
+                .description("Upstream calls currently shared by waiting requests")
+                .register(registry);
+    }
+
+    private record BufferedResponse(HttpStatusCode status, HttpHeaders headers, byte[] body) {
+    }
+
+    @Override
+    public int getOrder() {
+        return -90; // After the response cache, so only cache misses are coalesced
+    }
+}
@@ -0,0 +1,320 @@
+package com.devwonder.api_gateway.filter;
+
+import com.devwonder.api_gateway.cache.CachedResponse;
+import com.devwonder.api_gateway.cache.ResponseCache;
+import com.devwonder.api_gateway.compression.ContentEncoding;
+import com.devwonder.api_gateway.compression.ResponseCompressor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Caches anonymous GET responses for routes that set the {@code response-cache-ttl-seconds}
+ * metadata (the public product catalog and blog).
+ * <p>
+ * Every cached or cacheable response carries a strong ETag; a matching {@code If-None-Match}
+ * is answered with 304. Cache-Control from the backend wins over the route TTL:
+ * {@code no-store}, {@code no-cache} and {@code private} responses are never stored, and
+ * {@code s-maxage}/{@code max-age} replace the route TTL. Responses that {@code Vary} on a
+ * request header other than {@code Accept-Encoding} or the CORS headers are not stored either.
+ * <p>
+ * Compressible entries are stored with a copy in every encoding the gateway offers, so hits
+ * are served in the encoding negotiated by {@link CompressionFilter} without compressing again.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ResponseCacheFilter implements GlobalFilter, Ordered {
+
+    public static final String TTL_METADATA_KEY = "response-cache-ttl-seconds";
+    public static final String CACHE_STATUS_HEADER = "X-Cache";
+
+    private static final Pattern MAX_AGE = Pattern.compile("(?:s-maxage|max-age)\\s*=\\s*(\\d+)");
+    private static final List<String> REPLAYED_HEADERS = List.of(
+            HttpHeaders.CONTENT_TYPE, HttpHeaders.CONTENT_LANGUAGE, HttpHeaders.CACHE_CONTROL, HttpHeaders.LAST_MODIFIED);
+    // Vary values the key doesn't need: encodings are stored side by side, and CORS headers are
+    // written per request by the gateway and never replayed
+    private static final Set<String> IGNORABLE_VARY = Set.of(
+            HttpHeaders.ACCEPT_ENCODING, HttpHeaders.ORIGIN, HttpHeaders.ACCESS_CONTROL_REQUEST_METHOD,
+            HttpHeaders.ACCESS_CONTROL_REQUEST_HEADERS).stream()
+            .map(name -> name.toLowerCase(Locale.ROOT))
+            .collect(Collectors.toUnmodifiableSet());
+
+    private final ResponseCache responseCache;
+    private final ResponseCompressor compressor;
+
+    @Value("${gateway.response-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${gateway.response-cache.max-entry-bytes:524288}")
+    private int maxEntryBytes;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        long routeTtlSeconds = resolveTtlSeconds(exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR));
+        if (!enabled || routeTtlSeconds <= 0
+                || request.getMethod() != HttpMethod.GET
+                || request.getHeaders().containsKey(HttpHeaders.AUTHORIZATION)) {
+            return chain.filter(exchange);
+        }
+
+        String key = cacheKey(request);
+        boolean revalidate = hasDirective(request.getHeaders().getCacheControl(), "no-cache", "no-store");
+        Mono<CachedResponse> cached = revalidate ? Mono.empty() : responseCache.get(key);
+
+        // Choose the write before running it: writing a hit completes empty, and must not
+        // fall through to the backend
+        return cached
+                .map(hit -> writeCached(exchange, hit))
+                .switchIfEmpty(Mono.fromSupplier(() -> chain.filter(exchange.mutate()
+                        .response(new CachingResponse(exchange, key, routeTtlSeconds))
+                        .build())))
+                .flatMap(write -> write);
+    }
+
+    private Mono<Void> writeCached(ServerWebExchange exchange, CachedResponse hit) {
+        ServerHttpResponse response = exchange.getResponse();
+        HttpHeaders headers = response.getHeaders();
+        hit.headers().forEach(headers::put);
+        headers.set(CACHE_STATUS_HEADER, "HIT");
+        byte[] body = selectBody(exchange, headers, hit);
+
+        if (matchesIfNoneMatch(exchange.getRequest(), headers.getETag())) {
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            removeBodyHeaders(headers);
+            return response.setComplete();
+        }
+        response.setStatusCode(HttpStatus.OK);
+        headers.setContentLength(body.length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+    }
+
+    /**
+     * Sets the ETag and returns the body to send: the precompressed copy for the negotiated
+     * encoding if there is one, otherwise the plain body (which {@link CompressionFilter} may
+     * still compress on the way out).
+     */
+    private static byte[] selectBody(ServerWebExchange exchange, HttpHeaders headers, CachedResponse entry) {
+        headers.setETag(entry.etag());
+        ContentEncoding encoding = exchange.getAttribute(CompressionFilter.ENCODING_ATTR);
+        byte[] encoded = encoding != null ? entry.encodedBody(encoding.token()) : null;
+        if (encoded == null) {
+            return entry.body();
+        }
+        CompressionFilter.setEncodedHeaders(headers, encoding, encoded.length);
+        return encoded;
+    }
+
+    private static void removeBodyHeaders(HttpHeaders headers) {
+        headers.remove(HttpHeaders.CONTENT_TYPE);
+        headers.remove(HttpHeaders.CONTENT_ENCODING);
+        headers.remove(HttpHeaders.CONTENT_LENGTH);
+    }
+
+    /**
+     * Captures the backend body, stores it when the backend allows, and adds the ETag.
+     */
+    private final class CachingResponse extends ServerHttpResponseDecorator {
+
+        private final ServerWebExchange exchange;
+        private final String key;
+        private final long routeTtlSeconds;
+
+        CachingResponse(ServerWebExchange exchange, String key, long routeTtlSeconds) {
+            super(exchange.getResponse());
+            this.exchange = exchange;
+            this.key = key;
+            this.routeTtlSeconds = routeTtlSeconds;
+        }
+
+        @Override
+        @NonNull
+        public Mono<Void> writeWith(@NonNull Publisher<? extends DataBuffer> body) {
+            HttpHeaders headers = getHeaders();
+            long contentLength = headers.getContentLength();
+            if (getStatusCode() != HttpStatus.OK || contentLength > maxEntryBytes) {
+                return super.writeWith(body);
+            }
+
+            // Chunked bodies have no length: hold back at most maxEntryBytes, then stream the rest uncached
+            AtomicLong received = new AtomicLong();
+            return Flux.<DataBuffer>from(body)
+                    .bufferUntil(buffer -> received.addAndGet(buffer.readableByteCount()) > maxEntryBytes)
+                    .switchOnFirst((first, chunks) -> {
+                        if (first.isOnError() || received.get() > maxEntryBytes) {
+                            return super.writeWith(chunks.concatMapIterable(held -> held));
+                        }
+                        // Under the limit, the first (and only) batch is the whole body
+                        return cacheAndWrite(first.hasValue() ? first.get() : List.of());
+                    })
+                    .doOnDiscard(DataBuffer.class, DataBufferUtils::release)
+                    .then();
+        }
+
+        private Mono<Void> cacheAndWrite(List<DataBuffer> chunks) {
+            HttpHeaders headers = getHeaders();
+            byte[] bytes = toBytes(chunks);
+            String etag = headers.getETag() != null ? headers.getETag() : strongEtag(bytes);
+            headers.set(CACHE_STATUS_HEADER, "MISS");
+
+            CachedResponse entry = new CachedResponse(replayedHeaders(headers), bytes, null, etag, 0);
+            long ttlSeconds = effectiveTtlSeconds(headers.getCacheControl(), routeTtlSeconds);
+            if (ttlSeconds > 0 && bytes.length <= maxEntryBytes && isKeyIndependent(headers.getVary())) {
+                Map<String, byte[]> encodedBodies = compressor.isCompressible(headers, bytes.length)
+                        ? compressor.compressAll(bytes) : null;
+                entry = new CachedResponse(entry.headers(), bytes, encodedBodies, etag,
+                        System.currentTimeMillis() + ttlSeconds * 1000);
+                responseCache.put(key, entry);
+            }
+
+            byte[] selected = selectBody(exchange, headers, entry);
+            if (matchesIfNoneMatch(exchange.getRequest(), headers.getETag())) {
+                setStatusCode(HttpStatus.NOT_MODIFIED);
+                removeBodyHeaders(headers);
+                return setComplete();
+            }
+            // The body is fully buffered now, so CompressionFilter can compress it
+            headers.setContentLength(selected.length);
+            return super.writeWith(Mono.just(bufferFactory().wrap(selected)));
+        }
+    }
+
+    private static byte[] toBytes(List<DataBuffer> chunks) {
+        int length = chunks.stream().mapToInt(DataBuffer::readableByteCount).sum();
+        byte[] bytes = new byte[length];
+        int offset = 0;
+        for (DataBuffer chunk : chunks) {
+            int count = chunk.readableByteCount();
+            chunk.read(bytes, offset, count);
+            offset += count;
+            DataBufferUtils.release(chunk);
+        }
+        return bytes;
+    }
+
+    private static long resolveTtlSeconds(Route route) {
+        if (route == null) {
+            return 0;
+        }
+        Object configured = route.getMetadata().get(TTL_METADATA_KEY);
+        if (configured instanceof Number number) {
+            return number.longValue();
+        }
+        if (configured instanceof String value) {
+            try {
+                return Long.parseLong(value.trim());
+            } catch (NumberFormatException e) {
+                log.warn("Invalid {} metadata on route {}: {}", TTL_METADATA_KEY, route.getId(), value);
+            }
+        }
+        return 0;
+    }
+
+    static long effectiveTtlSeconds(String cacheControl, long routeTtlSeconds) {
+        if (cacheControl == null) {
+            return routeTtlSeconds;
+        }
+        if (hasDirective(cacheControl, "no-store", "no-cache", "private")) {
+            return 0;
+        }
+        Matcher matcher = MAX_AGE.matcher(cacheControl.toLowerCase(Locale.ROOT));
+        return matcher.find() ? Long.parseLong(matcher.group(1)) : routeTtlSeconds;
+    }
+
+    private static boolean hasDirective(String cacheControl, String... directives) {
+        if (cacheControl == null) {
+            return false;
+        }
+        String value = cacheControl.toLowerCase(Locale.ROOT);
+        return Arrays.stream(directives).anyMatch(value::contains);
+    }
+
+    static boolean matchesIfNoneMatch(ServerHttpRequest request, String etag) {
+        List<String> candidates;
+        try {
+            candidates = request.getHeaders().getIfNoneMatch();
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        for (String candidate : candidates) {
+            String tag = candidate.startsWith("W/") ? candidate.substring(2) : candidate;
+            if ("*".equals(tag) || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The key is the path and query only, so a response that varies on any other request
+     * header (or on {@code *}) would be served to clients it wasn't meant for.
+     */
+    static boolean isKeyIndependent(List<String> vary) {
+        return vary.stream().allMatch(name -> IGNORABLE_VARY.contains(name.toLowerCase(Locale.ROOT)));
+    }
+
+    private static String cacheKey(ServerHttpRequest request) {
+        String query = request.getURI().getRawQuery();
+        String path = request.getURI().getRawPath();
+        return query != null ? path + "?" + query : path;
+    }
+
+    private static Map<String, List<String>> replayedHeaders(HttpHeaders headers) {
+        Map<String, List<String>> replayed = new LinkedHashMap<>();
+        for (String name : REPLAYED_HEADERS) {
+            List<String> values = headers.get(name);
+            if (values != null) {
+                replayed.put(name, List.copyOf(values));
+            }
+        }
+        return replayed;
+    }
+
+    private static String strongEtag(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest, 16)) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    @Override
+    public int getOrder() {
+        return -100; // Must wrap the response before NettyWriteResponseFilter (-1) writes it
+    }
+}
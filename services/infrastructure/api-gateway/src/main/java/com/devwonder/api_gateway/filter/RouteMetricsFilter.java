@@ -0,0 +1,58 @@
+package com.devwonder.api_gateway.filter;
+
+import com.devwonder.api_gateway.metrics.GatewayMetrics;
+import lombok.RequiredArgsConstructor;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tracks in-flight requests and response sizes per route.
+ */
+@Component
+@RequiredArgsConstructor
+public class RouteMetricsFilter implements GlobalFilter, Ordered {
+
+    private final GatewayMetrics gatewayMetrics;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        String routeId = route != null ? route.getId() : GatewayMetrics.UNKNOWN_ROUTE;
+        AtomicInteger inFlight = gatewayMetrics.inFlight(routeId);
+        AtomicLong bytesWritten = new AtomicLong();
+
+        ServerHttpResponseDecorator countingResponse = new ServerHttpResponseDecorator(exchange.getResponse()) {
+            @Override
+            @NonNull
+            public Mono<Void> writeWith(@NonNull Publisher<? extends DataBuffer> body) {
+                return super.writeWith(Flux.from(body).doOnNext(buffer -> bytesWritten.addAndGet(buffer.readableByteCount())));
+            }
+        };
+
+        inFlight.incrementAndGet();
+        return chain.filter(exchange.mutate().response(countingResponse).build())
+                .doFinally(signal -> {
+                    inFlight.decrementAndGet();
+                    gatewayMetrics.recordResponseSize(routeId, bytesWritten.get());
+                });
+    }
+
+    @Override
+    public int getOrder() {
+        return -300; // Outermost, so rate-limited and cached responses are counted too
+    }
+}
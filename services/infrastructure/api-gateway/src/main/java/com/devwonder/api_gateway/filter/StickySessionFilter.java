@@ -0,0 +1,76 @@
+package com.devwonder.api_gateway.filter;
+
+import com.devwonder.api_gateway.util.RequestUtil;
+import com.devwonder.common.loadbalancer.LatencyAwareLoadBalancer;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.ReactiveLoadBalancerClientFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.Set;
+
+/**
+ * Pins connections on routes with the {@code sticky-session} metadata to one instance.
+ * <p>
+ * The key is the caller's account id when the handshake carries a verified token (header, or
+ * {@code access_token} query parameter on WebSocket paths), otherwise the SockJS session id
+ * from the path, otherwise the client address. {@link LatencyAwareLoadBalancer} places the
+ * key on a consistent-hash ring, so an account keeps reaching the same instance until that
+ * instance leaves or holds far more connections than the others.
+ */
+@Component
+public class StickySessionFilter implements GlobalFilter, Ordered {
+
+    public static final String STICKY_METADATA_KEY = "sticky-session";
+
+    private static final Set<String> SOCKJS_TRANSPORTS = Set.of(
+            "websocket", "xhr", "xhr_send", "xhr_streaming", "eventsource", "htmlfile", "jsonp", "jsonp_send");
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        if (route == null || !isSticky(route)) {
+            return chain.filter(exchange);
+        }
+        return ReactiveSecurityContextHolder.getContext()
+                .map(SecurityContext::getAuthentication)
+                .filter(JwtAuthenticationToken.class::isInstance)
+                .mapNotNull(authentication -> ((JwtAuthenticationToken) authentication).getToken().getClaimAsString("accountId"))
+                .map(accountId -> "account:" + accountId)
+                .switchIfEmpty(Mono.fromSupplier(() -> anonymousKey(exchange)))
+                .flatMap(key -> {
+                    exchange.getAttributes().put(LatencyAwareLoadBalancer.STICKY_KEY_ATTRIBUTE, key);
+                    return chain.filter(exchange);
+                });
+    }
+
+    public static boolean isSticky(Route route) {
+        Object configured = route.getMetadata().get(STICKY_METADATA_KEY);
+        return Boolean.TRUE.equals(configured) || "true".equals(configured);
+    }
+
+    /**
+     * SockJS requests look like {@code <prefix>/{server}/{session}/{transport}}; every request
+     * of one session must reach the instance holding it.
+     */
+    static String anonymousKey(ServerWebExchange exchange) {
+        String[] segments = exchange.getRequest().getPath().value().split("/");
+        if (segments.length >= 3 && SOCKJS_TRANSPORTS.contains(segments[segments.length - 1])) {
+            return "sockjs:" + segments[segments.length - 2];
+        }
+        return "client:" + RequestUtil.getClientIpAddress(exchange.getRequest());
+    }
+
+    @Override
+    public int getOrder() {
+        return ReactiveLoadBalancerClientFilter.LOAD_BALANCER_CLIENT_FILTER_ORDER - 1; // Key must be set before an instance is chosen
+    }
+}
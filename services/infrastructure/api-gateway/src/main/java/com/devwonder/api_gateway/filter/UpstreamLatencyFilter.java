@@ -0,0 +1,48 @@
+package com.devwonder.api_gateway.filter;
+
+import com.devwonder.api_gateway.metrics.GatewayMetrics;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Times the backend call itself. Runs immediately before the routing filters, so the measured
+ * time excludes gateway-side work and requests answered from the response cache. For hedged
+ * requests it is the time until the winning attempt answered.
+ */
+@Component
+@RequiredArgsConstructor
+public class UpstreamLatencyFilter implements GlobalFilter, Ordered {
+
+    private final GatewayMetrics gatewayMetrics;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        String routeId = route != null ? route.getId() : GatewayMetrics.UNKNOWN_ROUTE;
+        String method = exchange.getRequest().getMethod().name();
+        long start = System.nanoTime();
+
+        return chain.filter(exchange)
+                .doOnSuccess(done -> record(exchange, routeId, method, start))
+                .doOnError(e -> gatewayMetrics.recordUpstreamLatency(routeId, method, "ERROR", System.nanoTime() - start));
+    }
+
+    private void record(ServerWebExchange exchange, String routeId, String method, long start) {
+        HttpStatusCode status = exchange.getResponse().getStatusCode();
+        gatewayMetrics.recordUpstreamLatency(routeId, method,
+                status != null ? String.valueOf(status.value()) : "UNKNOWN", System.nanoTime() - start);
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.LOWEST_PRECEDENCE - 2; // Wraps HedgingFilter and NettyRoutingFilter
+    }
+}
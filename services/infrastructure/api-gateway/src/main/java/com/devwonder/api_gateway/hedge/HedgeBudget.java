@@ -0,0 +1,39 @@
+package com.devwonder.api_gateway.hedge;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caps hedged requests at a fixed share of a route's traffic.
+ * <p>
+ * Every request deposits {@code ratio} of a token and every hedge spends a whole one, so over
+ * time at most {@code ratio} extra requests are sent per request. The balance is capped so an
+ * idle period can't save up a large burst of hedges for when a backend degrades.
+ */
+public class HedgeBudget {
+
+    private static final long SCALE = 1000;
+
+    private final long deposit;
+    private final long maxBalance;
+    private final AtomicLong balance = new AtomicLong();
+
+    public HedgeBudget(double ratio, int maxBurst) {
+        this.deposit = Math.round(ratio * SCALE);
+        this.maxBalance = maxBurst * SCALE;
+    }
+
+    public void onRequest() {
+        balance.accumulateAndGet(deposit, (current, amount) -> Math.min(maxBalance, current + amount));
+    }
+
+    public boolean tryHedge() {
+        long current;
+        do {
+            current = balance.get();
+            if (current < SCALE) {
+                return false;
+            }
+        } while (!balance.compareAndSet(current, current - SCALE));
+        return true;
+    }
+}
@@ -0,0 +1,55 @@
+package com.devwonder.api_gateway.hedge;
+
+import java.util.Arrays;
+
+/**
+ * Recent latencies of one route and a percentile over them.
+ * <p>
+ * Samples go into a fixed ring, so the percentile follows the route's current behaviour.
+ * It is recomputed every {@value #RECOMPUTE_INTERVAL} samples rather than on every read.
+ */
+public class LatencyTracker {
+
+    private static final int RECOMPUTE_INTERVAL = 32;
+
+    private final long[] samples;
+    private final double percentile;
+    private final int minSamples;
+
+    private int next;
+    private int count;
+    private int sinceRecompute;
+    private volatile long percentileNanos = -1;
+
+    public LatencyTracker(int capacity, double percentile, int minSamples) {
+        this.samples = new long[capacity];
+        this.percentile = percentile;
+        this.minSamples = Math.min(minSamples, capacity);
+    }
+
+    public synchronized void record(long nanos) {
+        samples[next] = nanos;
+        next = (next + 1) % samples.length;
+        if (count < samples.length) {
+            count++;
+        }
+        if (++sinceRecompute >= RECOMPUTE_INTERVAL && count >= minSamples) {
+            long[] sorted = Arrays.copyOf(samples, count);
+            Arrays.sort(sorted);
+            percentileNanos = sorted[Math.max(0, (int) Math.ceil(percentile * count) - 1)];
+            sinceRecompute = 0;
+        }
+    }
+
+    /**
+     * The tracked percentile, or -1 until enough samples have been seen.
+     */
+    public long percentileNanos() {
+        return percentileNanos;
+    }
+
+    public double percentileMillis() {
+        long nanos = percentileNanos;
+        return nanos < 0 ? Double.NaN : nanos / 1_000_000.0;
+    }
+}
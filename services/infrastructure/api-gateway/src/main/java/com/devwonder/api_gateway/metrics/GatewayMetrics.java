@@ -0,0 +1,183 @@
+package com.devwonder.api_gateway.metrics;
+
+import com.devwonder.api_gateway.concurrency.AdaptiveConcurrencyLimiter;
+import com.devwonder.api_gateway.hedge.LatencyTracker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Per-route gateway instrumentation, published through the Prometheus actuator endpoint.
+ * <p>
+ * Meters are tagged with the route id from {@code api-gateway.yml}. Latency timers publish
+ * percentile histograms so tail latency can be aggregated across gateway replicas.
+ */
+@Component
+public class GatewayMetrics {
+
+    public static final String UNKNOWN_ROUTE = "none";
+
+    private static final String METRIC_PREFIX = "gateway";
+    private static final Duration MIN_EXPECTED_LATENCY = Duration.ofMillis(1);
+    private static final Duration MAX_EXPECTED_LATENCY = Duration.ofSeconds(30);
+
+    private final MeterRegistry registry;
+    private final Map<String, AtomicInteger> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, DistributionSummary> responseSizes = new ConcurrentHashMap<>();
+    private final Map<String, Counter> rateLimitRejections = new ConcurrentHashMap<>();
+    private final Map<String, Counter> concurrencyRejections = new ConcurrentHashMap<>();
+
+    public GatewayMetrics(ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        this.registry = meterRegistryProvider.getIfAvailable(() -> Metrics.globalRegistry);
+    }
+
+    /**
+     * Time from handing the request to the backend until its response headers arrive.
+     */
+    public void recordUpstreamLatency(String routeId, String method, String status, long nanos) {
+        Timer.builder(METRIC_PREFIX + ".upstream.latency")
+                .description("Time until the backend's response headers arrive")
+                .tags("route", routeId, "method", method, "status", status)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(MIN_EXPECTED_LATENCY)
+                .maximumExpectedValue(MAX_EXPECTED_LATENCY)
+                .register(registry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public AtomicInteger inFlight(String routeId) {
+        return inFlight.computeIfAbsent(routeId, id -> {
+            AtomicInteger counter = new AtomicInteger();
+            Gauge.builder(METRIC_PREFIX + ".route.in.flight", counter, AtomicInteger::get)
+                    .description("Requests currently being handled")
+                    .tag("route", id)
+                    .register(registry);
+            return counter;
+        });
+    }
+
+    public void recordResponseSize(String routeId, long bytes) {
+        responseSizes.computeIfAbsent(routeId, id -> DistributionSummary.builder(METRIC_PREFIX + ".route.response.size")
+                        .description("Response body size sent to clients")
+                        .baseUnit("bytes")
+                        .tag("route", id)
+                        .publishPercentiles(0.5, 0.95, 0.99)
+                        .register(registry))
+                .record(bytes);
+    }
+
+    public void recordRateLimitRejection(String routeId) {
+        rateLimitRejections.computeIfAbsent(routeId, id -> Counter.builder(METRIC_PREFIX + ".rate.limit.rejections")
+                        .description("Requests rejected with 429")
+                        .tag("route", id)
+                        .register(registry))
+                .increment();
+    }
+
+    public void registerConcurrencyLimiter(String target, AdaptiveConcurrencyLimiter limiter) {
+        Gauge.builder(METRIC_PREFIX + ".concurrency.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Current adaptive concurrency limit")
+                .tag("target", target)
+                .register(registry);
+        Gauge.builder(METRIC_PREFIX + ".concurrency.in.flight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .description("Requests holding a concurrency slot")
+                .tag("target", target)
+                .register(registry);
+    }
+
+    public void recordConcurrencyRejection(String target) {
+        concurrencyRejections.computeIfAbsent(target, t -> Counter.builder(METRIC_PREFIX + ".concurrency.rejections")
+                        .description("Requests shed with 503 at the concurrency limit")
+                        .tag("target", t)
+                        .register(registry))
+                .increment();
+    }
+
+    public void registerHedgeDelay(String routeId, LatencyTracker latency) {
+        Gauge.builder(METRIC_PREFIX + ".hedge.delay", latency, LatencyTracker::percentileMillis)
+                .description("Latency after which a hedged request is sent")
+                .baseUnit("milliseconds")
+                .tag("route", routeId)
+                .register(registry);
+    }
+
+    /**
+     * Counts hedge-eligible requests by which attempt answered: {@code primary} (no hedge was
+     * needed), {@code primary-won} or {@code hedge-won}.
+     */
+    public void recordHedgeOutcome(String routeId, String outcome) {
+        Counter.builder(METRIC_PREFIX + ".hedge.requests")
+                .description("Hedge-eligible requests by winning attempt")
+                .tags("route", routeId, "outcome", outcome)
+                .register(registry)
+                .increment();
+    }
+
+    public void recordHedgeSkipped(String routeId, String reason) {
+        Counter.builder(METRIC_PREFIX + ".hedge.skipped")
+                .description("Hedges not sent because the budget was spent or no other instance was available")
+                .tags("route", routeId, "reason", reason)
+                .register(registry)
+                .increment();
+    }
+
+    /**
+     * Bytes in and out of the compressor and the CPU time spent, per content coding. Cached
+     * responses are compressed once when stored, so the ratio of these bytes to
+     * {@code gateway.route.response.size} shows how much compression the cache saves.
+     */
+    public void recordCompression(String encoding, long inputBytes, long outputBytes, long nanos) {
+        Counter.builder(METRIC_PREFIX + ".compression.input")
+                .description("Uncompressed bytes fed to the compressor")
+                .baseUnit("bytes")
+                .tag("encoding", encoding)
+                .register(registry)
+                .increment(inputBytes);
+        Counter.builder(METRIC_PREFIX + ".compression.output")
+                .description("Compressed bytes produced")
+                .baseUnit("bytes")
+                .tag("encoding", encoding)
+                .register(registry)
+                .increment(outputBytes);
+        Timer.builder(METRIC_PREFIX + ".compression.time")
+                .description("Time spent compressing one response body")
+                .tag("encoding", encoding)
+                .register(registry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Times JWT decoding and signature verification, tagged by outcome.
+     */
+    public <T> Mono<T> timeJwtDecode(Mono<T> decode) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return decode
+                    .doOnSuccess(jwt -> recordJwtDecode("success", start))
+                    .doOnError(e -> recordJwtDecode("failure", start));
+        });
+    }
+
+    private void recordJwtDecode(String outcome, long startNanos) {
+        Timer.builder(METRIC_PREFIX + ".jwt.decode")
+                .description("JWT decode and signature verification time")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofNanos(10_000))
+                .maximumExpectedValue(Duration.ofSeconds(5))
+                .register(registry)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,221 @@
+package com.devwonder.api_gateway.ratelimit;
+
+import com.devwonder.api_gateway.constants.RateLimitConstants;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Cluster-wide rate limiting without a Redis round trip per request.
+ * <p>
+ * Each node leases a batch of tokens per client key from the shared {@link TokenLeaseStore} and
+ * spends them locally. Lease sizes adapt per key: they double while a lease is used up before it
+ * expires and halve when tokens are left over, so busy clients rarely touch Redis and quiet
+ * ones don't strand tokens on a node. Only one lease request per key is in flight at a time.
+ * <p>
+ * When the store fails or times out, the node falls back to {@link LocalRateLimiter} for a
+ * short back-off period.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DistributedRateLimiter {
+
+    private static final int MAX_LEASE_ATTEMPTS = 2;
+    private static final int LEASE_FRACTION_OF_LIMIT = 10; // A single lease never exceeds 10% of the limit
+    private static final int EVICTION_SAMPLE_SIZE = 8;
+
+    private final LocalRateLimiter localRateLimiter;
+    private final TokenLeaseStore leaseStore;
+
+    @Value("${gateway.rate-limit.distributed.enabled:true}")
+    private boolean enabled;
+
+    @Value("${gateway.rate-limit.distributed.max-lease-size:20}")
+    private int maxLeaseSize;
+
+    @Value("${gateway.rate-limit.distributed.lease-ttl-millis:1000}")
+    private long leaseTtlMillis;
+
+    @Value("${gateway.rate-limit.distributed.timeout-millis:200}")
+    private long timeoutMillis;
+
+    @Value("${gateway.rate-limit.distributed.fallback-backoff-millis:5000}")
+    private long fallbackBackoffMillis;
+
+    private final ConcurrentHashMap<String, LeaseState> leases = new ConcurrentHashMap<>();
+    private final AtomicLong leaseRequestCount = new AtomicLong();
+    private volatile long storeUnavailableUntil;
+
+    private ScheduledExecutorService sweeper;
+
+    @PostConstruct
+    void start() {
+        sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "rate-limit-lease-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        sweeper.scheduleWithFixedDelay(this::sweepIdle,
+                RateLimitConstants.IDLE_SWEEP_INTERVAL_MILLIS,
+                RateLimitConstants.IDLE_SWEEP_INTERVAL_MILLIS,
+                TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (sweeper != null) {
+            sweeper.shutdownNow();
+        }
+    }
+
+    /**
+     * Takes one request token for the given client key.
+     *
+     * @return {@code 0} if allowed, otherwise the milliseconds until the client may retry
+     */
+    public Mono<Long> tryAcquire(String key, int limitPerMinute) {
+        if (!enabled) {
+            return Mono.just(localRateLimiter.tryAcquire(key, limitPerMinute));
+        }
+        LeaseState state = leases.get(key);
+        if (state == null) {
+            if (leases.size() >= RateLimitConstants.MAX_TRACKED_CLIENTS) {
+                evictOne(System.currentTimeMillis());
+            }
+            state = leases.computeIfAbsent(key, k -> new LeaseState());
+        }
+        return acquire(key, state, limitPerMinute, MAX_LEASE_ATTEMPTS);
+    }
+
+    public long getLeaseRequestCount() {
+        return leaseRequestCount.get();
+    }
+
+    public int getTrackedClientCount() {
+        return leases.size();
+    }
+
+    private Mono<Long> acquire(String key, LeaseState state, int limit, int attemptsLeft) {
+        long now = System.currentTimeMillis();
+        if (now < storeUnavailableUntil) {
+            return Mono.just(localRateLimiter.tryAcquire(key, limit));
+        }
+        if (state.tryTake(now)) {
+            return Mono.just(0L);
+        }
+        long blockedFor = state.blockedUntil - now;
+        if (blockedFor > 0) {
+            return Mono.just(blockedFor);
+        }
+        if (attemptsLeft == 0) {
+            // Lost the race for a fresh lease to concurrent requests on this node
+            return Mono.just(Math.max(1, state.leaseExpiresAt - now));
+        }
+
+        Mono<Void> refill = state.refill.get();
+        if (refill == null) {
+            Mono<Void> created = leaseTokens(key, state, limit).cache();
+            refill = state.refill.compareAndExchange(null, created);
+            if (refill == null) {
+                refill = created;
+            }
+        }
+        return refill.then(Mono.defer(() -> acquire(key, state, limit, attemptsLeft - 1)));
+    }
+
+    private Mono<Void> leaseTokens(String key, LeaseState state, int limit) {
+        int requested = state.nextLeaseSize(Math.max(1, Math.min(maxLeaseSize, limit / LEASE_FRACTION_OF_LIMIT)));
+        leaseRequestCount.incrementAndGet();
+
+        return leaseStore.lease(key, limit, RateLimitConstants.WINDOW_SIZE_MILLIS, requested)
+                .timeout(Duration.ofMillis(timeoutMillis))
+                .doOnNext(lease -> state.install(lease, System.currentTimeMillis(), leaseTtlMillis))
+                .onErrorResume(e -> {
+                    if (System.currentTimeMillis() >= storeUnavailableUntil) {
+                        log.warn("Rate limit store unavailable, falling back to local limits for {} ms: {}",
+                                fallbackBackoffMillis, e.getMessage());
+                    }
+                    storeUnavailableUntil = System.currentTimeMillis() + fallbackBackoffMillis;
+                    return Mono.empty();
+                })
+                .doFinally(signal -> state.refill.set(null))
+                .then();
+    }
+
+    void sweepIdle() {
+        long now = System.currentTimeMillis();
+        leases.values().removeIf(state -> state.isIdle(now));
+    }
+
+    private void evictOne(long now) {
+        Iterator<LeaseState> it = leases.values().iterator();
+        for (int i = 0; i < EVICTION_SAMPLE_SIZE && it.hasNext(); i++) {
+            if (it.next().isIdle(now)) {
+                it.remove();
+                return;
+            }
+        }
+        if (it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+
+    private static final class LeaseState {
+
+        private final AtomicInteger tokens = new AtomicInteger();
+        private final AtomicReference<Mono<Void>> refill = new AtomicReference<>();
+        private volatile long leaseExpiresAt;
+        private volatile long blockedUntil;
+        private volatile int leaseSize = 1;
+        private volatile int lastGranted;
+
+        boolean tryTake(long now) {
+            if (now >= leaseExpiresAt) {
+                return false;
+            }
+            int current;
+            do {
+                current = tokens.get();
+                if (current <= 0) {
+                    return false;
+                }
+            } while (!tokens.compareAndSet(current, current - 1));
+            return true;
+        }
+
+        int nextLeaseSize(int maxSize) {
+            if (lastGranted > 0) {
+                leaseSize = tokens.get() <= 0 ? leaseSize * 2 : leaseSize / 2;
+            }
+            leaseSize = Math.max(1, Math.min(maxSize, leaseSize));
+            return leaseSize;
+        }
+
+        void install(TokenLease lease, long now, long ttlMillis) {
+            tokens.set(lease.granted());
+            lastGranted = lease.granted();
+            leaseExpiresAt = now + ttlMillis;
+            blockedUntil = lease.granted() > 0 ? 0 : now + lease.retryAfterMillis();
+        }
+
+        boolean isIdle(long now) {
+            return now >= leaseExpiresAt && now >= blockedUntil && refill.get() == null;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.devwonder.api_gateway.ratelimit;
+
+import com.devwonder.api_gateway.constants.RateLimitConstants;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-client token buckets held in memory under a hard entry cap.
+ * <p>
+ * Idle buckets (ones that would already be full again) are swept in the background, which
+ * loses no state. If the cap is still reached, the fullest bucket out of a small sample is
+ * dropped to make room.
+ */
+@Slf4j
+@Component
+public class LocalRateLimiter {
+
+    private static final int EVICTION_SAMPLE_SIZE = 8;
+
+    private final ConcurrentHashMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private ScheduledExecutorService sweeper;
+
+    @PostConstruct
+    void start() {
+        sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "rate-limit-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        sweeper.scheduleWithFixedDelay(this::sweepIdle,
+                RateLimitConstants.IDLE_SWEEP_INTERVAL_MILLIS,
+                RateLimitConstants.IDLE_SWEEP_INTERVAL_MILLIS,
+                TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (sweeper != null) {
+            sweeper.shutdownNow();
+        }
+    }
+
+    /**
+     * Takes one request token for the given client key.
+     *
+     * @return {@code 0} if allowed, otherwise the milliseconds until the client may retry
+     */
+    public long tryAcquire(String key, int limitPerMinute) {
+        long now = monotonicMillis();
+        TokenBucket bucket = buckets.get(key);
+        if (bucket == null) {
+            if (buckets.size() >= RateLimitConstants.MAX_TRACKED_CLIENTS) {
+                evictOne(now);
+            }
+            bucket = buckets.computeIfAbsent(key,
+                    k -> new TokenBucket(limitPerMinute, RateLimitConstants.WINDOW_SIZE_MILLIS, now));
+        }
+        return bucket.tryAcquire(now);
+    }
+
+    public int getTrackedClientCount() {
+        return buckets.size();
+    }
+
+    void sweepIdle() {
+        long now = monotonicMillis();
+        int before = buckets.size();
+        buckets.values().removeIf(bucket -> bucket.isIdle(now));
+        log.debug("Rate limit sweep removed {} idle clients, {} still tracked", before - buckets.size(), buckets.size());
+    }
+
+    // Buckets measure refills on this clock, so wall-clock steps can't stall or flood them
+    private static long monotonicMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime());
+    }
+
+    private void evictOne(long now) {
+        String victim = null;
+        long victimTokens = -1;
+        Iterator<Map.Entry<String, TokenBucket>> it = buckets.entrySet().iterator();
+        for (int i = 0; i < EVICTION_SAMPLE_SIZE && it.hasNext(); i++) {
+            Map.Entry<String, TokenBucket> candidate = it.next();
+            long tokens = candidate.getValue().availableTokens(now);
+            if (tokens > victimTokens) {
+                victim = candidate.getKey();
+                victimTokens = tokens;
+            }
+        }
+        if (victim != null) {
+            buckets.remove(victim);
+        }
+    }
+}
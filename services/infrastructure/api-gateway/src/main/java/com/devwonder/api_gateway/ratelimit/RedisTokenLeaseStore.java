@@ -0,0 +1,40 @@
+package com.devwonder.api_gateway.ratelimit;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Leases tokens from a bucket kept in Redis. Refill and deduction happen in one Lua script,
+ * so concurrent leases from different gateway nodes never oversubscribe the bucket.
+ */
+@Component
+@RequiredArgsConstructor
+public class RedisTokenLeaseStore implements TokenLeaseStore {
+
+    private static final String KEY_PREFIX = "nexhub:rate-limit:";
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static final RedisScript<List<Long>> LEASE_SCRIPT =
+            (RedisScript) RedisScript.of(new ClassPathResource("scripts/rate-limit-lease.lua"), List.class);
+
+    private final ReactiveStringRedisTemplate redisTemplate;
+
+    @Override
+    public Mono<TokenLease> lease(String key, int capacity, long windowMillis, int requested) {
+        List<String> args = List.of(
+                String.valueOf(capacity),
+                String.valueOf(windowMillis),
+                String.valueOf(System.currentTimeMillis()),
+                String.valueOf(requested));
+
+        return redisTemplate.execute(LEASE_SCRIPT, List.of(KEY_PREFIX + key), args)
+                .single()
+                .map(result -> new TokenLease(result.get(0).intValue(), result.get(1)));
+    }
+}
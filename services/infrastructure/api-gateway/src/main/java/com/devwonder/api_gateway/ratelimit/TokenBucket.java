@@ -0,0 +1,91 @@
+package com.devwonder.api_gateway.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket.
+ * <p>
+ * The whole state lives in one {@code long}: the upper 44 bits hold the last refill time
+ * (milliseconds since the bucket was created) and the lower 20 bits the remaining tokens, so
+ * an acquire is a single CAS with no monitor and no per-request allocation.
+ * <p>
+ * Times are expected from a monotonic clock; a time before the bucket's creation counts as
+ * its creation, so the packed time can never go negative.
+ */
+final class TokenBucket {
+
+    private static final int TOKEN_BITS = 20;
+    private static final long TOKEN_MASK = (1L << TOKEN_BITS) - 1;
+    static final int MAX_CAPACITY = (int) TOKEN_MASK;
+
+    private final int capacity;
+    private final long windowMillis;
+    private final long originMillis;
+    private final AtomicLong state;
+
+    TokenBucket(int capacity, long windowMillis, long nowMillis) {
+        this.capacity = Math.max(1, Math.min(capacity, MAX_CAPACITY));
+        this.windowMillis = windowMillis;
+        this.originMillis = nowMillis;
+        this.state = new AtomicLong(pack(0, this.capacity));
+    }
+
+    /**
+     * Takes one token.
+     *
+     * @return {@code 0} if a token was taken, otherwise the milliseconds until one becomes available
+     */
+    long tryAcquire(long nowMillis) {
+        long now = sinceOrigin(nowMillis);
+        while (true) {
+            long current = state.get();
+            long last = current >>> TOKEN_BITS;
+            long tokens = current & TOKEN_MASK;
+
+            long elapsed = Math.max(0, now - last);
+            long refill = elapsed * capacity / windowMillis;
+            if (refill > 0) {
+                tokens = Math.min(capacity, tokens + refill);
+                // Only advance the clock by the time actually converted into tokens
+                last = tokens == capacity ? now : last + refill * windowMillis / capacity;
+            }
+
+            if (tokens == 0) {
+                long millisPerToken = (windowMillis + capacity - 1) / capacity;
+                return Math.max(1, millisPerToken - elapsed);
+            }
+
+            if (state.compareAndSet(current, pack(last, tokens - 1))) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * A bucket that would be full by now is indistinguishable from a fresh one, so it can be
+     * dropped without changing any client's limit.
+     */
+    boolean isIdle(long nowMillis) {
+        return availableTokens(nowMillis) >= capacity;
+    }
+
+    long availableTokens(long nowMillis) {
+        long current = state.get();
+        long last = current >>> TOKEN_BITS;
+        long tokens = current & TOKEN_MASK;
+        long elapsed = Math.max(0, sinceOrigin(nowMillis) - last);
+        return Math.min(capacity, tokens + elapsed * capacity / windowMillis);
+    }
+
+    int getCapacity() {
+        return capacity;
+    }
+
+    private long sinceOrigin(long nowMillis) {
+        return Math.max(0, nowMillis - originMillis);
+    }
+
+    private static long pack(long time, long tokens) {
+        return (time << TOKEN_BITS) | tokens;
+    }
+}
@@ -0,0 +1,10 @@
+package com.devwonder.api_gateway.ratelimit;
+
+/**
+ * Tokens handed out by a {@link TokenLeaseStore}.
+ *
+ * @param granted          tokens this node may spend locally
+ * @param retryAfterMillis when nothing was granted, the milliseconds until the shared bucket refills
+ */
+public record TokenLease(int granted, long retryAfterMillis) {
+}
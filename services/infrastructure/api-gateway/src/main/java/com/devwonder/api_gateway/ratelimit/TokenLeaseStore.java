@@ -0,0 +1,11 @@
+package com.devwonder.api_gateway.ratelimit;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Shared token buckets that all gateway nodes lease from.
+ */
+public interface TokenLeaseStore {
+
+    Mono<TokenLease> lease(String key, int capacity, long windowMillis, int requested);
+}
@@ -8,25 +8,22 @@ import reactor.core.publisher.Mono;
 
 public class AllAuthoritiesAuthorizationManager implements ReactiveAuthorizationManager<AuthorizationContext> {
 
-    private final String[] requiredAuthorities;
+    private static final Mono<AuthorizationDecision> GRANTED = Mono.just(new AuthorizationDecision(true));
+    private static final Mono<AuthorizationDecision> DENIED = Mono.just(new AuthorizationDecision(false));
 
-    public AllAuthoritiesAuthorizationManager(String... requiredAuthorities) {
-        this.requiredAuthorities = requiredAuthorities;
+    private final AuthorityIndex authorityIndex;
+    private final long requiredMask;
+
+    public AllAuthoritiesAuthorizationManager(AuthorityIndex authorityIndex, String... requiredAuthorities) {
+        this.authorityIndex = authorityIndex;
+        this.requiredMask = authorityIndex.register(requiredAuthorities);
     }
 
     @Override
     public Mono<AuthorizationDecision> check(Mono<Authentication> authentication, AuthorizationContext context) {
         return authentication
-                .map(auth -> {
-                    boolean hasAll = true;
-                    for (String authority : requiredAuthorities) {
-                        if (auth.getAuthorities().stream().noneMatch(a -> a.getAuthority().equals(authority))) {
-                            hasAll = false;
-                            break;
-                        }
-                    }
-                    return new AuthorizationDecision(hasAll);
-                })
-                .defaultIfEmpty(new AuthorizationDecision(false));
+                .filter(Authentication::isAuthenticated)
+                .flatMap(auth -> (authorityIndex.maskOf(auth) & requiredMask) == requiredMask ? GRANTED : DENIED)
+                .switchIfEmpty(DENIED);
     }
 }
@@ -0,0 +1,29 @@
+package com.devwonder.api_gateway.security;
+
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.ReactiveAuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.server.authorization.AuthorizationContext;
+import reactor.core.publisher.Mono;
+
+public class AnyAuthorityAuthorizationManager implements ReactiveAuthorizationManager<AuthorizationContext> {
+
+    private static final Mono<AuthorizationDecision> GRANTED = Mono.just(new AuthorizationDecision(true));
+    private static final Mono<AuthorizationDecision> DENIED = Mono.just(new AuthorizationDecision(false));
+
+    private final AuthorityIndex authorityIndex;
+    private final long requiredMask;
+
+    public AnyAuthorityAuthorizationManager(AuthorityIndex authorityIndex, String... authorities) {
+        this.authorityIndex = authorityIndex;
+        this.requiredMask = authorityIndex.register(authorities);
+    }
+
+    @Override
+    public Mono<AuthorizationDecision> check(Mono<Authentication> authentication, AuthorizationContext context) {
+        return authentication
+                .filter(Authentication::isAuthenticated)
+                .flatMap(auth -> (authorityIndex.maskOf(auth) & requiredMask) != 0 ? GRANTED : DENIED)
+                .switchIfEmpty(DENIED);
+    }
+}
@@ -0,0 +1,57 @@
+package com.devwonder.api_gateway.security;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Assigns each authority referenced by an authorization rule its own bit, so a set of
+ * authorities becomes a single {@code long} and rule checks become one bitwise AND.
+ * <p>
+ * Authorities are registered while the security rules are built. Authorities a token carries
+ * that no rule mentions are simply ignored - no rule could match them anyway.
+ */
+public class AuthorityIndex {
+
+    private final Map<String, Long> bits = new ConcurrentHashMap<>();
+
+    /**
+     * Interns the given authorities and returns their combined mask.
+     */
+    public synchronized long register(String... authorities) {
+        long mask = 0;
+        for (String authority : authorities) {
+            Long bit = bits.get(authority);
+            if (bit == null) {
+                if (bits.size() == Long.SIZE) {
+                    throw new IllegalStateException("More than " + Long.SIZE + " distinct authorities in security rules");
+                }
+                bit = 1L << bits.size();
+                bits.put(authority, bit);
+            }
+            mask |= bit;
+        }
+        return mask;
+    }
+
+    public long maskOf(Collection<? extends GrantedAuthority> authorities) {
+        long mask = 0;
+        for (GrantedAuthority authority : authorities) {
+            Long bit = bits.get(authority.getAuthority());
+            if (bit != null) {
+                mask |= bit;
+            }
+        }
+        return mask;
+    }
+
+    public long maskOf(Authentication authentication) {
+        if (authentication instanceof CompiledJwtAuthenticationToken compiled) {
+            return compiled.getAuthorityMask();
+        }
+        return maskOf(authentication.getAuthorities());
+    }
+}
@@ -0,0 +1,51 @@
+package com.devwonder.api_gateway.security;
+
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.lang.NonNull;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Turns a verified JWT into a {@link CompiledJwtAuthenticationToken}.
+ * <p>
+ * Authority extraction and mask compilation run once per token; later requests with the same
+ * token reuse the cached result.
+ */
+public class CompiledJwtAuthenticationConverter implements Converter<Jwt, Mono<AbstractAuthenticationToken>> {
+
+    private static final int MAX_CACHED_TOKENS = 10_000;
+
+    private final Converter<Jwt, Collection<GrantedAuthority>> authoritiesConverter;
+    private final AuthorityIndex authorityIndex;
+    private final TokenCache<CompiledAuthorities> cache = new TokenCache<>(MAX_CACHED_TOKENS);
+
+    public CompiledJwtAuthenticationConverter(Converter<Jwt, Collection<GrantedAuthority>> authoritiesConverter,
+                                              AuthorityIndex authorityIndex) {
+        this.authoritiesConverter = authoritiesConverter;
+        this.authorityIndex = authorityIndex;
+    }
+
+    @Override
+    public Mono<AbstractAuthenticationToken> convert(@NonNull Jwt jwt) {
+        CompiledAuthorities compiled = cache.get(jwt, this::compile);
+        return Mono.just(new CompiledJwtAuthenticationToken(jwt, compiled.authorities(), compiled.mask()));
+    }
+
+    public int getCachedTokenCount() {
+        return cache.size();
+    }
+
+    private CompiledAuthorities compile(Jwt jwt) {
+        Collection<GrantedAuthority> converted = authoritiesConverter.convert(jwt);
+        List<GrantedAuthority> authorities = converted != null ? List.copyOf(converted) : List.of();
+        return new CompiledAuthorities(authorities, authorityIndex.maskOf(authorities));
+    }
+
+    private record CompiledAuthorities(List<GrantedAuthority> authorities, long mask) {
+    }
+}
@@ -0,0 +1,24 @@
+package com.devwonder.api_gateway.security;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+import java.util.Collection;
+
+/**
+ * JWT authentication that also carries its authorities as an {@link AuthorityIndex} mask.
+ */
+@Getter
+@EqualsAndHashCode(callSuper = true)
+public class CompiledJwtAuthenticationToken extends JwtAuthenticationToken {
+
+    private final long authorityMask;
+
+    public CompiledJwtAuthenticationToken(Jwt jwt, Collection<? extends GrantedAuthority> authorities, long authorityMask) {
+        super(jwt, authorities);
+        this.authorityMask = authorityMask;
+    }
+}
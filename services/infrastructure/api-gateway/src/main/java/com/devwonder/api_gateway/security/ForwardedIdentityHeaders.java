@@ -0,0 +1,122 @@
+package com.devwonder.api_gateway.security;
+
+import com.devwonder.api_gateway.constants.ForwardedHeaderConstants;
+import com.devwonder.common.security.PermissionCodes;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Identity headers forwarded to downstream services, built once per token.
+ * <p>
+ * By default the verbose X-JWT-* / X-User-* headers are sent. With
+ * {@code gateway.identity.compact-header.enabled} a single {@code X-Nexhub-Identity} header is
+ * sent instead: a base64url JSON payload and its HMAC-SHA256 signature, separated by a dot.
+ * Tokens with a compact {@link PermissionCodes} set have it forwarded as-is in either form;
+ * services decode it with the same registry.
+ */
+@Component
+@RequiredArgsConstructor
+public class ForwardedIdentityHeaders {
+
+    private static final int MAX_CACHED_TOKENS = 10_000;
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final Base64.Encoder BASE64_URL = Base64.getUrlEncoder().withoutPadding();
+
+    private final ObjectMapper objectMapper;
+    private final TokenCache<Map<String, String>> cache = new TokenCache<>(MAX_CACHED_TOKENS);
+
+    @Value("${gateway.identity.compact-header.enabled:false}")
+    private boolean compact;
+
+    @Value("${gateway.identity.compact-header.signing-secret:}")
+    private String signingSecret;
+
+    @PostConstruct
+    void validate() {
+        if (compact && !StringUtils.hasText(signingSecret)) {
+            throw new IllegalStateException(
+                    "gateway.identity.compact-header.signing-secret must be set when compact identity headers are enabled");
+        }
+    }
+
+    public Map<String, String> forToken(JwtAuthenticationToken authentication) {
+        return cache.get(authentication.getToken(), jwt -> compact
+                ? compactHeaders(jwt)
+                : verboseHeaders(jwt, authentication.getAuthorities()));
+    }
+
+    private Map<String, String> verboseHeaders(Jwt jwt, Collection<GrantedAuthority> authorities) {
+        Map<String, String> headers = new LinkedHashMap<>();
+        putIfPresent(headers, ForwardedHeaderConstants.JWT_SUBJECT, jwt.getSubject());
+        putIfPresent(headers, ForwardedHeaderConstants.JWT_USERNAME, jwt.getClaimAsString("username"));
+        putIfPresent(headers, ForwardedHeaderConstants.JWT_ACCOUNT_ID, jwt.getClaimAsString("accountId"));
+        headers.put(ForwardedHeaderConstants.JWT_AUTHORITIES, authorities.stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.joining(",")));
+        putIfPresent(headers, ForwardedHeaderConstants.USER_ROLES, claimAsCsv(jwt, "roles"));
+        putIfPresent(headers, ForwardedHeaderConstants.USER_PERMISSIONS, jwt.hasClaim(PermissionCodes.CLAIM)
+                ? jwt.getClaimAsString(PermissionCodes.CLAIM)
+                : claimAsCsv(jwt, "permissions"));
+        return Collections.unmodifiableMap(headers);
+    }
+
+    private Map<String, String> compactHeaders(Jwt jwt) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("sub", jwt.getSubject());
+        payload.put("aid", jwt.getClaim("accountId"));
+        payload.put("usr", jwt.getClaimAsString("username"));
+        payload.put("rol", jwt.getClaim("roles"));
+        payload.put("prm", jwt.hasClaim(PermissionCodes.CLAIM)
+                ? jwt.getClaimAsString(PermissionCodes.CLAIM)
+                : jwt.getClaim("permissions"));
+        Instant expiresAt = jwt.getExpiresAt();
+        if (expiresAt != null) {
+            payload.put("exp", expiresAt.getEpochSecond());
+        }
+
+        try {
+            String encodedPayload = BASE64_URL.encodeToString(objectMapper.writeValueAsBytes(payload));
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(new SecretKeySpec(signingSecret.getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM));
+            String signature = BASE64_URL.encodeToString(mac.doFinal(encodedPayload.getBytes(StandardCharsets.US_ASCII)));
+            return Map.of(ForwardedHeaderConstants.IDENTITY, encodedPayload + "." + signature);
+        } catch (JsonProcessingException | GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to build compact identity header", e);
+        }
+    }
+
+    private static String claimAsCsv(Jwt jwt, String claim) {
+        Object value = jwt.getClaim(claim);
+        if (value instanceof List<?> list) {
+            return list.stream().map(String::valueOf).collect(Collectors.joining(","));
+        }
+        return value != null ? value.toString() : null;
+    }
+
+    private static void putIfPresent(Map<String, String> headers, String name, String value) {
+        if (value != null) {
+            headers.put(name, value);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.devwonder.api_gateway.security;
+
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Bounded cache of values derived from a verified JWT, keyed by the raw token.
+ * <p>
+ * When full, an expired entry from a small sample is evicted, or else the one expiring soonest.
+ */
+public class TokenCache<V> {
+
+    private static final int EVICTION_SAMPLE_SIZE = 8;
+
+    private final int maxEntries;
+    private final Map<String, Entry<V>> entries = new ConcurrentHashMap<>();
+
+    public TokenCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    public V get(Jwt jwt, Function<Jwt, V> loader) {
+        Entry<V> entry = entries.get(jwt.getTokenValue());
+        if (entry != null) {
+            return entry.value();
+        }
+        V value = loader.apply(jwt);
+        if (entries.size() >= maxEntries) {
+            evictOne();
+        }
+        Instant expiresAt = jwt.getExpiresAt();
+        entries.put(jwt.getTokenValue(), new Entry<>(value, expiresAt != null ? expiresAt.toEpochMilli() : Long.MAX_VALUE));
+        return value;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void evictOne() {
+        long now = System.currentTimeMillis();
+        String victim = null;
+        long victimExpiry = Long.MAX_VALUE;
+        Iterator<Map.Entry<String, Entry<V>>> it = entries.entrySet().iterator();
+        for (int i = 0; i < EVICTION_SAMPLE_SIZE && it.hasNext(); i++) {
+            Map.Entry<String, Entry<V>> candidate = it.next();
+            long expiry = candidate.getValue().expiresAtMillis();
+            if (expiry <= now) {
+                victim = candidate.getKey();
+                break;
+            }
+            if (victim == null || expiry < victimExpiry) {
+                victim = candidate.getKey();
+                victimExpiry = expiry;
+            }
+        }
+        if (victim != null) {
+            entries.remove(victim);
+        }
+    }
+
+    private record Entry<V>(V value, long expiresAtMillis) {
+    }
+}
@@ -1,5 +1,6 @@
 package com.devwonder.api_gateway.util;
 
+import com.devwonder.api_gateway.constants.ForwardedHeaderConstants;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 import org.springframework.http.server.reactive.ServerHttpRequest;
@@ -22,4 +23,23 @@ public final class RequestUtil {
         return remoteAddress != null ?
             remoteAddress.getAddress().getHostAddress() : "unknown";
     }
+
+    /**
+     * The address of the client's own connection, which the client cannot spoof. Batch
+     * sub-requests are replayed over loopback and carry their caller's address in
+     * {@link ForwardedHeaderConstants#CLIENT_IP}; that header is trusted from loopback only.
+     */
+    public static String getConnectionClientIp(ServerHttpRequest request) {
+        var remoteAddress = request.getRemoteAddress();
+        if (remoteAddress == null || remoteAddress.getAddress() == null) {
+            return "unknown";
+        }
+        if (remoteAddress.getAddress().isLoopbackAddress()) {
+            String forwarded = request.getHeaders().getFirst(ForwardedHeaderConstants.CLIENT_IP);
+            if (forwarded != null && !forwarded.isBlank()) {
+                return forwarded.trim();
+            }
+        }
+        return remoteAddress.getAddress().getHostAddress();
+    }
 }
\ No newline at end of file
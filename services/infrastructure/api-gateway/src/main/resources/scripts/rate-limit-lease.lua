@@ -0,0 +1,40 @@
+-- Leases up to ARGV[4] tokens from a shared token bucket.
+-- KEYS[1]: bucket key
+-- ARGV[1]: capacity (requests per window)
+-- ARGV[2]: window in milliseconds
+-- ARGV[3]: caller clock in milliseconds
+-- ARGV[4]: tokens requested
+-- Returns {granted, millis until the next token when nothing was granted}
+
+local key = KEYS[1]
+local capacity = tonumber(ARGV[1])
+local window = tonumber(ARGV[2])
+local now = tonumber(ARGV[3])
+local requested = tonumber(ARGV[4])
+
+local state = redis.call('HMGET', key, 'tokens', 'ts')
+local tokens = tonumber(state[1])
+local ts = tonumber(state[2])
+if tokens == nil or ts == nil then
+  tokens = capacity
+  ts = now
+end
+
+-- Gateway clocks are not perfectly in sync; never let the bucket clock move backwards
+if now > ts then
+  tokens = math.min(capacity, tokens + (now - ts) * capacity / window)
+  ts = now
+end
+
+local granted = math.min(requested, math.floor(tokens))
+tokens = tokens - granted
+
+local wait = 0
+if granted == 0 then
+  wait = math.ceil((1 - tokens) * window / capacity)
+end
+
+redis.call('HSET', key, 'tokens', tostring(tokens), 'ts', tostring(ts))
+redis.call('PEXPIRE', key, window)
+
+return {granted, wait}
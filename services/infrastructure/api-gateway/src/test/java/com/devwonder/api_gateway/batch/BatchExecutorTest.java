@@ -0,0 +1,30 @@
+package com.devwonder.api_gateway.batch;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class BatchExecutorTest {
+
+    @Test
+    void validate_WithGatewayApiCall_ShouldAccept() {
+        assertNull(BatchExecutor.validate(new BatchSubRequest("products", "GET", "/api/product/products?page=0", null, null)));
+        assertNull(BatchExecutor.validate(new BatchSubRequest("comment", "post", "/api/blog/comments", null, null)));
+    }
+
+    @Test
+    void validate_WithPathOutsideTheApi_ShouldReject() {
+        assertNotNull(BatchExecutor.validate(new BatchSubRequest("1", "GET", "/actuator/prometheus", null, null)));
+        assertNotNull(BatchExecutor.validate(new BatchSubRequest("2", "GET", "http://evil.example/api/x", null, null)));
+        assertNotNull(BatchExecutor.validate(new BatchSubRequest("3", "GET", null, null, null)));
+    }
+
+    @Test
+    void validate_WithNestedBatchOrUnsupportedMethod_ShouldReject() {
+        assertNotNull(BatchExecutor.validate(new BatchSubRequest("1", "POST", "/api/batch", null, null)));
+        assertNotNull(BatchExecutor.validate(new BatchSubRequest("2", "POST", "/api/batch?x=1", null, null)));
+        assertNotNull(BatchExecutor.validate(new BatchSubRequest("3", "TRACE", "/api/product/products", null, null)));
+        assertNotNull(BatchExecutor.validate(new BatchSubRequest("4", null, "/api/product/products", null, null)));
+    }
+}
@@ -0,0 +1,139 @@
+package com.devwonder.api_gateway.compression;
+
+import com.devwonder.api_gateway.metrics.GatewayMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Random;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ResponseCompressorTest {
+
+    @Test
+    void negotiate_WithAcceptEncoding_ShouldPickHighestQualityEncoding() {
+        ResponseCompressor compressor = compressor();
+
+        assertEquals(ContentEncoding.GZIP, compressor.negotiate(acceptEncoding("gzip, deflate, br")));
+        assertEquals(ContentEncoding.GZIP, compressor.negotiate(acceptEncoding("*")));
+        assertNull(compressor.negotiate(acceptEncoding("gzip;q=0, deflate")));
+        assertNull(compressor.negotiate(acceptEncoding("identity")));
+        assertNull(compressor.negotiate(new HttpHeaders()));
+    }
+
+    @Test
+    void quality_WithQualityValues_ShouldParseThem() {
+        assertEquals(0.5, ResponseCompressor.quality(List.of("br;q=0.5, gzip"), "br"));
+        assertEquals(1.0, ResponseCompressor.quality(List.of("br;q=0.5, gzip"), "gzip"));
+        assertEquals(0.2, ResponseCompressor.quality(List.of("gzip", "*;q=0.2"), "br"));
+        assertEquals(0.0, ResponseCompressor.quality(List.of("br;q=oops"), "br"));
+    }
+
+    @Test
+    void isCompressible_WithTypeAndLength_ShouldAllowOnlyConfiguredTypesAboveThreshold() {
+        ResponseCompressor compressor = compressor();
+        HttpHeaders json = new HttpHeaders();
+        json.setContentType(MediaType.APPLICATION_JSON);
+        HttpHeaders image = new HttpHeaders();
+        image.setContentType(MediaType.IMAGE_PNG);
+        HttpHeaders alreadyEncoded = new HttpHeaders();
+        alreadyEncoded.setContentType(MediaType.APPLICATION_JSON);
+        alreadyEncoded.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+
+        assertTrue(compressor.isCompressible(json, 4096));
+        assertTrue(compressor.isCompressible(json, -1));
+        assertFalse(compressor.isCompressible(json, 100));
+        assertFalse(compressor.isCompressible(image, 4096));
+        assertFalse(compressor.isCompressible(alreadyEncoded, 4096));
+    }
+
+    @Test
+    void compress_WithGzip_ShouldRoundTrip() throws IOException {
+        byte[] page = productPage(20, new Random(1));
+
+        byte[] compressed = compressor().compress(page, ContentEncoding.GZIP);
+
+        assertTrue(compressed.length < page.length / 3, compressed.length + " of " + page.length);
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            assertArrayEquals(page, in.readAllBytes());
+        }
+    }
+
+    @Test
+    void etag_WithEncoding_ShouldBeEncodingSpecific() {
+        assertEquals("\"abc-gzip\"", ContentEncoding.GZIP.etag("\"abc\""));
+        assertEquals("\"abc-br\"", ContentEncoding.BROTLI.etag("\"abc\""));
+        assertEquals("W/\"abc\"", ContentEncoding.GZIP.etag("W/\"abc\""));
+    }
+
+    private static ResponseCompressor compressor() {
+        @SuppressWarnings("unchecked")
+        ObjectProvider<MeterRegistry> registryProvider = mock(ObjectProvider.class);
+        when(registryProvider.getIfAvailable(any())).thenReturn(new SimpleMeterRegistry());
+        ResponseCompressor compressor = new ResponseCompressor(new GatewayMetrics(registryProvider));
+        ReflectionTestUtils.setField(compressor, "enabled", true);
+        ReflectionTestUtils.setField(compressor, "minResponseBytes", 1024);
+        ReflectionTestUtils.setField(compressor, "mimeTypes", List.of(MediaType.APPLICATION_JSON, MediaType.parseMediaType("text/*")));
+        ReflectionTestUtils.setField(compressor, "gzipLevel", 6);
+        ReflectionTestUtils.setField(compressor, "brotliEnabled", false);
+        ReflectionTestUtils.setField(compressor, "brotliQuality", 5);
+        compressor.start();
+        return compressor;
+    }
+
+    private static HttpHeaders acceptEncoding(String value) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.ACCEPT_ENCODING, value);
+        return headers;
+    }
+
+    /**
+     * A {@code BaseResponse<Page<ProductResponse>>} body shaped like the product service's.
+     */
+    private static byte[] productPage(int size, Random random) {
+        String[] categories = {"Smartphones", "Laptops", "Audio", "Wearables", "Accessories"};
+        StringBuilder json = new StringBuilder("{\"success\":true,\"message\":\"Products retrieved successfully\",\"data\":{\"content\":[");
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            int id = 1000 + random.nextInt(9000);
+            json.append("{\"id\":").append(id)
+                    .append(",\"name\":\"NexHub Product ").append(id).append('"')
+                    .append(",\"subtitle\":\"Reliable everyday device with ").append(random.nextInt(48) + 12).append(" months warranty\"")
+                    .append(",\"description\":\"").append("Designed for daily use with a durable aluminium body, fast charging and a bright display. ".repeat(3)).append('"')
+                    .append(",\"categoryName\":\"").append(categories[random.nextInt(categories.length)]).append('"')
+                    .append(",\"availabilityStatus\":\"AVAILABLE\",\"estimatedDelivery\":\"2-3 business days\"")
+                    .append(",\"warrantyPeriod\":").append(12 * (1 + random.nextInt(3)))
+                    .append(",\"highlights\":\"[\\\"Fast charging\\\",\\\"Water resistant\\\",\\\"").append(random.nextInt(20) + 5).append("h battery\\\"]\"")
+                    .append(",\"targetAudience\":\"Students and professionals\"")
+                    .append(",\"popularity\":").append(random.nextInt(1000))
+                    .append(",\"rating\":").append(3 + random.nextInt(20) / 10.0)
+                    .append(",\"reviewCount\":").append(random.nextInt(500))
+                    .append(",\"sku\":\"NH-").append(Integer.toHexString(random.nextInt()).toUpperCase()).append('"')
+                    .append(",\"publishedAt\":\"2025-0").append(1 + random.nextInt(9)).append("-1").append(random.nextInt(10)).append("T10:00:00\"")
+                    .append(",\"createdAt\":\"2025-01-0").append(1 + random.nextInt(9)).append("T08:30:00\"}");
+        }
+        json.append("],\"pageable\":{\"pageNumber\":0,\"pageSize\":").append(size)
+                .append("},\"totalElements\":240,\"totalPages\":").append(240 / size)
+                .append(",\"first\":true,\"last\":false},\"timestamp\":\"2025-09-01T12:00:00\"}");
+        return json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
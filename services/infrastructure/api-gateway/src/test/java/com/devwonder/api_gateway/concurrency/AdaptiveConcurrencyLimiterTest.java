@@ -0,0 +1,77 @@
+package com.devwonder.api_gateway.concurrency;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long MILLIS = 1_000_000;
+
+    @Test
+    void tryAcquire_AboveLimit_ShouldShedRequests() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 10);
+
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+
+        limiter.onIgnored();
+        assertTrue(limiter.tryAcquire());
+    }
+
+    @Test
+    void onSuccess_WithStableThenRisingLatency_ShouldGrowThenShrinkLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 2, 100);
+
+        for (int i = 0; i < 200; i++) {
+            saturateAndComplete(limiter, 10 * MILLIS);
+        }
+        int grown = limiter.getLimit();
+        assertTrue(grown > 10, "limit " + grown);
+
+        for (int i = 0; i < 200; i++) {
+            saturateAndComplete(limiter, 200 * MILLIS);
+        }
+        assertTrue(limiter.getLimit() < grown, "limit " + limiter.getLimit());
+    }
+
+    @Test
+    void onSuccess_WhenLatencyReturnsToBaseline_ShouldGrowLimitAgain() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 2, 100);
+        for (int i = 0; i < 200; i++) {
+            saturateAndComplete(limiter, 10 * MILLIS);
+        }
+        for (int i = 0; i < 50; i++) {
+            saturateAndComplete(limiter, 200 * MILLIS);
+        }
+        int shrunk = limiter.getLimit();
+
+        for (int i = 0; i < 100; i++) {
+            saturateAndComplete(limiter, 10 * MILLIS);
+        }
+        assertTrue(limiter.getLimit() > shrunk, "limit " + limiter.getLimit());
+    }
+
+    @Test
+    void onDropped_Repeatedly_ShouldBackOffToMinLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(20, 5, 100);
+        for (int i = 0; i < 50; i++) {
+            assertTrue(limiter.tryAcquire());
+            limiter.onDropped();
+        }
+        assertEquals(5, limiter.getLimit());
+    }
+
+    private static void saturateAndComplete(AdaptiveConcurrencyLimiter limiter, long rttNanos) {
+        int acquired = 0;
+        while (limiter.tryAcquire()) {
+            acquired++;
+        }
+        for (int i = 0; i < acquired; i++) {
+            limiter.onSuccess(rttNanos);
+        }
+    }
+}
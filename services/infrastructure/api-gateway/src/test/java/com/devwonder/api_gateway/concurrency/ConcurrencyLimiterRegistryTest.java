@@ -0,0 +1,72 @@
+package com.devwonder.api_gateway.concurrency;
+
+import com.devwonder.api_gateway.metrics.GatewayMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.gateway.config.GatewayProperties;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.route.RouteDefinition;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ConcurrencyLimiterRegistryTest {
+
+    @Test
+    void forTarget_WithSharedTarget_ShouldUseSmallestBulkheadOfItsRoutes() {
+        ConcurrencyLimiterRegistry registry = registry(
+                route("warranty-api-docs", "lb://warranty-service", Map.of()),
+                route("warranty-service", "lb://warranty-service", Map.of(ConcurrencyLimiterRegistry.MAX_CONCURRENCY_METADATA_KEY, "50")));
+
+        // The docs route has no max-concurrency; hitting it first must not size the bulkhead
+        String target = registry.targetOf(Route.async()
+                .id("warranty-api-docs")
+                .uri("lb://warranty-service")
+                .predicate(exchange -> true)
+                .build());
+
+        assertEquals(50, maxLimitOf(registry.forTarget(target)));
+    }
+
+    @Test
+    void forTarget_WithoutMetadata_ShouldUseDefaultBulkhead() {
+        ConcurrencyLimiterRegistry registry = registry(
+                route("product-service", "lb://product-service", Map.of()));
+
+        assertEquals(200, maxLimitOf(registry.forTarget("product-service")));
+    }
+
+    private static int maxLimitOf(AdaptiveConcurrencyLimiter limiter) {
+        return (int) ReflectionTestUtils.getField(limiter, "maxLimit");
+    }
+
+    private static RouteDefinition route(String id, String uri, Map<String, Object> metadata) {
+        RouteDefinition definition = new RouteDefinition();
+        definition.setId(id);
+        definition.setUri(URI.create(uri));
+        definition.setMetadata(metadata);
+        return definition;
+    }
+
+    private static ConcurrencyLimiterRegistry registry(RouteDefinition... routes) {
+        @SuppressWarnings("unchecked")
+        ObjectProvider<MeterRegistry> registryProvider = mock(ObjectProvider.class);
+        when(registryProvider.getIfAvailable(any())).thenReturn(new SimpleMeterRegistry());
+        GatewayProperties properties = new GatewayProperties();
+        properties.setRoutes(List.of(routes));
+        ConcurrencyLimiterRegistry registry = new ConcurrencyLimiterRegistry(new GatewayMetrics(registryProvider), properties);
+        ReflectionTestUtils.setField(registry, "initialLimit", 20);
+        ReflectionTestUtils.setField(registry, "minLimit", 5);
+        ReflectionTestUtils.setField(registry, "maxLimit", 200);
+        return registry;
+    }
+}
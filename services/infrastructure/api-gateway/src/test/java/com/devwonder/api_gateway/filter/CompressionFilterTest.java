@@ -0,0 +1,163 @@
+package com.devwonder.api_gateway.filter;
+
+import com.devwonder.api_gateway.compression.ResponseCompressor;
+import com.devwonder.api_gateway.metrics.GatewayMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CompressionFilterTest {
+
+    private static final MediaType JAVASCRIPT = MediaType.parseMediaType("application/javascript");
+    private static final String FRAME = "a[\"" + "x".repeat(2048) + "\"]\n";
+
+    @Test
+    void filter_WithBufferedResponse_ShouldCompress() {
+        CompressionFilter filter = new CompressionFilter(compressor());
+        MockServerWebExchange exchange = exchange(false);
+        byte[] body = FRAME.repeat(4).getBytes(StandardCharsets.UTF_8);
+
+        filter.filter(exchange, chain -> {
+            ServerHttpResponse response = chain.getResponse();
+            response.setStatusCode(HttpStatus.OK);
+            response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            response.getHeaders().setContentLength(body.length);
+            return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+        }).block();
+
+        HttpHeaders headers = exchange.getResponse().getHeaders();
+        assertEquals("gzip", headers.getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(List.of(HttpHeaders.ACCEPT_ENCODING), headers.getVary());
+    }
+
+    @Test
+    void filter_WithChunkedResponse_ShouldCompress() {
+        CompressionFilter filter = new CompressionFilter(compressor());
+        MockServerWebExchange exchange = exchange(false);
+
+        // A servlet backend sends bodies larger than its buffer chunked, without Content-Length
+        filter.filter(exchange, chain -> {
+            ServerHttpResponse response = chain.getResponse();
+            response.setStatusCode(HttpStatus.OK);
+            response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            return response.writeWith(Flux.just(FRAME, FRAME, FRAME, FRAME)
+                    .map(frame -> response.bufferFactory().wrap(frame.getBytes(StandardCharsets.UTF_8))));
+        }).block();
+
+        HttpHeaders headers = exchange.getResponse().getHeaders();
+        assertEquals("gzip", headers.getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertTrue(headers.getContentLength() < FRAME.length() * 4L);
+    }
+
+    @Test
+    void filter_WithEventStream_ShouldStreamUncompressed() {
+        CompressionFilter filter = new CompressionFilter(compressor());
+        MockServerWebExchange exchange = exchange(false);
+        Sinks.Many<String> frames = Sinks.many().unicast().onBackpressureBuffer();
+        List<String> written = new CopyOnWriteArrayList<>();
+        exchange.getResponse().setWriteHandler(body -> body.map(CompressionFilterTest::text)
+                .doOnNext(written::add)
+                .then());
+
+        // The first frame must reach the client while the backend is still streaming
+        filter.filter(exchange, chain -> {
+            ServerHttpResponse response = chain.getResponse();
+            response.setStatusCode(HttpStatus.OK);
+            response.getHeaders().setContentType(MediaType.TEXT_EVENT_STREAM);
+            return response.writeWith(frames.asFlux()
+                    .map(frame -> response.bufferFactory().wrap(frame.getBytes(StandardCharsets.UTF_8))));
+        }).subscribe();
+
+        frames.tryEmitNext(FRAME);
+        assertEquals(List.of(FRAME), written);
+        frames.tryEmitNext(FRAME);
+        frames.tryEmitComplete();
+
+        assertEquals(List.of(FRAME, FRAME), written);
+        assertNull(exchange.getResponse().getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+    }
+
+    @Test
+    void filter_WithStickySessionRoute_ShouldNotCompress() {
+        CompressionFilter filter = new CompressionFilter(compressor());
+        MockServerWebExchange exchange = exchange(true);
+        byte[] body = FRAME.repeat(4).getBytes(StandardCharsets.UTF_8);
+
+        filter.filter(exchange, chain -> {
+            ServerHttpResponse response = chain.getResponse();
+            response.setStatusCode(HttpStatus.OK);
+            response.getHeaders().setContentType(MediaType.TEXT_HTML);
+            response.getHeaders().setContentLength(body.length);
+            return response.writeWith(Flux.just(FRAME, FRAME, FRAME, FRAME)
+                    .delayElements(Duration.ofMillis(1))
+                    .map(frame -> response.bufferFactory().wrap(frame.getBytes(StandardCharsets.UTF_8))));
+        }).block();
+
+        HttpHeaders headers = exchange.getResponse().getHeaders();
+        assertNull(headers.getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertFalse(headers.getVary().contains(HttpHeaders.ACCEPT_ENCODING));
+        assertEquals(FRAME.repeat(4), exchange.getResponse().getBodyAsString().block());
+    }
+
+    private static String text(DataBuffer buffer) {
+        return buffer.toString(StandardCharsets.UTF_8);
+    }
+
+    private static MockServerWebExchange exchange(boolean sticky) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest
+                .get("/ws/notifications/123/abc/xhr_streaming")
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip"));
+        Route.AsyncBuilder route = Route.async()
+                .id("notification-service")
+                .uri("lb://notification-service")
+                .predicate(e -> true);
+        if (sticky) {
+            route.metadata(StickySessionFilter.STICKY_METADATA_KEY, true);
+        }
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, route.build());
+        return exchange;
+    }
+
+    private static ResponseCompressor compressor() {
+        @SuppressWarnings("unchecked")
+        ObjectProvider<MeterRegistry> registryProvider = mock(ObjectProvider.class);
+        when(registryProvider.getIfAvailable(any())).thenReturn(new SimpleMeterRegistry());
+        ResponseCompressor compressor = new ResponseCompressor(new GatewayMetrics(registryProvider));
+        ReflectionTestUtils.setField(compressor, "enabled", true);
+        ReflectionTestUtils.setField(compressor, "minResponseBytes", 1024);
+        ReflectionTestUtils.setField(compressor, "mimeTypes",
+                List.of(MediaType.APPLICATION_JSON, JAVASCRIPT, MediaType.TEXT_HTML, MediaType.parseMediaType("text/*")));
+        ReflectionTestUtils.setField(compressor, "gzipLevel", 6);
+        ReflectionTestUtils.setField(compressor, "brotliEnabled", false);
+        ReflectionTestUtils.setField(compressor, "brotliQuality", 5);
+        ReflectionTestUtils.invokeMethod(compressor, "start");
+        return compressor;
+    }
+}
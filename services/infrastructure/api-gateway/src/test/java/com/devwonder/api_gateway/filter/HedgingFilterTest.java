@@ -0,0 +1,43 @@
+package com.devwonder.api_gateway.filter;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.RouteMetadataUtils;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class HedgingFilterTest {
+
+    private static final Duration GLOBAL = Duration.ofSeconds(30);
+
+    @Test
+    void responseTimeout_WithRouteMetadata_ShouldOverrideGlobalTimeout() {
+        assertEquals(Duration.ofMillis(2000), HedgingFilter.responseTimeout(route(2000), GLOBAL));
+        assertEquals(Duration.ofMillis(1500), HedgingFilter.responseTimeout(route("1500"), GLOBAL));
+    }
+
+    @Test
+    void responseTimeout_WithNegativeMetadata_ShouldDisableTimeout() {
+        assertNull(HedgingFilter.responseTimeout(route(-1), GLOBAL));
+    }
+
+    @Test
+    void responseTimeout_WithoutValidMetadata_ShouldUseGlobalTimeout() {
+        assertEquals(GLOBAL, HedgingFilter.responseTimeout(route(null), GLOBAL));
+        assertEquals(GLOBAL, HedgingFilter.responseTimeout(route("soon"), GLOBAL));
+    }
+
+    private static Route route(Object responseTimeout) {
+        Route.AsyncBuilder route = Route.async()
+                .id("product-service")
+                .uri("lb://product-service")
+                .predicate(e -> true);
+        if (responseTimeout != null) {
+            route.metadata(RouteMetadataUtils.RESPONSE_TIMEOUT_ATTR, responseTimeout);
+        }
+        return route.build();
+    }
+}
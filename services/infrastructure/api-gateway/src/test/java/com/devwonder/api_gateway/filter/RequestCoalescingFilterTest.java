@@ -0,0 +1,118 @@
+package com.devwonder.api_gateway.filter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+
+class RequestCoalescingFilterTest {
+
+    private static final String BODY = "{\"success\":true}";
+
+    @Test
+    void filter_WithFollowerFromOtherOrigin_ShouldKeepItsOwnCorsHeaders() {
+        RequestCoalescingFilter filter = filter();
+        Sinks.Empty<Void> upstream = Sinks.empty();
+        AtomicInteger upstreamCalls = new AtomicInteger();
+        GatewayFilterChain chain = exchange -> {
+            upstreamCalls.incrementAndGet();
+            return upstream.asMono().then(Mono.defer(() -> writeBackendResponse(exchange.getResponse())));
+        };
+
+        MockServerWebExchange leader = exchange("https://shop.example.com");
+        MockServerWebExchange follower = exchange("https://admin.example.com");
+        Mono<Void> leaderDone = filter.filter(leader, chain).cache();
+        leaderDone.subscribe();
+        Mono<Void> followerDone = filter.filter(follower, chain).cache();
+        followerDone.subscribe();
+        upstream.tryEmitEmpty();
+        leaderDone.block();
+        followerDone.block();
+
+        HttpHeaders headers = follower.getResponse().getHeaders();
+        assertEquals(1, upstreamCalls.get());
+        assertEquals(BODY, follower.getResponse().getBodyAsString().block());
+        assertEquals("https://admin.example.com", headers.getAccessControlAllowOrigin());
+        assertEquals(List.of("Origin", "Accept-Encoding"), headers.getVary());
+        assertEquals("https://shop.example.com", leader.getResponse().getHeaders().getAccessControlAllowOrigin());
+    }
+
+    @Test
+    void filter_WhenLeaderCannotShare_ShouldSendFollowerUpstream() {
+        RequestCoalescingFilter filter = filter();
+        Sinks.Empty<Void> upstream = Sinks.empty();
+        AtomicInteger upstreamCalls = new AtomicInteger();
+        GatewayFilterChain chain = exchange -> {
+            upstreamCalls.incrementAndGet();
+            return upstream.asMono();
+        };
+
+        Mono<Void> leaderDone = filter.filter(exchange("https://shop.example.com"), chain).cache();
+        leaderDone.subscribe();
+        Mono<Void> followerDone = filter.filter(exchange("https://shop.example.com"), chain).cache();
+        followerDone.subscribe();
+        upstream.tryEmitEmpty();
+        leaderDone.block();
+        followerDone.block();
+
+        assertEquals(2, upstreamCalls.get());
+    }
+
+    /**
+     * Backend response as it leaves the gateway: CORS headers for the leader's origin and the
+     * backend's Vary.
+     */
+    private static Mono<Void> writeBackendResponse(ServerHttpResponse response) {
+        byte[] body = BODY.getBytes(StandardCharsets.UTF_8);
+        response.setStatusCode(HttpStatus.OK);
+        HttpHeaders headers = response.getHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setContentLength(body.length);
+        headers.setVary(List.of("Accept-Encoding"));
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+    }
+
+    /**
+     * A request after the CORS filter ran: the allowed origin and Vary are already set.
+     */
+    private static MockServerWebExchange exchange(String origin) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+                MockServerHttpRequest.get("/api/product/products").header(HttpHeaders.ORIGIN, origin));
+        exchange.getResponse().getHeaders().setAccessControlAllowOrigin(origin);
+        exchange.getResponse().getHeaders().setVary(List.of("Origin"));
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, Route.async()
+                .id("product-service")
+                .uri("lb://product-service")
+                .predicate(e -> true)
+                .metadata(RequestCoalescingFilter.COALESCE_METADATA_KEY, true)
+                .build());
+        return exchange;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static RequestCoalescingFilter filter() {
+        RequestCoalescingFilter filter = new RequestCoalescingFilter(mock(ObjectProvider.class));
+        ReflectionTestUtils.setField(filter, "enabled", true);
+        ReflectionTestUtils.setField(filter, "varyHeaders", List.of("Accept", "Accept-Encoding"));
+        ReflectionTestUtils.setField(filter, "maxBodyBytes", 1_048_576);
+        return filter;
+    }
+}
@@ -0,0 +1,241 @@
+package com.devwonder.api_gateway.filter;
+
+import com.devwonder.api_gateway.cache.ResponseCache;
+import com.devwonder.api_gateway.compression.ResponseCompressor;
+import com.devwonder.api_gateway.metrics.GatewayMetrics;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ResponseCacheFilterTest {
+
+    // What Spring Security's default header writers put on every servlet backend response
+    private static final String SECURITY_DEFAULT_CACHE_CONTROL = "no-cache, no-store, max-age=0, must-revalidate";
+    private static final String BODY = "{\"success\":true,\"data\":{\"content\":[{\"id\":1,\"name\":\"Phone\"}]}}";
+
+    @Test
+    void effectiveTtlSeconds_WithBackendCacheControl_ShouldOverrideRouteTtl() {
+        assertEquals(60, ResponseCacheFilter.effectiveTtlSeconds(null, 60));
+        assertEquals(15, ResponseCacheFilter.effectiveTtlSeconds("public, max-age=15", 60));
+        assertEquals(30, ResponseCacheFilter.effectiveTtlSeconds("s-maxage=30, max-age=5", 60));
+        assertEquals(0, ResponseCacheFilter.effectiveTtlSeconds("no-store", 60));
+        assertEquals(0, ResponseCacheFilter.effectiveTtlSeconds("private, max-age=600", 60));
+    }
+
+    @Test
+    void matchesIfNoneMatch_WithEntityTags_ShouldCompareThem() {
+        String etag = "\"abc\"";
+        assertTrue(ResponseCacheFilter.matchesIfNoneMatch(
+                MockServerHttpRequest.get("/api/product").header("If-None-Match", "\"xyz\", \"abc\"").build(), etag));
+        assertTrue(ResponseCacheFilter.matchesIfNoneMatch(
+                MockServerHttpRequest.get("/api/product").header("If-None-Match", "*").build(), etag));
+        assertFalse(ResponseCacheFilter.matchesIfNoneMatch(
+                MockServerHttpRequest.get("/api/product").header("If-None-Match", "\"xyz\"").build(), etag));
+        assertFalse(ResponseCacheFilter.matchesIfNoneMatch(MockServerHttpRequest.get("/api/product").build(), etag));
+    }
+
+    @Test
+    void isKeyIndependent_WithVaryOnOtherRequestHeaders_ShouldReturnFalse() {
+        assertTrue(ResponseCacheFilter.isKeyIndependent(List.of()));
+        assertTrue(ResponseCacheFilter.isKeyIndependent(List.of("Origin", "Access-Control-Request-Method",
+                "Access-Control-Request-Headers", "accept-encoding")));
+        assertFalse(ResponseCacheFilter.isKeyIndependent(List.of("Origin", "Accept-Language")));
+        assertFalse(ResponseCacheFilter.isKeyIndependent(List.of("*")));
+    }
+
+    @Test
+    void filter_WithSecurityDefaultHeaders_ShouldNotStore() {
+        ResponseCache cache = responseCache();
+        ResponseCacheFilter filter = filter(cache);
+        AtomicInteger backendCalls = new AtomicInteger();
+        GatewayFilterChain backend = backend(SECURITY_DEFAULT_CACHE_CONTROL, backendCalls);
+
+        MockServerWebExchange first = exchange();
+        filter.filter(first, backend).block();
+        MockServerWebExchange second = exchange();
+        filter.filter(second, backend).block();
+
+        assertEquals("MISS", first.getResponse().getHeaders().getFirst(ResponseCacheFilter.CACHE_STATUS_HEADER));
+        assertEquals("MISS", second.getResponse().getHeaders().getFirst(ResponseCacheFilter.CACHE_STATUS_HEADER));
+        assertEquals(0, cache.size());
+        assertEquals(2, backendCalls.get());
+    }
+
+    @Test
+    void filter_WithPublicResponse_ShouldStoreAndServeHits() {
+        ResponseCache cache = responseCache();
+        ResponseCacheFilter filter = filter(cache);
+        AtomicInteger backendCalls = new AtomicInteger();
+        GatewayFilterChain backend = backend("public, max-age=60", backendCalls);
+
+        MockServerWebExchange first = exchange();
+        filter.filter(first, backend).block();
+        MockServerWebExchange second = exchange();
+        filter.filter(second, backend).block();
+
+        assertEquals("MISS", first.getResponse().getHeaders().getFirst(ResponseCacheFilter.CACHE_STATUS_HEADER));
+        assertEquals("HIT", second.getResponse().getHeaders().getFirst(ResponseCacheFilter.CACHE_STATUS_HEADER));
+        assertEquals(1, backendCalls.get());
+        assertEquals(BODY, second.getResponse().getBodyAsString().block());
+        assertEquals("public, max-age=60", second.getResponse().getHeaders().getCacheControl());
+        assertEquals(first.getResponse().getHeaders().getETag(), second.getResponse().getHeaders().getETag());
+    }
+
+    @Test
+    void filter_WithChunkedBodyUnderLimit_ShouldStoreIt() {
+        ResponseCache cache = responseCache();
+        ResponseCacheFilter filter = filter(cache, BODY.length() * 4);
+
+        MockServerWebExchange exchange = exchange();
+        filter.filter(exchange, chunkedBackend(4)).block();
+
+        assertEquals(BODY.repeat(4), exchange.getResponse().getBodyAsString().block());
+        assertEquals(BODY.length() * 4L, exchange.getResponse().getHeaders().getContentLength());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void filter_WithChunkedBodyOverLimit_ShouldStreamWithoutStoring() {
+        ResponseCache cache = responseCache();
+        ResponseCacheFilter filter = filter(cache, BODY.length() * 2);
+        Sinks.Many<String> chunks = Sinks.many().unicast().onBackpressureBuffer();
+        List<String> written = new CopyOnWriteArrayList<>();
+        MockServerWebExchange exchange = exchange();
+        exchange.getResponse().setWriteHandler(body -> body
+                .map(buffer -> buffer.toString(StandardCharsets.UTF_8))
+                .doOnNext(written::add)
+                .then());
+
+        filter.filter(exchange, backendExchange -> {
+            ServerHttpResponse response = backendExchange.getResponse();
+            response.setStatusCode(HttpStatus.OK);
+            response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            response.getHeaders().setCacheControl("public, max-age=60");
+            return response.writeWith(chunks.asFlux()
+                    .map(chunk -> response.bufferFactory().wrap(chunk.getBytes(StandardCharsets.UTF_8))));
+        }).subscribe();
+
+        chunks.tryEmitNext(BODY);
+        chunks.tryEmitNext(BODY);
+        assertTrue(written.isEmpty());
+        // Past the limit the held chunks are flushed and the rest goes straight through
+        chunks.tryEmitNext(BODY);
+        assertEquals(List.of(BODY, BODY, BODY), written);
+        chunks.tryEmitNext(BODY);
+        chunks.tryEmitComplete();
+
+        assertEquals(List.of(BODY, BODY, BODY, BODY), written);
+        assertEquals(0, cache.size());
+    }
+
+    /**
+     * Stands in for a servlet backend behind the route: a 200 JSON page with the headers the
+     * service's security filter chain writes.
+     */
+    private static GatewayFilterChain backend(String cacheControl, AtomicInteger calls) {
+        return exchange -> {
+            calls.incrementAndGet();
+            ServerHttpResponse response = exchange.getResponse();
+            byte[] body = BODY.getBytes(StandardCharsets.UTF_8);
+            response.setStatusCode(HttpStatus.OK);
+            HttpHeaders headers = response.getHeaders();
+            headers.setContentType(MediaType.APPLICATION_JSON);
+            headers.setContentLength(body.length);
+            headers.setCacheControl(cacheControl);
+            if (cacheControl.equals(SECURITY_DEFAULT_CACHE_CONTROL)) {
+                headers.setPragma("no-cache");
+                headers.setExpires(0);
+            }
+            headers.set("X-Content-Type-Options", "nosniff");
+            headers.set("X-Frame-Options", "DENY");
+            return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+        };
+    }
+
+    /**
+     * A backend whose body outgrew the servlet container's buffer: sent in chunks, with no Content-Length.
+     */
+    private static GatewayFilterChain chunkedBackend(int chunks) {
+        return exchange -> {
+            ServerHttpResponse response = exchange.getResponse();
+            response.setStatusCode(HttpStatus.OK);
+            response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            response.getHeaders().setCacheControl("public, max-age=60");
+            return response.writeWith(Flux.range(0, chunks)
+                    .map(i -> response.bufferFactory().wrap(BODY.getBytes(StandardCharsets.UTF_8))));
+        };
+    }
+
+    private static MockServerWebExchange exchange() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/product/products?page=0"));
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, Route.async()
+                .id("product-service")
+                .uri("lb://product-service")
+                .predicate(e -> true)
+                .metadata(ResponseCacheFilter.TTL_METADATA_KEY, 60)
+                .build());
+        return exchange;
+    }
+
+    private static ResponseCacheFilter filter(ResponseCache cache) {
+        return filter(cache, 524288);
+    }
+
+    private static ResponseCacheFilter filter(ResponseCache cache, int maxEntryBytes) {
+        ResponseCacheFilter filter = new ResponseCacheFilter(cache, compressor());
+        ReflectionTestUtils.setField(filter, "enabled", true);
+        ReflectionTestUtils.setField(filter, "maxEntryBytes", maxEntryBytes);
+        return filter;
+    }
+
+    private static ResponseCache responseCache() {
+        ResponseCache cache = new ResponseCache(mock(ReactiveStringRedisTemplate.class), new ObjectMapper());
+        ReflectionTestUtils.setField(cache, "maxEntries", 100);
+        ReflectionTestUtils.setField(cache, "maxBytes", 1_048_576L);
+        ReflectionTestUtils.setField(cache, "redisEnabled", false);
+        return cache;
+    }
+
+    private static ResponseCompressor compressor() {
+        @SuppressWarnings("unchecked")
+        ObjectProvider<MeterRegistry> registryProvider = mock(ObjectProvider.class);
+        when(registryProvider.getIfAvailable(any())).thenReturn(new SimpleMeterRegistry());
+        ResponseCompressor compressor = new ResponseCompressor(new GatewayMetrics(registryProvider));
+        ReflectionTestUtils.setField(compressor, "enabled", true);
+        ReflectionTestUtils.setField(compressor, "minResponseBytes", 1024);
+        ReflectionTestUtils.setField(compressor, "mimeTypes", List.of(MediaType.APPLICATION_JSON));
+        ReflectionTestUtils.setField(compressor, "gzipLevel", 6);
+        ReflectionTestUtils.setField(compressor, "brotliEnabled", false);
+        ReflectionTestUtils.setField(compressor, "brotliQuality", 5);
+        ReflectionTestUtils.invokeMethod(compressor, "start");
+        return compressor;
+    }
+}
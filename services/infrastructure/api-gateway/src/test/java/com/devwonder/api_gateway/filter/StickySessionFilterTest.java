@@ -0,0 +1,62 @@
+package com.devwonder.api_gateway.filter;
+
+import com.devwonder.common.loadbalancer.LatencyAwareLoadBalancer;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class StickySessionFilterTest {
+
+    private final StickySessionFilter filter = new StickySessionFilter();
+
+    @Test
+    void anonymousKey_WithSockJsRequest_ShouldUseSessionId() {
+        assertEquals("sockjs:k2x9wq1a", StickySessionFilter.anonymousKey(exchange("/ws/notifications/123/k2x9wq1a/xhr_streaming")));
+        assertEquals("sockjs:k2x9wq1a", StickySessionFilter.anonymousKey(exchange("/ws/notifications/123/k2x9wq1a/websocket")));
+    }
+
+    @Test
+    void anonymousKey_WithOtherRequest_ShouldUseClientIp() {
+        MockServerWebExchange info = MockServerWebExchange.from(
+                MockServerHttpRequest.get("/ws/notifications/info").header("X-Forwarded-For", "203.0.113.7, 10.0.0.1"));
+
+        assertEquals("client:203.0.113.7", StickySessionFilter.anonymousKey(info));
+    }
+
+    @Test
+    void filter_WithStickyRoute_ShouldSetKeyOnlyThere() {
+        MockServerWebExchange sticky = exchange("/ws/notifications/123/k2x9wq1a/websocket");
+        sticky.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, route(Map.of(StickySessionFilter.STICKY_METADATA_KEY, true)));
+        MockServerWebExchange plain = exchange("/api/notification/all");
+        plain.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, route(Map.of()));
+        GatewayFilterChain chain = exchange -> Mono.empty();
+
+        filter.filter(sticky, chain).block();
+        filter.filter(plain, chain).block();
+
+        assertEquals("sockjs:k2x9wq1a", sticky.getAttribute(LatencyAwareLoadBalancer.STICKY_KEY_ATTRIBUTE));
+        assertNull(plain.getAttribute(LatencyAwareLoadBalancer.STICKY_KEY_ATTRIBUTE));
+    }
+
+    private static MockServerWebExchange exchange(String path) {
+        return MockServerWebExchange.from(MockServerHttpRequest.get(path));
+    }
+
+    private static Route route(Map<String, Object> metadata) {
+        return Route.async()
+                .id("notification-websocket")
+                .uri("lb://notification-service")
+                .predicate(exchange -> true)
+                .metadata(metadata)
+                .build();
+    }
+}
@@ -0,0 +1,50 @@
+package com.devwonder.api_gateway.hedge;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HedgeBudgetTest {
+
+    @Test
+    void tryHedge_AtFivePercent_ShouldAllowOneHedgePerTwentyRequests() {
+        HedgeBudget budget = new HedgeBudget(0.05, 10);
+
+        int hedges = 0;
+        for (int i = 0; i < 1000; i++) {
+            budget.onRequest();
+            if (budget.tryHedge()) {
+                hedges++;
+            }
+        }
+        assertEquals(50, hedges);
+    }
+
+    @Test
+    void tryHedge_AfterIdlePeriod_ShouldCapTheBurst() {
+        HedgeBudget budget = new HedgeBudget(0.05, 2);
+        for (int i = 0; i < 1000; i++) {
+            budget.onRequest();
+        }
+
+        assertTrue(budget.tryHedge());
+        assertTrue(budget.tryHedge());
+        assertFalse(budget.tryHedge());
+    }
+
+    @Test
+    void percentileNanos_WithEnoughSamples_ShouldReportPercentile() {
+        LatencyTracker tracker = new LatencyTracker(128, 0.95, 64);
+        for (int i = 1; i <= 32; i++) {
+            tracker.record(i);
+        }
+        assertEquals(-1, tracker.percentileNanos());
+
+        for (int i = 33; i <= 128; i++) {
+            tracker.record(i);
+        }
+        assertEquals(122, tracker.percentileNanos());
+    }
+}
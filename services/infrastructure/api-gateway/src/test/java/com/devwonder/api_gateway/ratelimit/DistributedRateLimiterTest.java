@@ -0,0 +1,85 @@
+package com.devwonder.api_gateway.ratelimit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DistributedRateLimiterTest {
+
+    @Test
+    void tryAcquire_FromTwoReplicas_ShouldShareOneLimit() {
+        InMemoryLeaseStore store = new InMemoryLeaseStore();
+        DistributedRateLimiter first = newLimiter(store, 20);
+        DistributedRateLimiter second = newLimiter(store, 20);
+
+        int admitted = 0;
+        for (int i = 0; i < 200; i++) {
+            DistributedRateLimiter node = i % 2 == 0 ? first : second;
+            if (node.tryAcquire("client", 100).block() == 0) {
+                admitted++;
+            }
+        }
+
+        // A couple of tokens may refill while the loop runs
+        assertTrue(admitted >= 100 && admitted <= 102, "admitted " + admitted);
+    }
+
+    @Test
+    void tryAcquire_WhenStoreFails_ShouldFallBackToLocalLimit() {
+        TokenLeaseStore failing = (key, capacity, windowMillis, requested) ->
+                Mono.error(new IllegalStateException("connection refused"));
+        DistributedRateLimiter limiter = newLimiter(failing, 20);
+
+        int admitted = 0;
+        for (int i = 0; i < 20; i++) {
+            if (limiter.tryAcquire("client", 10).block() == 0) {
+                admitted++;
+            }
+        }
+
+        assertEquals(10, admitted);
+        assertEquals(1, limiter.getLeaseRequestCount());
+    }
+
+    private static DistributedRateLimiter newLimiter(TokenLeaseStore store, int maxLeaseSize) {
+        DistributedRateLimiter limiter = new DistributedRateLimiter(new LocalRateLimiter(), store);
+        ReflectionTestUtils.setField(limiter, "enabled", true);
+        ReflectionTestUtils.setField(limiter, "maxLeaseSize", maxLeaseSize);
+        ReflectionTestUtils.setField(limiter, "leaseTtlMillis", 60_000L);
+        ReflectionTestUtils.setField(limiter, "timeoutMillis", 1_000L);
+        ReflectionTestUtils.setField(limiter, "fallbackBackoffMillis", 60_000L);
+        return limiter;
+    }
+
+    /**
+     * Same bucket arithmetic as rate-limit-lease.lua, kept in memory.
+     */
+    private static final class InMemoryLeaseStore implements TokenLeaseStore {
+
+        private final Map<String, double[]> buckets = new HashMap<>();
+
+        @Override
+        public Mono<TokenLease> lease(String key, int capacity, long windowMillis, int requested) {
+            return Mono.fromSupplier(() -> take(key, capacity, windowMillis, requested));
+        }
+
+        private synchronized TokenLease take(String key, int capacity, long windowMillis, int requested) {
+            long now = System.currentTimeMillis();
+            double[] bucket = buckets.computeIfAbsent(key, k -> new double[]{capacity, now});
+            if (now > bucket[1]) {
+                bucket[0] = Math.min(capacity, bucket[0] + (now - bucket[1]) * capacity / windowMillis);
+                bucket[1] = now;
+            }
+            int granted = (int) Math.min(requested, Math.floor(bucket[0]));
+            bucket[0] -= granted;
+            long wait = granted == 0 ? (long) Math.ceil((1 - bucket[0]) * windowMillis / capacity) : 0;
+            return new TokenLease(granted, wait);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.devwonder.api_gateway.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenBucketTest {
+
+    @Test
+    void tryAcquire_WhenCapacityIsUsed_ShouldRejectUntilRefilled() {
+        long now = System.currentTimeMillis();
+        TokenBucket bucket = new TokenBucket(3, 60_000, now);
+
+        assertEquals(0, bucket.tryAcquire(now));
+        assertEquals(0, bucket.tryAcquire(now));
+        assertEquals(0, bucket.tryAcquire(now));
+        assertTrue(bucket.tryAcquire(now) > 0);
+
+        // One token every 20 seconds
+        assertEquals(0, bucket.tryAcquire(now + 20_000));
+        assertTrue(bucket.tryAcquire(now + 20_000) > 0);
+    }
+
+    @Test
+    void isIdle_AfterAcquire_ShouldWaitUntilFullAgain() {
+        long now = System.currentTimeMillis();
+        TokenBucket bucket = new TokenBucket(2, 60_000, now);
+
+        assertTrue(bucket.isIdle(now));
+        bucket.tryAcquire(now);
+        assertFalse(bucket.isIdle(now));
+        assertTrue(bucket.isIdle(now + 30_000));
+    }
+
+    @Test
+    void tryAcquire_WithTimeBeforeCreation_ShouldCountAsCreationTime() {
+        long now = 1_000;
+        TokenBucket bucket = new TokenBucket(2, 60_000, now);
+
+        assertEquals(0, bucket.tryAcquire(now - 500));
+        assertFalse(bucket.isIdle(now));
+        // Still refills at the normal rate afterwards
+        assertTrue(bucket.isIdle(now + 30_000));
+    }
+}
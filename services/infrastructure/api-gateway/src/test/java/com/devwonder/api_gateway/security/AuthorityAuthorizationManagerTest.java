@@ -0,0 +1,72 @@
+package com.devwonder.api_gateway.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.ReactiveAuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.web.server.authorization.AuthorizationContext;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AuthorityAuthorizationManagerTest {
+
+    private final AuthorityIndex index = new AuthorityIndex();
+    private final AllAuthoritiesAuthorizationManager adminRead =
+            new AllAuthoritiesAuthorizationManager(index, "ROLE_ADMIN", "PERM_RESELLER_READ");
+    private final AnyAuthorityAuthorizationManager adminOrDealer =
+            new AnyAuthorityAuthorizationManager(index, "ROLE_ADMIN", "ROLE_DEALER");
+
+    @Test
+    void allAuthorities_WithOneMissing_ShouldDeny() {
+        assertTrue(granted(adminRead, authentication("ROLE_ADMIN", "PERM_RESELLER_READ", "PERM_OTHER")));
+        assertFalse(granted(adminRead, authentication("ROLE_ADMIN")));
+    }
+
+    @Test
+    void anyAuthority_WithOneMatching_ShouldGrant() {
+        assertTrue(granted(adminOrDealer, authentication("ROLE_DEALER")));
+        assertFalse(granted(adminOrDealer, authentication("ROLE_CUSTOMER")));
+    }
+
+    @Test
+    void convert_WithSameToken_ShouldCompileAuthoritiesOnce() {
+        int[] conversions = new int[1];
+        CompiledJwtAuthenticationConverter converter = new CompiledJwtAuthenticationConverter(jwt -> {
+            conversions[0]++;
+            return List.of(new SimpleGrantedAuthority("ROLE_ADMIN"), new SimpleGrantedAuthority("PERM_RESELLER_READ"));
+        }, index);
+        Jwt jwt = Jwt.withTokenValue("token")
+                .header("alg", "RS256")
+                .subject("1")
+                .expiresAt(Instant.now().plusSeconds(60))
+                .build();
+
+        Authentication first = converter.convert(jwt).block();
+        Authentication second = converter.convert(jwt).block();
+
+        assertEquals(1, conversions[0]);
+        assertSame(first.getAuthorities().iterator().next(), second.getAuthorities().iterator().next());
+        assertTrue(granted(adminRead, second));
+    }
+
+    private static Authentication authentication(String... authorities) {
+        TestingAuthenticationToken token = new TestingAuthenticationToken("user", null, authorities);
+        token.setAuthenticated(true);
+        return token;
+    }
+
+    private static boolean granted(ReactiveAuthorizationManager<AuthorizationContext> manager, Authentication auth) {
+        AuthorizationDecision decision = manager.check(Mono.just(auth), null).block();
+        return decision != null && decision.isGranted();
+    }
+}
@@ -0,0 +1,37 @@
+package com.devwonder.api_gateway.util;
+
+import com.devwonder.api_gateway.constants.ForwardedHeaderConstants;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+
+import java.net.InetSocketAddress;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RequestUtilTest {
+
+    @Test
+    void getConnectionClientIp_FromRemoteClient_ShouldIgnoreHeaders() {
+        MockServerHttpRequest request = MockServerHttpRequest.post("/api/auth/login")
+                .remoteAddress(new InetSocketAddress("203.0.113.7", 51000))
+                .header("X-Forwarded-For", "198.51.100.1")
+                .header(ForwardedHeaderConstants.CLIENT_IP, "198.51.100.1")
+                .build();
+
+        assertEquals("203.0.113.7", RequestUtil.getConnectionClientIp(request));
+    }
+
+    @Test
+    void getConnectionClientIp_FromLoopback_ShouldTrustBatchReplayHeader() {
+        MockServerHttpRequest request = MockServerHttpRequest.post("/api/auth/login")
+                .remoteAddress(new InetSocketAddress("127.0.0.1", 51000))
+                .header(ForwardedHeaderConstants.CLIENT_IP, "203.0.113.7")
+                .build();
+        MockServerHttpRequest local = MockServerHttpRequest.get("/api/product/products")
+                .remoteAddress(new InetSocketAddress("127.0.0.1", 51000))
+                .build();
+
+        assertEquals("203.0.113.7", RequestUtil.getConnectionClientIp(request));
+        assertEquals("127.0.0.1", RequestUtil.getConnectionClientIp(local));
+    }
+}
@@ -4,6 +4,8 @@ import com.devwonder.common.dto.BaseResponse;
 import com.devwonder.common.exception.BaseException;
 import com.devwonder.common.exception.BusinessException;
 import com.devwonder.common.exception.ResourceNotFoundException;
+import com.devwonder.common.exception.ServiceUnavailableException;
+import com.devwonder.common.exception.TooManyRequestsException;
 import com.devwonder.common.exception.ValidationException;
 import com.devwonder.common.exception.TokenExpiredException;
 import com.devwonder.common.exception.JwtValidationException;
@@ -15,6 +17,7 @@ import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -60,6 +63,26 @@ public class BaseControllerAdvice {
         return ResponseUtil.error(e.getMessage(), e.getErrorCode(), HttpStatus.valueOf(e.getHttpStatus()));
     }
 
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<BaseResponse<Object>> handleServiceUnavailableException(ServiceUnavailableException e) {
+        // Load shedding is expected under bursts: no stack trace
+        log.warn("Service unavailable: {}", e.getMessage());
+        return retryLater(e, HttpStatus.SERVICE_UNAVAILABLE, e.getRetryAfterSeconds());
+    }
+
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<BaseResponse<Object>> handleTooManyRequestsException(TooManyRequestsException e) {
+        log.warn("Too many requests: {}", e.getMessage());
+        return retryLater(e, HttpStatus.TOO_MANY_REQUESTS, e.getRetryAfterSeconds());
+    }
+
+    private ResponseEntity<BaseResponse<Object>> retryLater(BaseException e, HttpStatus status, long retryAfterSeconds) {
+        ResponseEntity<BaseResponse<Object>> response = ResponseUtil.error(e.getMessage(), e.getErrorCode(), status);
+        return ResponseEntity.status(status)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, retryAfterSeconds)))
+                .body(response.getBody());
+    }
+
     @ExceptionHandler({ TokenExpiredException.class, JwtValidationException.class,
             InvalidTokenSignatureException.class })
     public ResponseEntity<BaseResponse<Object>> handleJwtException(RuntimeException e) {
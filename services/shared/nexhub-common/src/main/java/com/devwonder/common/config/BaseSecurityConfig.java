@@ -7,6 +7,7 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.annotation.web.configurers.AuthorizeHttpRequestsConfigurer;
+import org.springframework.security.config.annotation.web.configurers.HeadersConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -20,7 +21,10 @@ public abstract class BaseSecurityConfig {
     
     @Value("${auth.api.key:AUTH_TO_USER_SERVICE_KEY}")
     private String authApiKey;
-    
+
+    @Value("${nexhub.http.public-cache.max-age-seconds:60}")
+    private long publicCacheMaxAgeSeconds;
+
     protected abstract void configureServiceEndpoints(AuthorizeHttpRequestsConfigurer<HttpSecurity>.AuthorizationManagerRequestMatcherRegistry auth);
     
     @Bean
@@ -30,6 +34,10 @@ public abstract class BaseSecurityConfig {
             .httpBasic(AbstractHttpConfigurer::disable)
             .formLogin(AbstractHttpConfigurer::disable)
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+            // Default no-store headers, except on the service's public GETs
+            .headers(headers -> headers
+                .cacheControl(HeadersConfigurer.CacheControlConfig::disable)
+                .addHeaderWriter(new PublicCacheHeaderWriter(publicCacheableGetPaths(), publicCacheMaxAgeSeconds)))
             .authorizeHttpRequests(auth -> {
                 // Common endpoints for all services
                 configureCommonEndpoints(auth);
@@ -61,7 +69,14 @@ public abstract class BaseSecurityConfig {
             ).access(gatewayHeaderRequired());
     }
 
-    
+    /**
+     * GET paths whose successful responses are the same for every caller and may be cached
+     * by the gateway for {@code nexhub.http.public-cache.max-age-seconds}.
+     */
+    protected String[] publicCacheableGetPaths() {
+        return new String[0];
+    }
+
     protected WebExpressionAuthorizationManager gatewayHeaderRequired() {
         return new WebExpressionAuthorizationManager(GATEWAY_HEADER_EXPRESSION);
     }
@@ -0,0 +1,41 @@
+package com.devwonder.common.config;
+
+import org.apache.coyote.UpgradeProtocol;
+import org.apache.coyote.http2.Http2Protocol;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Stream limits for Tomcat's h2c connector, used when {@code server.http2.enabled=true}.
+ * <p>
+ * The API gateway multiplexes its requests to each instance over a few h2c connections and
+ * only opens another once one carries {@code nexhub.http2.max-concurrent-streams} requests, so
+ * this limit (not the number of sockets) decides how much of the gateway's traffic a single
+ * connection takes. Keep it equal to {@code gateway.http2.max-concurrent-streams}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "server.http2.enabled", havingValue = "true")
+public class Http2ServerConfig {
+
+    @Value("${nexhub.http2.max-concurrent-streams:100}")
+    private long maxConcurrentStreams;
+
+    @Value("${nexhub.http2.max-concurrent-stream-execution:100}")
+    private int maxConcurrentStreamExecution;
+
+    @Bean
+    public WebServerFactoryCustomizer<TomcatServletWebServerFactory> http2StreamLimitsCustomizer() {
+        return factory -> factory.addConnectorCustomizers(connector -> {
+            for (UpgradeProtocol protocol : connector.findUpgradeProtocols()) {
+                if (protocol instanceof Http2Protocol http2) {
+                    http2.setMaxConcurrentStreams(maxConcurrentStreams);
+                    http2.setMaxConcurrentStreamExecution(maxConcurrentStreamExecution);
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,55 @@
+package com.devwonder.common.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.web.header.HeaderWriter;
+import org.springframework.security.web.header.writers.CacheControlHeadersWriter;
+import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Cache-Control writer that lets public catalog reads be cached.
+ * <p>
+ * Successful GETs on the configured paths get {@code public, max-age=N}, so the gateway
+ * response cache (which honours backend Cache-Control) can store them. Every other response
+ * keeps Spring Security's default {@code no-cache, no-store, max-age=0, must-revalidate}.
+ * A Cache-Control set by the controller always wins.
+ */
+public class PublicCacheHeaderWriter implements HeaderWriter {
+
+    private final List<RequestMatcher> publicPaths;
+    private final String cacheControl;
+    private final HeaderWriter defaultWriter = new CacheControlHeadersWriter();
+
+    public PublicCacheHeaderWriter(String[] publicGetPaths, long maxAgeSeconds) {
+        PathPatternRequestMatcher.Builder matchers = PathPatternRequestMatcher.withDefaults();
+        this.publicPaths = Arrays.stream(publicGetPaths)
+                .map(path -> (RequestMatcher) matchers.matcher(HttpMethod.GET, path))
+                .toList();
+        this.cacheControl = "public, max-age=" + maxAgeSeconds;
+    }
+
+    @Override
+    public void writeHeaders(HttpServletRequest request, HttpServletResponse response) {
+        if (isPublic(request, response)) {
+            if (!response.containsHeader(HttpHeaders.CACHE_CONTROL)) {
+                response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+            }
+            return;
+        }
+        defaultWriter.writeHeaders(request, response);
+    }
+
+    private boolean isPublic(HttpServletRequest request, HttpServletResponse response) {
+        int status = response.getStatus();
+        if (status < 200 || status >= 300) {
+            return false;
+        }
+        return publicPaths.stream().anyMatch(matcher -> matcher.matches(request));
+    }
+}
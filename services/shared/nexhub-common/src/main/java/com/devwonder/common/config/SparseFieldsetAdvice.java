@@ -0,0 +1,66 @@
+package com.devwonder.common.config;
+
+import com.devwonder.common.dto.BaseResponse;
+import com.devwonder.common.util.FieldSelection;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.swagger.v3.oas.annotations.Hidden;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Applies the {@code fields} query parameter to successful {@link BaseResponse} bodies, so
+ * clients can ask for e.g. {@code ?fields=id,name,category.name} and receive only those
+ * properties of {@code data}.
+ * <p>
+ * For pages (a Spring {@code Page} or {@code ResponseUtil.paginatedSuccess}) the selection
+ * applies to each element of {@code content} and the paging properties are kept. Services can
+ * read the same parameter with {@link FieldSelection#parse(String)} to avoid loading columns
+ * that won't be returned.
+ */
+@RestControllerAdvice(basePackages = "com.devwonder")
+@RequiredArgsConstructor
+@Hidden
+public class SparseFieldsetAdvice implements ResponseBodyAdvice<Object> {
+
+    private static final String PAGE_CONTENT = "content";
+
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return AbstractJackson2HttpMessageConverter.class.isAssignableFrom(converterType);
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (!(body instanceof BaseResponse<?> baseResponse) || !baseResponse.isSuccess() || baseResponse.getData() == null
+                || !(request instanceof ServletServerHttpRequest servletRequest)) {
+            return body;
+        }
+        FieldSelection selection = FieldSelection.parse(servletRequest.getServletRequest().getParameter(FieldSelection.PARAM));
+        if (selection.isAll()) {
+            return body;
+        }
+
+        JsonNode data = objectMapper.valueToTree(baseResponse.getData());
+        JsonNode content = data.get(PAGE_CONTENT);
+        if (data.isObject() && content != null && content.isArray()) {
+            ((ObjectNode) data).set(PAGE_CONTENT, selection.apply(content));
+        } else {
+            data = selection.apply(data);
+        }
+        return new BaseResponse<>(true, baseResponse.getMessage(), data, baseResponse.getErrorCode(), baseResponse.getTimestamp());
+    }
+}
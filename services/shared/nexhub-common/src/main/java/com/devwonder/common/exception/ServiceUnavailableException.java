@@ -0,0 +1,18 @@
+package com.devwonder.common.exception;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+/**
+ * The service is temporarily out of capacity; the response carries a {@code Retry-After} header.
+ */
+@Getter
+public class ServiceUnavailableException extends BaseException {
+
+    private final long retryAfterSeconds;
+
+    public ServiceUnavailableException(String errorCode, String message, long retryAfterSeconds) {
+        super(errorCode, message, HttpStatus.SERVICE_UNAVAILABLE.value());
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
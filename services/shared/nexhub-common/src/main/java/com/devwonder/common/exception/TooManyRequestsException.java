@@ -0,0 +1,18 @@
+package com.devwonder.common.exception;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+/**
+ * The caller is being throttled; the response carries a {@code Retry-After} header.
+ */
+@Getter
+public class TooManyRequestsException extends BaseException {
+
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(String errorCode, String message, long retryAfterSeconds) {
+        super(errorCode, message, HttpStatus.TOO_MANY_REQUESTS.value());
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
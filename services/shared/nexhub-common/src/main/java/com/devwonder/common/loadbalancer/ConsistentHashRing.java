@@ -0,0 +1,104 @@
+package com.devwonder.common.loadbalancer;
+
+import org.springframework.cloud.client.ServiceInstance;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Immutable hash ring over a set of instances, with virtual nodes so keys spread evenly.
+ * <p>
+ * When an instance joins or leaves only the keys on its arcs move (about 1/n of them); all
+ * other keys keep their instance.
+ */
+class ConsistentHashRing {
+
+    private static final int VIRTUAL_NODES = 160;
+
+    private final List<ServiceInstance> instances;
+    private final long[] points;
+    private final int[] owners;
+
+    ConsistentHashRing(List<ServiceInstance> instances) {
+        this.instances = List.copyOf(instances);
+        long[][] nodes = new long[this.instances.size() * VIRTUAL_NODES][];
+        int n = 0;
+        for (int i = 0; i < this.instances.size(); i++) {
+            String key = InstanceLoadStats.keyOf(this.instances.get(i));
+            for (int v = 0; v < VIRTUAL_NODES; v++) {
+                nodes[n++] = new long[]{hash(key + "#" + v), i};
+            }
+        }
+        Arrays.sort(nodes, Comparator.comparingLong(node -> node[0]));
+        points = new long[nodes.length];
+        owners = new int[nodes.length];
+        for (int i = 0; i < nodes.length; i++) {
+            points[i] = nodes[i][0];
+            owners[i] = (int) nodes[i][1];
+        }
+    }
+
+    List<ServiceInstance> getInstances() {
+        return instances;
+    }
+
+    /**
+     * Whether this ring was built from the same instances, in any order.
+     */
+    boolean covers(List<ServiceInstance> current) {
+        if (current.size() != instances.size()) {
+            return false;
+        }
+        for (ServiceInstance instance : current) {
+            String key = InstanceLoadStats.keyOf(instance);
+            if (instances.stream().noneMatch(known -> InstanceLoadStats.keyOf(known).equals(key))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Distinct instances in ring order starting at the key's position: the first is the key's
+     * home, the rest are where it overflows to, always in the same order for the same key.
+     */
+    List<ServiceInstance> walk(String key) {
+        List<ServiceInstance> order = new ArrayList<>(instances.size());
+        if (points.length == 0) {
+            return order;
+        }
+        int start = Arrays.binarySearch(points, hash(key));
+        if (start < 0) {
+            start = -start - 1;
+        }
+        boolean[] seen = new boolean[instances.size()];
+        for (int i = 0; i < points.length && order.size() < instances.size(); i++) {
+            int owner = owners[(start + i) % points.length];
+            if (!seen[owner]) {
+                seen[owner] = true;
+                order.add(instances.get(owner));
+            }
+        }
+        return order;
+    }
+
+    /**
+     * 64-bit FNV-1a followed by the MurmurHash3 finalizer, so similar keys land far apart.
+     */
+    static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,94 @@
+package com.devwonder.common.loadbalancer;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Load signals for one service instance: requests in flight, open sticky connections
+ * (WebSockets, SockJS streams) and a peak-sensitive EWMA of response time.
+ * <p>
+ * A slower response replaces the average immediately while faster ones pull it down over about
+ * ten seconds, so a replica that stalls (GC pause, cold JIT) is avoided at once.
+ * The average also decays while the instance isn't used, so an instance that was avoided gets
+ * probed again instead of being starved forever.
+ */
+public class InstanceLoad {
+
+    private static final double DECAY_NANOS = 10_000_000_000.0;
+
+    /** Cost of an instance that has requests in flight but no latency sample yet. */
+    private static final double UNKNOWN_LATENCY_PENALTY_NANOS = 1_000_000_000_000.0;
+    /** Failed calls count as at least this slow, so a fast-failing instance doesn't attract traffic. */
+    private static final long FAILURE_LATENCY_NANOS = 1_000_000_000L;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger connections = new AtomicInteger();
+
+    private double ewmaNanos;
+    private long lastUpdateNanos;
+
+    public void onStart() {
+        inFlight.incrementAndGet();
+    }
+
+    public void onSuccess(long rttNanos, long nowNanos) {
+        inFlight.decrementAndGet();
+        observe(rttNanos, nowNanos);
+    }
+
+    public void onFailure(long rttNanos, long nowNanos) {
+        inFlight.decrementAndGet();
+        observe(Math.max(rttNanos, FAILURE_LATENCY_NANOS), nowNanos);
+    }
+
+    /**
+     * Releases the in-flight slot without a latency sample.
+     */
+    public void onDiscarded() {
+        inFlight.decrementAndGet();
+    }
+
+    /**
+     * Long-lived connections are counted apart from requests: their duration says nothing
+     * about the instance's latency.
+     */
+    public void onConnectionOpened() {
+        connections.incrementAndGet();
+    }
+
+    public void onConnectionClosed() {
+        connections.decrementAndGet();
+    }
+
+    /**
+     * Expected cost of sending one more request here: latency times queue depth.
+     */
+    public double cost(long nowNanos) {
+        int pending = Math.max(0, inFlight.get());
+        double latency = latencyNanos(nowNanos);
+        if (latency == 0 && pending > 0) {
+            return UNKNOWN_LATENCY_PENALTY_NANOS + pending;
+        }
+        return latency * (pending + 1);
+    }
+
+    public synchronized double latencyNanos(long nowNanos) {
+        if (ewmaNanos == 0) {
+            return 0;
+        }
+        return ewmaNanos * Math.exp(-Math.max(0, nowNanos - lastUpdateNanos) / DECAY_NANOS);
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public int getConnections() {
+        return Math.max(0, connections.get());
+    }
+
+    private synchronized void observe(long rttNanos, long nowNanos) {
+        double weight = Math.exp(-Math.max(0, nowNanos - lastUpdateNanos) / DECAY_NANOS);
+        ewmaNanos = rttNanos > ewmaNanos ? rttNanos : ewmaNanos * weight + rttNanos * (1 - weight);
+        lastUpdateNanos = nowNanos;
+    }
+}
@@ -0,0 +1,81 @@
+package com.devwonder.common.loadbalancer;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycle;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.client.loadbalancer.ResponseData;
+import org.springframework.cloud.client.loadbalancer.TimedRequestContext;
+
+/**
+ * Feeds {@link InstanceLoadStats} from Spring Cloud LoadBalancer's request lifecycle, which both
+ * the gateway's load-balancer filter and Feign's blocking client invoke.
+ * 5xx responses count as failures alongside exceptions; requests discarded after they were
+ * sent (cancelled hedges) release their slot without a latency sample. Sticky requests
+ * (WebSockets) are counted as open connections instead and give no latency sample.
+ */
+public class InstanceLoadLifecycle implements LoadBalancerLifecycle<Object, Object, ServiceInstance> {
+
+    private final InstanceLoadStats stats;
+
+    public InstanceLoadLifecycle(InstanceLoadStats stats) {
+        this.stats = stats;
+    }
+
+    @Override
+    public boolean supports(Class requestContextClass, Class responseClass, Class serverTypeClass) {
+        return ServiceInstance.class.isAssignableFrom(serverTypeClass);
+    }
+
+    @Override
+    public void onStart(Request<Object> request) {
+    }
+
+    @Override
+    public void onStartRequest(Request<Object> request, Response<ServiceInstance> lbResponse) {
+        if (!lbResponse.hasServer()) {
+            return;
+        }
+        if (LatencyAwareLoadBalancer.stickyKeyOf(request) != null) {
+            stats.forInstance(lbResponse.getServer()).onConnectionOpened();
+            return;
+        }
+        if (request.getContext() instanceof TimedRequestContext timed) {
+            timed.setRequestStartTime(stats.now());
+        }
+        stats.forInstance(lbResponse.getServer()).onStart();
+    }
+
+    @Override
+    public void onComplete(CompletionContext<Object, ServiceInstance, Object> completionContext) {
+        Response<ServiceInstance> lbResponse = completionContext.getLoadBalancerResponse();
+        if (lbResponse == null || !lbResponse.hasServer()) {
+            return;
+        }
+        InstanceLoad load = stats.forInstance(lbResponse.getServer());
+        Request<Object> request = completionContext.getLoadBalancerRequest();
+        if (LatencyAwareLoadBalancer.stickyKeyOf(request) != null) {
+            load.onConnectionClosed();
+            return;
+        }
+        // Discarded after it was sent (a cancelled hedge): release the slot without a sample
+        if (completionContext.status() == CompletionContext.Status.DISCARD
+                || request == null || !(request.getContext() instanceof TimedRequestContext timed)
+                || timed.getRequestStartTime() == 0) {
+            load.onDiscarded();
+            return;
+        }
+
+        long now = stats.now();
+        long rtt = now - timed.getRequestStartTime();
+        boolean failed = completionContext.status() == CompletionContext.Status.FAILED
+                || (completionContext.getClientResponse() instanceof ResponseData data
+                        && data.getHttpStatus() != null && data.getHttpStatus().is5xxServerError());
+        if (failed) {
+            load.onFailure(rtt, now);
+        } else {
+            load.onSuccess(rtt, now);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.devwonder.common.loadbalancer;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cloud.client.ServiceInstance;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+/**
+ * {@link InstanceLoad} per instance of one service, shared by the balancer that reads it and
+ * the lifecycle callbacks that feed it.
+ * <p>
+ * Once {@link #bindTo bound} to a registry, every instance reports its in-flight requests and
+ * open sticky connections as {@code nexhub.loadbalancer.in-flight} and
+ * {@code nexhub.loadbalancer.connections} gauges tagged with service and instance.
+ */
+public class InstanceLoadStats {
+
+    private static final String METRIC_PREFIX = "nexhub.loadbalancer";
+
+    private final Map<String, InstanceLoad> loads = new ConcurrentHashMap<>();
+    private final Map<String, List<Meter>> meters = new ConcurrentHashMap<>();
+    private final LongSupplier nanoClock;
+
+    private volatile String serviceId;
+    private volatile MeterRegistry meterRegistry;
+
+    public InstanceLoadStats() {
+        this(System::nanoTime);
+    }
+
+    public InstanceLoadStats(LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+    }
+
+    public void bindTo(String serviceId, MeterRegistry meterRegistry) {
+        this.serviceId = serviceId;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public InstanceLoad forInstance(ServiceInstance instance) {
+        return loads.computeIfAbsent(keyOf(instance), this::newLoad);
+    }
+
+    public long now() {
+        return nanoClock.getAsLong();
+    }
+
+    /**
+     * Drops stats of instances that left the registry. Cheap no-op while the map holds no
+     * more than twice the current instance count.
+     */
+    void retainOnly(Collection<ServiceInstance> current) {
+        if (loads.size() <= current.size() * 2) {
+            return;
+        }
+        Set<String> keys = current.stream().map(InstanceLoadStats::keyOf).collect(Collectors.toSet());
+        loads.keySet().retainAll(keys);
+        meters.keySet().removeIf(key -> {
+            if (keys.contains(key)) {
+                return false;
+            }
+            MeterRegistry registry = meterRegistry;
+            if (registry != null) {
+                meters.get(key).forEach(registry::remove);
+            }
+            return true;
+        });
+    }
+
+    private InstanceLoad newLoad(String key) {
+        InstanceLoad load = new InstanceLoad();
+        MeterRegistry registry = meterRegistry;
+        if (registry != null) {
+            meters.put(key, List.of(
+                    Gauge.builder(METRIC_PREFIX + ".in-flight", load, InstanceLoad::getInFlight)
+                            .tag("service", serviceId)
+                            .tag("instance", key)
+                            .register(registry),
+                    Gauge.builder(METRIC_PREFIX + ".connections", load, InstanceLoad::getConnections)
+                            .tag("service", serviceId)
+                            .tag("instance", key)
+                            .register(registry)));
+        }
+        return load;
+    }
+
+    static String keyOf(ServiceInstance instance) {
+        return instance.getInstanceId() != null
+                ? instance.getInstanceId()
+                : instance.getHost() + ":" + instance.getPort();
+    }
+}
@@ -0,0 +1,138 @@
+package com.devwonder.common.loadbalancer;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.EmptyResponse;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.loadbalancer.core.NoopServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.SelectedInstanceCallback;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Power-of-two-choices balancer weighted by latency and in-flight requests.
+ * <p>
+ * Two random instances are compared by {@link InstanceLoad#cost} and the cheaper one is used.
+ * Comparing two instead of scanning all keeps every replica in rotation (so its stats stay
+ * fresh) while steering most traffic away from a slow or overloaded one. Works for both the
+ * reactive gateway and blocking Feign clients, since both go through Spring Cloud LoadBalancer.
+ * <p>
+ * Requests carrying a {@link #STICKY_KEY_ATTRIBUTE} (set by the gateway for WebSocket routes)
+ * are instead placed by consistent hashing with bounded load: a key stays on its instance
+ * while that instance holds no more than {@code balanceFactor} times the average number of
+ * open connections, and otherwise moves to the next instance on the ring.
+ */
+public class LatencyAwareLoadBalancer implements ReactorServiceInstanceLoadBalancer {
+
+    /**
+     * Request attribute holding the key (e.g. account id) a long-lived connection sticks to.
+     */
+    public static final String STICKY_KEY_ATTRIBUTE = LatencyAwareLoadBalancer.class.getName() + ".stickyKey";
+
+    public static final double DEFAULT_BALANCE_FACTOR = 1.25;
+
+    private final ObjectProvider<ServiceInstanceListSupplier> supplierProvider;
+    private final String serviceId;
+    private final InstanceLoadStats stats;
+    private final double balanceFactor;
+
+    private volatile ConsistentHashRing ring = new ConsistentHashRing(List.of());
+
+    public LatencyAwareLoadBalancer(ObjectProvider<ServiceInstanceListSupplier> supplierProvider,
+                                    String serviceId, InstanceLoadStats stats) {
+        this(supplierProvider, serviceId, stats, DEFAULT_BALANCE_FACTOR);
+    }
+
+    public LatencyAwareLoadBalancer(ObjectProvider<ServiceInstanceListSupplier> supplierProvider,
+                                    String serviceId, InstanceLoadStats stats, double balanceFactor) {
+        this.supplierProvider = supplierProvider;
+        this.serviceId = serviceId;
+        this.stats = stats;
+        this.balanceFactor = Math.max(1.0, balanceFactor);
+    }
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public Mono<Response<ServiceInstance>> choose(Request request) {
+        ServiceInstanceListSupplier supplier = supplierProvider.getIfAvailable(NoopServiceInstanceListSupplier::new);
+        String stickyKey = stickyKeyOf(request);
+        return supplier.get(request).next().map(instances -> {
+            Response<ServiceInstance> response = stickyKey != null ? chooseSticky(instances, stickyKey) : choose(instances);
+            if (supplier instanceof SelectedInstanceCallback callback && response.hasServer()) {
+                callback.selectedServiceInstance(response.getServer());
+            }
+            return response;
+        });
+    }
+
+    Response<ServiceInstance> choose(List<ServiceInstance> instances) {
+        if (instances.isEmpty()) {
+            return new EmptyResponse();
+        }
+        if (instances.size() == 1) {
+            return new DefaultResponse(instances.get(0));
+        }
+        stats.retainOnly(instances);
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(instances.size());
+        int second = random.nextInt(instances.size() - 1);
+        if (second >= first) {
+            second++;
+        }
+        ServiceInstance a = instances.get(first);
+        ServiceInstance b = instances.get(second);
+        long now = stats.now();
+        return new DefaultResponse(stats.forInstance(a).cost(now) <= stats.forInstance(b).cost(now) ? a : b);
+    }
+
+    Response<ServiceInstance> chooseSticky(List<ServiceInstance> instances, String key) {
+        if (instances.isEmpty()) {
+            return new EmptyResponse();
+        }
+        stats.retainOnly(instances);
+        ConsistentHashRing current = ring;
+        if (!current.covers(instances)) {
+            current = new ConsistentHashRing(instances);
+            ring = current;
+        }
+
+        int total = 0;
+        for (ServiceInstance instance : instances) {
+            total += stats.forInstance(instance).getConnections();
+        }
+        // Bounded load: no instance takes more than balanceFactor x the average after this connection
+        double capacity = Math.ceil(balanceFactor * (total + 1) / instances.size());
+        List<ServiceInstance> order = current.walk(key);
+        for (ServiceInstance candidate : order) {
+            if (stats.forInstance(candidate).getConnections() < capacity) {
+                return new DefaultResponse(candidate);
+            }
+        }
+        return new DefaultResponse(order.get(0));
+    }
+
+    /**
+     * The sticky key of a gateway request, or {@code null} for ordinary requests.
+     */
+    @SuppressWarnings("rawtypes")
+    public static String stickyKeyOf(Request request) {
+        if (request != null && request.getContext() instanceof RequestDataContext context
+                && context.getClientRequest() != null && context.getClientRequest().getAttributes() != null
+                && context.getClientRequest().getAttributes().get(STICKY_KEY_ATTRIBUTE) instanceof String key) {
+            return key;
+        }
+        return null;
+    }
+
+    public String getServiceId() {
+        return serviceId;
+    }
+}
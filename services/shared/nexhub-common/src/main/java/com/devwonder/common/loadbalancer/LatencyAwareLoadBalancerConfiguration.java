@@ -0,0 +1,48 @@
+package com.devwonder.common.loadbalancer;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycle;
+import org.springframework.cloud.loadbalancer.core.ReactorLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+
+/**
+ * Per-service LoadBalancer configuration that replaces round-robin with
+ * {@link LatencyAwareLoadBalancer}. Register it for all clients with
+ * {@code @LoadBalancerClients(defaultConfiguration = LatencyAwareLoadBalancerConfiguration.class)}.
+ * <p>
+ * Intentionally not a {@code @Configuration}: it is loaded into each service's child context,
+ * so every service gets its own {@link InstanceLoadStats}, and must not be component-scanned.
+ * {@code nexhub.loadbalancer.sticky.balance-factor} bounds how far above the average
+ * connection count a sticky key may keep its instance.
+ */
+public class LatencyAwareLoadBalancerConfiguration {
+
+    @Bean
+    public InstanceLoadStats instanceLoadStats(Environment environment, ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        InstanceLoadStats stats = new InstanceLoadStats();
+        meterRegistryProvider.ifAvailable(registry ->
+                stats.bindTo(environment.getProperty(LoadBalancerClientFactory.PROPERTY_NAME), registry));
+        return stats;
+    }
+
+    @Bean
+    public ReactorLoadBalancer<ServiceInstance> reactorServiceInstanceLoadBalancer(
+            Environment environment, LoadBalancerClientFactory clientFactory, InstanceLoadStats instanceLoadStats) {
+        String serviceId = environment.getProperty(LoadBalancerClientFactory.PROPERTY_NAME);
+        double balanceFactor = environment.getProperty("nexhub.loadbalancer.sticky.balance-factor",
+                Double.class, LatencyAwareLoadBalancer.DEFAULT_BALANCE_FACTOR);
+        return new LatencyAwareLoadBalancer(
+                clientFactory.getLazyProvider(serviceId, ServiceInstanceListSupplier.class), serviceId,
+                instanceLoadStats, balanceFactor);
+    }
+
+    @Bean
+    public LoadBalancerLifecycle<Object, Object, ServiceInstance> instanceLoadLifecycle(InstanceLoadStats instanceLoadStats) {
+        return new InstanceLoadLifecycle(instanceLoadStats);
+    }
+}
@@ -0,0 +1,31 @@
+package com.devwonder.common.security;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * Caller identity as forwarded by the API gateway, either from the verbose X-JWT-* / X-User-*
+ * headers or from the compact signed {@code X-Nexhub-Identity} header.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class GatewayIdentity {
+
+    private final String subject;
+    private final Long accountId;
+    private final String username;
+    private final List<String> roles;
+    private final List<String> permissions;
+
+    public boolean hasRole(String role) {
+        return roles.contains(role);
+    }
+
+    public boolean hasPermission(String permission) {
+        return permissions.contains(permission);
+    }
+}
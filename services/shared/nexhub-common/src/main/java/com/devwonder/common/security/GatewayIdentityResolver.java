@@ -0,0 +1,166 @@
+package com.devwonder.common.security;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Reads the caller identity the API gateway forwards with each request.
+ * <p>
+ * The compact {@code X-Nexhub-Identity} header is used when present and its HMAC-SHA256
+ * signature checks out against {@code nexhub.gateway.identity-signing-secret}; otherwise the
+ * verbose X-JWT-* / X-User-* headers are read. Permissions may arrive as a name list or as a
+ * compact {@link PermissionCodes} set in either form.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class GatewayIdentityResolver {
+
+    public static final String IDENTITY_HEADER = "X-Nexhub-Identity";
+    public static final String ACCOUNT_ID_HEADER = "X-JWT-Account-ID";
+    public static final String SUBJECT_HEADER = "X-JWT-Subject";
+    public static final String USERNAME_HEADER = "X-JWT-Username";
+    public static final String ROLES_HEADER = "X-User-Roles";
+    public static final String PERMISSIONS_HEADER = "X-User-Permissions";
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private final ObjectMapper objectMapper;
+
+    @Value("${nexhub.gateway.identity-signing-secret:${GATEWAY_IDENTITY_SECRET:}}")
+    private String signingSecret;
+
+    public Optional<GatewayIdentity> resolve(HttpServletRequest request) {
+        String compact = request.getHeader(IDENTITY_HEADER);
+        if (StringUtils.hasText(compact)) {
+            return Optional.ofNullable(parseCompact(compact));
+        }
+        return Optional.ofNullable(parseVerbose(request));
+    }
+
+    /**
+     * Account id of the caller, falling back to the JWT subject.
+     */
+    public Optional<Long> resolveAccountId(HttpServletRequest request) {
+        return resolve(request).map(identity -> identity.getAccountId() != null
+                ? identity.getAccountId()
+                : parseLong(identity.getSubject()));
+    }
+
+    private GatewayIdentity parseCompact(String header) {
+        if (!StringUtils.hasText(signingSecret)) {
+            log.warn("Ignoring {} header - no nexhub.gateway.identity-signing-secret configured", IDENTITY_HEADER);
+            return null;
+        }
+        int dot = header.indexOf('.');
+        if (dot <= 0) {
+            log.warn("Malformed {} header", IDENTITY_HEADER);
+            return null;
+        }
+        try {
+            String payload = header.substring(0, dot);
+            byte[] signature = Base64.getUrlDecoder().decode(header.substring(dot + 1));
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(new SecretKeySpec(signingSecret.getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM));
+            if (!MessageDigest.isEqual(signature, mac.doFinal(payload.getBytes(StandardCharsets.US_ASCII)))) {
+                log.warn("Rejected {} header with invalid signature", IDENTITY_HEADER);
+                return null;
+            }
+
+            JsonNode claims = objectMapper.readTree(Base64.getUrlDecoder().decode(payload));
+            if (claims.hasNonNull("exp") && claims.get("exp").asLong() * 1000 <= System.currentTimeMillis()) {
+                log.warn("Rejected expired {} header", IDENTITY_HEADER);
+                return null;
+            }
+            return new GatewayIdentity(
+                    textOrNull(claims, "sub"),
+                    claims.hasNonNull("aid") ? claims.get("aid").asLong() : null,
+                    textOrNull(claims, "usr"),
+                    stringList(claims.get("rol")),
+                    permissions(claims.get("prm")));
+        } catch (Exception e) {
+            log.warn("Failed to parse {} header: {}", IDENTITY_HEADER, e.getMessage());
+            return null;
+        }
+    }
+
+    private GatewayIdentity parseVerbose(HttpServletRequest request) {
+        String accountId = request.getHeader(ACCOUNT_ID_HEADER);
+        String subject = request.getHeader(SUBJECT_HEADER);
+        if (!StringUtils.hasText(accountId) && !StringUtils.hasText(subject)) {
+            return null;
+        }
+        return new GatewayIdentity(
+                subject,
+                parseLong(accountId),
+                request.getHeader(USERNAME_HEADER),
+                csv(request.getHeader(ROLES_HEADER)),
+                permissions(request.getHeader(PERMISSIONS_HEADER)));
+    }
+
+    private static Long parseLong(String value) {
+        if (!StringUtils.hasText(value)) {
+            return null;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static String textOrNull(JsonNode node, String field) {
+        return node.hasNonNull(field) ? node.get(field).asText() : null;
+    }
+
+    private static List<String> stringList(JsonNode node) {
+        if (node == null || !node.isArray()) {
+            return List.of();
+        }
+        List<String> values = new ArrayList<>(node.size());
+        node.forEach(value -> values.add(value.asText()));
+        return List.copyOf(values);
+    }
+
+    private static List<String> permissions(JsonNode node) {
+        return node != null && node.isTextual() ? permissions(node.asText()) : stringList(node);
+    }
+
+    private static List<String> permissions(String value) {
+        if (!PermissionCodes.isEncoded(value)) {
+            return csv(value);
+        }
+        List<String> decoded = PermissionCodes.decode(value);
+        if (decoded == null) {
+            log.warn("Unreadable compact permissions from gateway: {}", value);
+            return List.of();
+        }
+        return decoded;
+    }
+
+    private static List<String> csv(String value) {
+        if (!StringUtils.hasText(value)) {
+            return List.of();
+        }
+        return Arrays.stream(value.split(","))
+                .map(String::trim)
+                .filter(StringUtils::hasText)
+                .toList();
+    }
+}
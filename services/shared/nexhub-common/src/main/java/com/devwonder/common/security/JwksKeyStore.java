@@ -0,0 +1,320 @@
+package com.devwonder.common.security;
+
+import com.devwonder.common.exception.JwksRetrievalException;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSVerifier;
+import com.nimbusds.jose.crypto.ECDSAVerifier;
+import com.nimbusds.jose.crypto.RSASSAVerifier;
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory JWKS cache keyed by {@code kid}.
+ * <p>
+ * Verifiers are built once per key set and refreshed in the background before the TTL
+ * runs out. Nothing is fetched until the first {@link #getVerifier} call, so services that
+ * scan this package without validating tokens never poll auth-service. An unknown
+ * {@code kid} triggers a single-flight refresh (rate limited by
+ * {@code min-refresh-interval}); if auth-service is unreachable the last good key set
+ * keeps being served. Refreshes send {@code If-None-Match}, so an unchanged key set costs an
+ * empty 304 and no parsing. RSA (RS256) and P-256 EC (ES256) keys are supported.
+ */
+@Component
+@Slf4j
+public class JwksKeyStore {
+
+    private static final String METRIC_PREFIX = "nexhub.jwt.jwks";
+    private static final int JWKS_SIZE_LIMIT_BYTES = 64 * 1024;
+
+    @Value("${nexhub.jwt.jwks-uri:http://auth-service:8081/auth/.well-known/jwks.json}")
+    private String jwksUri;
+
+    @Value("${nexhub.jwt.jwks-cache-ttl-seconds:300}")
+    private long ttlSeconds;
+
+    @Value("${nexhub.jwt.jwks-min-refresh-interval-seconds:10}")
+    private long minRefreshIntervalSeconds;
+
+    @Value("${nexhub.jwt.jwks-timeout-ms:2000}")
+    private int timeoutMillis;
+
+    private final ObjectProvider<MeterRegistry> meterRegistryProvider;
+
+    private final AtomicReference<CompletableFuture<KeySet>> inFlightRefresh = new AtomicReference<>();
+    private volatile KeySet current = KeySet.EMPTY;
+    private volatile long lastRefreshAttemptMillis;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder refreshSuccesses = new LongAdder();
+    private final LongAdder refreshFailures = new LongAdder();
+
+    private volatile ScheduledExecutorService scheduler;
+    private boolean stopped;
+
+    public JwksKeyStore(ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        this.meterRegistryProvider = meterRegistryProvider;
+    }
+
+    @PostConstruct
+    void start() {
+        meterRegistryProvider.ifAvailable(this::registerMetrics);
+    }
+
+    @PreDestroy
+    synchronized void stop() {
+        stopped = true;
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * Starts the background refresh on first use. The first lookup loads the key set itself,
+     * so the schedule starts one period later.
+     */
+    private synchronized void startRefresher() {
+        if (scheduler != null || stopped) {
+            return;
+        }
+        ScheduledExecutorService refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "jwks-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        // Refresh ahead of expiry so the request path never waits on auth-service
+        long refreshPeriodMillis = Math.max(1000L, ttlSeconds * 1000L * 4 / 5);
+        refresher.scheduleWithFixedDelay(this::backgroundRefresh, refreshPeriodMillis, refreshPeriodMillis,
+                TimeUnit.MILLISECONDS);
+        scheduler = refresher;
+    }
+
+    /**
+     * Returns the cached verifier for the given key id, refreshing the key set once if the
+     * key id is unknown.
+     */
+    public JWSVerifier getVerifier(String keyId) throws JwksRetrievalException {
+        if (keyId == null) {
+            throw new JwksRetrievalException("Token has no key id");
+        }
+        if (scheduler == null) {
+            startRefresher();
+        }
+
+        JWSVerifier verifier = current.verifiers.get(keyId);
+        if (verifier != null) {
+            hits.increment();
+            return verifier;
+        }
+
+        misses.increment();
+        verifier = refreshForMissingKey().verifiers.get(keyId);
+        if (verifier == null) {
+            throw new JwksRetrievalException("Key not found: " + keyId);
+        }
+        return verifier;
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getRefreshCount() {
+        return refreshSuccesses.sum();
+    }
+
+    public long getRefreshFailureCount() {
+        return refreshFailures.sum();
+    }
+
+    private KeySet refreshForMissingKey() {
+        // Unknown kids are attacker controlled - don't let them turn into a fetch per request
+        long sinceLastAttempt = System.currentTimeMillis() - lastRefreshAttemptMillis;
+        if (sinceLastAttempt < minRefreshIntervalSeconds * 1000L && inFlightRefresh.get() == null) {
+            return current;
+        }
+        return refresh();
+    }
+
+    private void backgroundRefresh() {
+        try {
+            refresh();
+        } catch (Exception e) {
+            log.warn("Background JWKS refresh failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Single-flight refresh: concurrent callers share one fetch. On failure the last good
+     * key set is kept and returned.
+     */
+    private KeySet refresh() {
+        CompletableFuture<KeySet> mine = new CompletableFuture<>();
+        CompletableFuture<KeySet> existing = inFlightRefresh.compareAndExchange(null, mine);
+        if (existing != null) {
+            return awaitRefresh(existing);
+        }
+
+        lastRefreshAttemptMillis = System.currentTimeMillis();
+        try {
+            KeySet loaded = load();
+            current = loaded;
+            refreshSuccesses.increment();
+            log.debug("JWKS refreshed with {} keys", loaded.verifiers.size());
+            mine.complete(loaded);
+        } catch (Exception e) {
+            refreshFailures.increment();
+            log.error("Failed to refresh JWKS from {}: {} - serving {} cached keys",
+                    jwksUri, e.getMessage(), current.verifiers.size());
+            mine.complete(current);
+        } finally {
+            inFlightRefresh.set(null);
+        }
+        return mine.join();
+    }
+
+    private KeySet awaitRefresh(CompletableFuture<KeySet> refresh) {
+        try {
+            return refresh.join();
+        } catch (CompletionException e) {
+            return current;
+        }
+    }
+
+    private KeySet load() throws Exception {
+        KeySet cached = current;
+        HttpURLConnection connection = (HttpURLConnection) new URL(jwksUri).openConnection();
+        connection.setConnectTimeout(timeoutMillis);
+        connection.setReadTimeout(timeoutMillis);
+        if (cached.etag != null) {
+            connection.setRequestProperty("If-None-Match", cached.etag);
+        }
+
+        String body;
+        String etag;
+        try {
+            int status = connection.getResponseCode();
+            if (status == HttpURLConnection.HTTP_NOT_MODIFIED && cached.etag != null) {
+                return new KeySet(cached.verifiers, cached.etag, System.currentTimeMillis());
+            }
+            if (status != HttpURLConnection.HTTP_OK) {
+                throw new JwksRetrievalException("JWKS endpoint returned HTTP " + status);
+            }
+            try (InputStream in = connection.getInputStream()) {
+                byte[] bytes = in.readNBytes(JWKS_SIZE_LIMIT_BYTES + 1);
+                if (bytes.length > JWKS_SIZE_LIMIT_BYTES) {
+                    throw new JwksRetrievalException("JWKS exceeds " + JWKS_SIZE_LIMIT_BYTES + " bytes");
+                }
+                body = new String(bytes, StandardCharsets.UTF_8);
+            }
+            etag = connection.getHeaderField("ETag");
+        } finally {
+            connection.disconnect();
+        }
+        JWKSet jwkSet = JWKSet.parse(body);
+
+        Map<String, JWSVerifier> verifiers = new HashMap<>();
+        for (JWK jwk : jwkSet.getKeys()) {
+            if (jwk.getKeyID() == null) {
+                continue;
+            }
+            JWSVerifier verifier = verifierFor(jwk);
+            if (verifier != null) {
+                verifiers.put(jwk.getKeyID(), verifier);
+            } else {
+                log.debug("Skipping unsupported JWK type {} (kid: {})", jwk.getKeyType(), jwk.getKeyID());
+            }
+        }
+
+        if (verifiers.isEmpty()) {
+            throw new JwksRetrievalException("JWKS contains no usable keys");
+        }
+        return new KeySet(Collections.unmodifiableMap(verifiers), etag, System.currentTimeMillis());
+    }
+
+    /**
+     * Verifier for one published key, or null if the key type is not supported.
+     */
+    static JWSVerifier verifierFor(JWK jwk) throws JOSEException {
+        if (jwk instanceof RSAKey rsaKey) {
+            return new RSASSAVerifier(rsaKey);
+        }
+        if (jwk instanceof ECKey ecKey) {
+            return new ECDSAVerifier(ecKey);
+        }
+        return null;
+    }
+
+    private void registerMetrics(MeterRegistry registry) {
+        FunctionCounter.builder(METRIC_PREFIX + ".lookups", hits, LongAdder::sum)
+                .tag("result", "hit")
+                .description("JWKS key lookups served from memory")
+                .register(registry);
+        FunctionCounter.builder(METRIC_PREFIX + ".lookups", misses, LongAdder::sum)
+                .tag("result", "miss")
+                .description("JWKS key lookups for an unknown kid")
+                .register(registry);
+        FunctionCounter.builder(METRIC_PREFIX + ".refreshes", refreshSuccesses, LongAdder::sum)
+                .tag("outcome", "success")
+                .description("JWKS fetches from auth-service")
+                .register(registry);
+        FunctionCounter.builder(METRIC_PREFIX + ".refreshes", refreshFailures, LongAdder::sum)
+                .tag("outcome", "failure")
+                .description("JWKS fetches from auth-service")
+                .register(registry);
+        Gauge.builder(METRIC_PREFIX + ".keys", this, store -> store.current.verifiers.size())
+                .description("Keys currently cached")
+                .register(registry);
+        Gauge.builder(METRIC_PREFIX + ".age.seconds", this,
+                        store -> store.current.loadedAtMillis == 0 ? 0
+                                : (System.currentTimeMillis() - store.current.loadedAtMillis) / 1000.0)
+                .description("Age of the cached key set")
+                .register(registry);
+    }
+
+    private static final class KeySet {
+
+        private static final KeySet EMPTY = new KeySet(Map.of(), null, 0L);
+
+        private final Map<String, JWSVerifier> verifiers;
+        private final String etag;
+        private final long loadedAtMillis;
+
+        private KeySet(Map<String, JWSVerifier> verifiers, String etag, long loadedAtMillis) {
+            this.verifiers = verifiers;
+            this.etag = etag;
+            this.loadedAtMillis = loadedAtMillis;
+        }
+    }
+}
@@ -1,32 +1,33 @@
 package com.devwonder.common.security;
 
 import com.devwonder.common.exception.InvalidTokenSignatureException;
-import com.devwonder.common.exception.JwksRetrievalException;
 import com.devwonder.common.exception.JwtValidationException;
 import com.devwonder.common.exception.TokenExpiredException;
 import com.nimbusds.jose.JWSVerifier;
-import com.nimbusds.jose.crypto.RSASSAVerifier;
-import com.nimbusds.jose.jwk.JWK;
-import com.nimbusds.jose.jwk.JWKSet;
-import com.nimbusds.jose.jwk.RSAKey;
 import com.nimbusds.jwt.JWTClaimsSet;
 import com.nimbusds.jwt.SignedJWT;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.net.URL;
 import java.time.Instant;
 import java.util.List;
 
 @Service
+@RequiredArgsConstructor
 @Slf4j
 public class JwtService {
 
-    @Value("${nexhub.jwt.jwks-uri:http://auth-service:8081/auth/.well-known/jwks.json}")
-    private String jwksUri;
+    private final JwksKeyStore jwksKeyStore;
+    private final VerifiedTokenCache verifiedTokenCache;
 
     public JWTClaimsSet validateToken(String token) throws JwtValidationException {
+        // Entries expire at the token's own exp, so a hit is still a valid, verified token
+        JWTClaimsSet cached = verifiedTokenCache.get(token);
+        if (cached != null) {
+            return cached;
+        }
+
         try {
             SignedJWT signedJWT = SignedJWT.parse(token);
             JWTClaimsSet claimsSet = signedJWT.getJWTClaimsSet();
@@ -36,13 +37,13 @@ public class JwtService {
                 throw new TokenExpiredException("Token expired");
             }
             
-            RSAKey rsaKey = getRSAKey(signedJWT.getHeader().getKeyID());
-            JWSVerifier verifier = new RSASSAVerifier(rsaKey);
+            JWSVerifier verifier = jwksKeyStore.getVerifier(signedJWT.getHeader().getKeyID());
             
             if (!signedJWT.verify(verifier)) {
                 throw new InvalidTokenSignatureException("Invalid token signature");
             }
             
+            verifiedTokenCache.put(token, claimsSet);
             log.debug("Token validated successfully for user: {}", claimsSet.getSubject());
             return claimsSet;
             
@@ -55,26 +56,6 @@ public class JwtService {
         }
     }
 
-    private RSAKey getRSAKey(String keyId) throws JwksRetrievalException {
-        try {
-            JWKSet jwkSet = JWKSet.load(new URL(jwksUri));
-            JWK jwk = jwkSet.getKeyByKeyId(keyId);
-            
-            if (jwk == null) {
-                throw new JwksRetrievalException("Key not found: " + keyId);
-            }
-            
-            return jwk.toRSAKey();
-            
-        } catch (JwksRetrievalException e) {
-            log.error("Failed to get RSA key: {}", e.getMessage());
-            throw e;
-        } catch (Exception e) {
-            log.error("Failed to get RSA key: {}", e.getMessage());
-            throw new JwksRetrievalException("Failed to get RSA key", e);
-        }
-    }
-
     public String extractUsername(JWTClaimsSet claimsSet) {
         try {
             return claimsSet.getStringClaim("username");
@@ -112,10 +93,27 @@ public class JwtService {
         }
     }
 
+    /**
+     * Permission names from the {@code permissions} list, or decoded from the compact
+     * {@link PermissionCodes#CLAIM} claim when the token carries that instead.
+     */
     @SuppressWarnings("unchecked")
     public List<String> extractPermissions(JWTClaimsSet claimsSet) {
         try {
-            return (List<String>) claimsSet.getClaim("permissions");
+            Object permissions = claimsSet.getClaim("permissions");
+            if (permissions != null) {
+                return (List<String>) permissions;
+            }
+            String encoded = claimsSet.getStringClaim(PermissionCodes.CLAIM);
+            if (encoded == null) {
+                return List.of();
+            }
+            List<String> decoded = PermissionCodes.decode(encoded);
+            if (decoded == null) {
+                log.warn("Unreadable compact permissions claim: {}", encoded);
+                return List.of();
+            }
+            return decoded;
         } catch (Exception e) {
             log.warn("Failed to extract permissions from token: {}", e.getMessage());
             return List.of();
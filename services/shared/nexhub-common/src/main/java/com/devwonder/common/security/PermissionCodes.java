@@ -0,0 +1,109 @@
+package com.devwonder.common.security;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Shared permission registry and the compact encoding of permission sets built on it.
+ * <p>
+ * A permission set is encoded as {@code <version>.<base64url bitmask>}, where bit {@code i} is
+ * permission {@code i} of the registry (ADMIN's seven permissions are {@code 1.AACmBw}).
+ * auth-service puts it in the {@value #CLAIM} claim instead of the {@code permissions} name list,
+ * and the gateway forwards it as-is in {@code X-User-Permissions}: about 16 bytes per permission
+ * become at most 8 for the whole registry.
+ * <p>
+ * The registry is append-only: new permissions go at the end and {@link #VERSION} is bumped.
+ * A decoder rejects sets from a newer version, so the gateway and services must be deployed
+ * before auth-service starts issuing them. Permissions missing from the registry cannot be
+ * encoded; such tokens keep the name list.
+ * <p>
+ * Plain JDK only, so the gateway can use it without the servlet stack.
+ */
+public final class PermissionCodes {
+
+    public static final String CLAIM = "pm";
+    public static final int VERSION = 1;
+
+    private static final List<String> REGISTRY = List.of(
+            // Version 1
+            "USER_CREATE", "USER_READ", "USER_UPDATE", "USER_DELETE",
+            "PRODUCT_CREATE", "PRODUCT_UPDATE", "PRODUCT_DELETE", "PRODUCT_READ",
+            "BLOG_CREATE", "BLOG_UPDATE", "BLOG_DELETE", "BLOG_READ",
+            "WARRANTY_CREATE", "WARRANTY_READ", "WARRANTY_UPDATE", "WARRANTY_DELETE",
+            "NOTIFICATION_CREATE", "NOTIFICATION_READ", "NOTIFICATION_UPDATE", "NOTIFICATION_DELETE",
+            "RESELLER_CREATE", "RESELLER_READ", "RESELLER_UPDATE", "RESELLER_DELETE",
+            "RESELLER_RESTORE", "RESELLER_APPROVE", "RESELLER_REJECT");
+
+    private static final Map<String, Integer> INDEX = new HashMap<>();
+
+    static {
+        for (int i = 0; i < REGISTRY.size(); i++) {
+            INDEX.put(REGISTRY.get(i), i);
+        }
+    }
+
+    private PermissionCodes() {
+    }
+
+    /**
+     * Compact form of the permissions, or null if any of them is not in the registry.
+     */
+    public static String encode(Collection<String> permissions) {
+        byte[] bits = new byte[(REGISTRY.size() + 7) / 8];
+        int length = 0;
+        for (String permission : permissions) {
+            Integer index = INDEX.get(permission);
+            if (index == null) {
+                return null;
+            }
+            bits[index / 8] |= (byte) (1 << (index % 8));
+            length = Math.max(length, index / 8 + 1);
+        }
+        return VERSION + "." + Base64.getUrlEncoder().withoutPadding().encodeToString(
+                length == bits.length ? bits : Arrays.copyOf(bits, length));
+    }
+
+    /**
+     * Permission names of a compact set, in registry order, or null if the value is malformed
+     * or was encoded with a newer registry.
+     */
+    public static List<String> decode(String encoded) {
+        if (!isEncoded(encoded)) {
+            return null;
+        }
+        int dot = encoded.indexOf('.');
+        byte[] bits;
+        try {
+            if (Integer.parseInt(encoded.substring(0, dot)) > VERSION) {
+                return null;
+            }
+            bits = Base64.getUrlDecoder().decode(encoded.substring(dot + 1));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+
+        List<String> permissions = new ArrayList<>();
+        for (int i = 0; i < bits.length * 8; i++) {
+            if ((bits[i / 8] & (1 << (i % 8))) == 0) {
+                continue;
+            }
+            if (i >= REGISTRY.size()) {
+                return null;
+            }
+            permissions.add(REGISTRY.get(i));
+        }
+        return List.copyOf(permissions);
+    }
+
+    /**
+     * Whether the value looks like a compact set rather than a comma-separated name list.
+     */
+    public static boolean isEncoded(String value) {
+        return value != null && value.indexOf('.') > 0 && Character.isDigit(value.charAt(0));
+    }
+}
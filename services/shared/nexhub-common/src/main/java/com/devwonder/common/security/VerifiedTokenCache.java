@@ -0,0 +1,216 @@
+package com.devwonder.common.security;
+
+import com.nimbusds.jwt.JWTClaimsSet;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded cache of signature-verified JWT claims.
+ * <p>
+ * Entries are keyed by a 128-bit SHA-256 prefix of the raw token and expire at the token's
+ * own {@code exp} (capped by {@code max-ttl}). When the cache is full, expired entries are
+ * purged first; otherwise a small sample of entries is inspected and the entry closest to expiry
+ * is evicted, so a flood of unique tokens cannot grow the map past {@code max-entries}.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private static final String METRIC_PREFIX = "nexhub.jwt.token-cache";
+    private static final int EVICTION_SAMPLE_SIZE = 8;
+    private static final long PURGE_INTERVAL_MILLIS = 1000L;
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    });
+
+    @Value("${nexhub.jwt.token-cache-enabled:true}")
+    private boolean enabled;
+
+    @Value("${nexhub.jwt.token-cache-max-entries:10000}")
+    private int maxEntries;
+
+    @Value("${nexhub.jwt.token-cache-max-ttl-seconds:300}")
+    private long maxTtlSeconds;
+
+    private final ObjectProvider<MeterRegistry> meterRegistryProvider;
+    private final ConcurrentHashMap<TokenKey, Entry> entries = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    private volatile long lastPurgeMillis;
+
+    public VerifiedTokenCache(ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        this.meterRegistryProvider = meterRegistryProvider;
+    }
+
+    @PostConstruct
+    void registerMetrics() {
+        meterRegistryProvider.ifAvailable(registry -> {
+            FunctionCounter.builder(METRIC_PREFIX + ".lookups", hits, LongAdder::sum)
+                    .tag("result", "hit")
+                    .register(registry);
+            FunctionCounter.builder(METRIC_PREFIX + ".lookups", misses, LongAdder::sum)
+                    .tag("result", "miss")
+                    .register(registry);
+            FunctionCounter.builder(METRIC_PREFIX + ".evictions", evictions, LongAdder::sum)
+                    .register(registry);
+            Gauge.builder(METRIC_PREFIX + ".size", entries, Map::size)
+                    .register(registry);
+        });
+    }
+
+    /**
+     * Returns the previously verified claims for this exact token, or {@code null} if the
+     * token has not been seen or its cache entry has expired.
+     */
+    public JWTClaimsSet get(String token) {
+        if (!enabled) {
+            return null;
+        }
+
+        TokenKey key = TokenKey.of(token);
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        if (entry.expiresAtMillis <= System.currentTimeMillis()) {
+            entries.remove(key, entry);
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.claims;
+    }
+
+    /**
+     * Caches claims whose signature has just been verified.
+     */
+    public void put(String token, JWTClaimsSet claims) {
+        if (!enabled) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        long expiresAt = now + maxTtlSeconds * 1000L;
+        Date exp = claims.getExpirationTime();
+        if (exp != null) {
+            expiresAt = Math.min(expiresAt, exp.getTime());
+        }
+        if (expiresAt <= now) {
+            return;
+        }
+
+        if (entries.size() >= maxEntries) {
+            makeRoom(now);
+        }
+        entries.put(TokenKey.of(token), new Entry(claims, expiresAt));
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void makeRoom(long now) {
+        // A full scan is O(n), so only sweep expired entries once per interval
+        if (now - lastPurgeMillis >= PURGE_INTERVAL_MILLIS) {
+            lastPurgeMillis = now;
+            entries.entrySet().removeIf(e -> {
+                boolean expired = e.getValue().expiresAtMillis <= now;
+                if (expired) {
+                    evictions.increment();
+                }
+                return expired;
+            });
+        }
+
+        // Everything is still live: evict the soonest-to-expire entry out of a small sample
+        while (entries.size() >= maxEntries) {
+            TokenKey victim = null;
+            long victimExpiry = Long.MAX_VALUE;
+            Iterator<Map.Entry<TokenKey, Entry>> it = entries.entrySet().iterator();
+            for (int i = 0; i < EVICTION_SAMPLE_SIZE && it.hasNext(); i++) {
+                Map.Entry<TokenKey, Entry> candidate = it.next();
+                if (candidate.getValue().expiresAtMillis < victimExpiry) {
+                    victim = candidate.getKey();
+                    victimExpiry = candidate.getValue().expiresAtMillis;
+                }
+            }
+            if (victim == null) {
+                return;
+            }
+            if (entries.remove(victim) != null) {
+                evictions.increment();
+            }
+        }
+    }
+
+    private static final class Entry {
+
+        private final JWTClaimsSet claims;
+        private final long expiresAtMillis;
+
+        private Entry(JWTClaimsSet claims, long expiresAtMillis) {
+            this.claims = claims;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+    }
+
+    private static final class TokenKey {
+
+        private final long high;
+        private final long low;
+
+        private TokenKey(long high, long low) {
+            this.high = high;
+            this.low = low;
+        }
+
+        static TokenKey of(String token) {
+            MessageDigest digest = SHA_256.get();
+            ByteBuffer hash = ByteBuffer.wrap(digest.digest(token.getBytes(StandardCharsets.US_ASCII)));
+            return new TokenKey(hash.getLong(), hash.getLong());
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof TokenKey other)) {
+                return false;
+            }
+            return high == other.high && low == other.low;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(high ^ low);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.devwonder.common.util;
+
+import com.devwonder.common.exception.ValidationException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Parsed {@code fields} query parameter, e.g. {@code fields=id,title,author.name}.
+ * <p>
+ * A missing or blank parameter selects everything. A dotted path selects a property of a
+ * nested object; naming the object itself selects all of it. Arrays are projected element by
+ * element.
+ */
+public final class FieldSelection {
+
+    public static final String PARAM = "fields";
+    public static final FieldSelection ALL = new FieldSelection(null);
+
+    private static final int MAX_FIELDS = 64;
+    private static final int MAX_DEPTH = 4;
+    private static final Pattern FIELD_NAME = Pattern.compile("[A-Za-z0-9_]+");
+
+    /**
+     * Selected properties and what to keep of each; {@code null} keeps everything.
+     */
+    private final Map<String, FieldSelection> children;
+
+    private FieldSelection(Map<String, FieldSelection> children) {
+        this.children = children;
+    }
+
+    public static FieldSelection parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return ALL;
+        }
+        String[] paths = fields.split(",");
+        if (paths.length > MAX_FIELDS) {
+            throw new ValidationException(PARAM, "at most " + MAX_FIELDS + " fields can be selected");
+        }
+
+        Map<String, FieldSelection> root = new LinkedHashMap<>();
+        for (String path : paths) {
+            String trimmed = path.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            String[] parts = trimmed.split("\\.", -1);
+            if (parts.length > MAX_DEPTH) {
+                throw new ValidationException(PARAM, "'" + trimmed + "' is nested too deeply");
+            }
+            for (String part : parts) {
+                if (!FIELD_NAME.matcher(part).matches()) {
+                    throw new ValidationException(PARAM, "'" + trimmed + "' is not a valid field");
+                }
+            }
+            add(root, parts, 0);
+        }
+        return root.isEmpty() ? ALL : new FieldSelection(root);
+    }
+
+    private static void add(Map<String, FieldSelection> target, String[] parts, int index) {
+        String name = parts[index];
+        if (index == parts.length - 1) {
+            target.put(name, ALL);
+            return;
+        }
+        FieldSelection child = target.get(name);
+        if (child == ALL) {
+            return; // The whole object is already selected
+        }
+        if (child == null) {
+            child = new FieldSelection(new LinkedHashMap<>());
+            target.put(name, child);
+        }
+        add(child.children, parts, index + 1);
+    }
+
+    public boolean isAll() {
+        return children == null;
+    }
+
+    /**
+     * Whether the property, or anything inside it, is selected.
+     */
+    public boolean includes(String field) {
+        return children == null || children.containsKey(field);
+    }
+
+    public boolean includesAny(String... fields) {
+        for (String field : fields) {
+            if (includes(field)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns a copy of the node that only holds the selected properties.
+     */
+    public JsonNode apply(JsonNode node) {
+        if (children == null || node == null) {
+            return node;
+        }
+        if (node.isArray()) {
+            ArrayNode projected = JsonNodeFactory.instance.arrayNode(node.size());
+            node.forEach(element -> projected.add(apply(element)));
+            return projected;
+        }
+        if (!node.isObject()) {
+            return node;
+        }
+        ObjectNode projected = JsonNodeFactory.instance.objectNode();
+        children.forEach((name, selection) -> {
+            JsonNode value = node.get(name);
+            if (value != null) {
+                projected.set(name, selection.apply(value));
+            }
+        });
+        return projected;
+    }
+
+    @Override
+    public String toString() {
+        return children == null ? "*" : children.toString();
+    }
+}
@@ -0,0 +1,98 @@
+package com.devwonder.common.config;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.web.header.HeaderWriterFilter;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PublicCacheHeaderWriterTest {
+
+    private static final String[] PUBLIC_PATHS = {"/product/products", "/product/products/**"};
+
+    @Test
+    void writeHeaders_WithPublicGet_ShouldAllowCaching() throws Exception {
+        MockHttpServletResponse response = serve("GET", "/product/products/7", 200, null);
+
+        assertEquals("public, max-age=60", response.getHeader("Cache-Control"));
+        assertNull(response.getHeader("Pragma"));
+        assertNull(response.getHeader("Expires"));
+    }
+
+    @Test
+    void writeHeaders_WithOtherPath_ShouldKeepSecurityDefaults() throws Exception {
+        MockHttpServletResponse response = serve("GET", "/product/admin/stats", 200, null);
+
+        assertEquals("no-cache, no-store, max-age=0, must-revalidate", response.getHeader("Cache-Control"));
+        assertEquals("no-cache", response.getHeader("Pragma"));
+    }
+
+    @Test
+    void writeHeaders_WithWriteMethod_ShouldKeepSecurityDefaults() throws Exception {
+        MockHttpServletResponse response = serve("POST", "/product/products", 201, null);
+
+        assertEquals("no-cache, no-store, max-age=0, must-revalidate", response.getHeader("Cache-Control"));
+    }
+
+    @Test
+    void writeHeaders_WithErrorStatus_ShouldKeepSecurityDefaults() throws Exception {
+        MockHttpServletResponse response = serve("GET", "/product/products/404", 404, null);
+
+        assertEquals("no-cache, no-store, max-age=0, must-revalidate", response.getHeader("Cache-Control"));
+    }
+
+    @Test
+    void writeHeaders_WithControllerCacheControl_ShouldKeepIt() throws Exception {
+        MockHttpServletResponse response = serve("GET", "/product/products", 200, "public, max-age=5");
+
+        assertEquals(List.of("public, max-age=5"), response.getHeaders("Cache-Control"));
+    }
+
+    @Test
+    void writeHeaders_WithNamedPathBesideIdPattern_ShouldKeepSecurityDefaults() throws Exception {
+        String[] paths = {"/blog/categories", "/blog/categories/{id:[0-9]+}"};
+
+        assertEquals("public, max-age=60", serve(paths, "GET", "/blog/categories/7", 200, null).getHeader("Cache-Control"));
+        assertEquals("no-cache, no-store, max-age=0, must-revalidate",
+                serve(paths, "GET", "/blog/categories/all", 200, null).getHeader("Cache-Control"));
+    }
+
+    /**
+     * Runs the request through the same header filter Spring Security installs, with a servlet
+     * that commits a JSON body.
+     */
+    private static MockHttpServletResponse serve(String method, String path, int status, String cacheControl)
+            throws Exception {
+        return serve(PUBLIC_PATHS, method, path, status, cacheControl);
+    }
+
+    private static MockHttpServletResponse serve(String[] publicPaths, String method, String path, int status,
+                                                 String cacheControl) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        HttpServlet backend = new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse res) throws IOException {
+                res.setStatus(status);
+                if (cacheControl != null) {
+                    res.setHeader("Cache-Control", cacheControl);
+                }
+                res.setContentType("application/json");
+                res.getWriter().write("{\"success\":true}");
+                res.flushBuffer();
+            }
+        };
+
+        new HeaderWriterFilter(List.of(new PublicCacheHeaderWriter(publicPaths, 60)))
+                .doFilter(request, response, new MockFilterChain(backend));
+        return response;
+    }
+}
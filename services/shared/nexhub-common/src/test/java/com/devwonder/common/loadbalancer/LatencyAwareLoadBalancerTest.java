@@ -0,0 +1,233 @@
+package com.devwonder.common.loadbalancer;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.DefaultRequest;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.client.loadbalancer.Response;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyAwareLoadBalancerTest {
+
+    private static final long MILLIS = 1_000_000L;
+
+    private static final List<ServiceInstance> INSTANCES = List.of(
+            new DefaultServiceInstance("product-1", "product-service", "10.0.0.1", 8080, false),
+            new DefaultServiceInstance("product-2", "product-service", "10.0.0.2", 8080, false),
+            new DefaultServiceInstance("product-3", "product-service", "10.0.0.3", 8080, false));
+
+    @Test
+    void choose_WithOneSlowInstance_ShouldSteerTrafficAwayFromIt() {
+        SimulationResult roundRobin = simulate(roundRobin(), 20_000);
+        SimulationResult latencyAware = simulate(latencyAware(), 20_000);
+
+        assertTrue(latencyAware.slowShare() < 0.10, "slow share " + latencyAware.slowShare());
+        assertTrue(latencyAware.percentileMillis(0.99) * 2 < roundRobin.percentileMillis(0.99),
+                "p99 " + latencyAware.percentileMillis(0.99) + "ms vs " + roundRobin.percentileMillis(0.99) + "ms");
+    }
+
+    @Test
+    void cost_ShouldPreferIdleUnknownInstanceButPenalizeBusyOne() {
+        InstanceLoad known = new InstanceLoad();
+        known.onStart();
+        known.onSuccess(20 * MILLIS, 0);
+        InstanceLoad unknown = new InstanceLoad();
+
+        assertTrue(unknown.cost(0) < known.cost(0));
+
+        unknown.onStart();
+        assertTrue(unknown.cost(0) > known.cost(0));
+    }
+
+    @Test
+    void latency_ShouldJumpToPeaksAndDecayWhileUnused() {
+        InstanceLoad load = new InstanceLoad();
+        load.onStart();
+        load.onSuccess(10 * MILLIS, 0);
+        load.onStart();
+        load.onSuccess(500 * MILLIS, 1);
+
+        assertEquals(500 * MILLIS, load.latencyNanos(1), MILLIS);
+        assertTrue(load.latencyNanos(30_000 * MILLIS) < 50 * MILLIS);
+    }
+
+    @Test
+    void lifecycle_WithDiscardedHedge_ShouldReleaseSlotWithoutSample() {
+        InstanceLoadStats stats = new InstanceLoadStats(() -> 0L);
+        InstanceLoadLifecycle lifecycle = new InstanceLoadLifecycle(stats);
+        ServiceInstance instance = INSTANCES.get(0);
+        Response<ServiceInstance> chosen = new DefaultResponse(instance);
+        Request<Object> request = new DefaultRequest<>(new RequestDataContext());
+
+        lifecycle.onStartRequest(request, chosen);
+        assertEquals(1, stats.forInstance(instance).getInFlight());
+
+        lifecycle.onComplete(new CompletionContext<>(CompletionContext.Status.DISCARD, request, chosen));
+        assertEquals(0, stats.forInstance(instance).getInFlight());
+        assertEquals(0, stats.forInstance(instance).latencyNanos(0));
+    }
+
+    @Test
+    void chooseSticky_WithSameKey_ShouldKeepInstanceAndSpreadKeys() {
+        LatencyAwareLoadBalancer balancer = new LatencyAwareLoadBalancer(null, "notification-service", new InstanceLoadStats());
+        Map<ServiceInstance, Integer> keysPerInstance = new HashMap<>();
+
+        for (int account = 0; account < 3000; account++) {
+            ServiceInstance chosen = balancer.chooseSticky(INSTANCES, "account-" + account).getServer();
+            assertEquals(chosen, balancer.chooseSticky(INSTANCES, "account-" + account).getServer());
+            keysPerInstance.merge(chosen, 1, Integer::sum);
+        }
+
+        for (ServiceInstance instance : INSTANCES) {
+            assertTrue(keysPerInstance.get(instance) > 800, instance.getInstanceId() + " got " + keysPerInstance.get(instance));
+        }
+    }
+
+    @Test
+    void chooseSticky_WhenInstanceLeaves_ShouldOnlyMoveItsKeys() {
+        LatencyAwareLoadBalancer balancer = new LatencyAwareLoadBalancer(null, "notification-service", new InstanceLoadStats());
+        List<ServiceInstance> remaining = INSTANCES.subList(1, 3);
+
+        for (int account = 0; account < 1000; account++) {
+            ServiceInstance before = balancer.chooseSticky(INSTANCES, "account-" + account).getServer();
+            ServiceInstance after = balancer.chooseSticky(remaining, "account-" + account).getServer();
+            if (before != INSTANCES.get(0)) {
+                assertEquals(before, after);
+            }
+        }
+    }
+
+    @Test
+    void chooseSticky_WhenHomeInstanceIsOverloaded_ShouldOverflowToNextOnRing() {
+        InstanceLoadStats stats = new InstanceLoadStats();
+        LatencyAwareLoadBalancer balancer = new LatencyAwareLoadBalancer(null, "notification-service", stats);
+        ServiceInstance home = balancer.chooseSticky(INSTANCES, "account-42").getServer();
+
+        for (int i = 0; i < 10; i++) {
+            stats.forInstance(home).onConnectionOpened();
+        }
+
+        ServiceInstance overflow = balancer.chooseSticky(INSTANCES, "account-42").getServer();
+        assertNotEquals(home, overflow);
+        assertEquals(overflow, balancer.chooseSticky(INSTANCES, "account-42").getServer());
+
+        for (int i = 0; i < 10; i++) {
+            stats.forInstance(home).onConnectionClosed();
+        }
+        assertEquals(home, balancer.chooseSticky(INSTANCES, "account-42").getServer());
+    }
+
+    private interface Strategy {
+        ServiceInstance choose();
+
+        default InstanceLoadStats stats() {
+            return null;
+        }
+    }
+
+    private static Function<long[], Strategy> roundRobin() {
+        return clock -> new Strategy() {
+            private int next;
+
+            @Override
+            public ServiceInstance choose() {
+                return INSTANCES.get(next++ % INSTANCES.size());
+            }
+        };
+    }
+
+    private static Function<long[], Strategy> latencyAware() {
+        return clock -> {
+            InstanceLoadStats stats = new InstanceLoadStats(() -> clock[0]);
+            LatencyAwareLoadBalancer balancer = new LatencyAwareLoadBalancer(null, "product-service", stats);
+            return new Strategy() {
+                @Override
+                public ServiceInstance choose() {
+                    return balancer.choose(INSTANCES).getServer();
+                }
+
+                @Override
+                public InstanceLoadStats stats() {
+                    return stats;
+                }
+            };
+        };
+    }
+
+    /**
+     * Discrete-event simulation in virtual time: Poisson arrivals at 100 req/s, each instance
+     * serves four requests at a time (FIFO) with exponential service times averaging 10ms,
+     * except the first instance, which averages 100ms. Round-robin still keeps the slow one
+     * below saturation, so the comparison is about tail latency rather than runaway queues.
+     */
+    private static SimulationResult simulate(Function<long[], Strategy> strategyFactory, int requests) {
+        long[] clock = {0};
+        Strategy strategy = strategyFactory.apply(clock);
+        Random random = new Random(42);
+        long[][] workerFreeAt = new long[INSTANCES.size()][4];
+        double[] meanServiceNanos = {100 * MILLIS, 10 * MILLIS, 10 * MILLIS};
+        double meanInterArrivalNanos = 10 * MILLIS;
+
+        PriorityQueue<long[]> completions = new PriorityQueue<>((a, b) -> Long.compare(a[0], b[0]));
+        long[] latencies = new long[requests];
+        int slow = 0;
+        long arrival = 0;
+
+        for (int i = 0; i < requests; i++) {
+            arrival += (long) (-Math.log(1 - random.nextDouble()) * meanInterArrivalNanos);
+            while (!completions.isEmpty() && completions.peek()[0] <= arrival) {
+                long[] done = completions.poll();
+                clock[0] = done[0];
+                if (strategy.stats() != null) {
+                    strategy.stats().forInstance(INSTANCES.get((int) done[1])).onSuccess(done[0] - done[2], done[0]);
+                }
+            }
+            clock[0] = arrival;
+
+            ServiceInstance chosen = strategy.choose();
+            int index = INSTANCES.indexOf(chosen);
+            if (index == 0) {
+                slow++;
+            }
+            if (strategy.stats() != null) {
+                strategy.stats().forInstance(chosen).onStart();
+            }
+
+            long[] workers = workerFreeAt[index];
+            int worker = 0;
+            for (int w = 1; w < workers.length; w++) {
+                if (workers[w] < workers[worker]) {
+                    worker = w;
+                }
+            }
+            long service = (long) (-Math.log(1 - random.nextDouble()) * meanServiceNanos[index]);
+            long finish = Math.max(arrival, workers[worker]) + service;
+            workers[worker] = finish;
+            completions.add(new long[]{finish, index, arrival});
+            latencies[i] = finish - arrival;
+        }
+        return new SimulationResult(latencies, (double) slow / requests);
+    }
+
+    private record SimulationResult(long[] latencies, double slowShare) {
+
+        double percentileMillis(double percentile) {
+            long[] sorted = latencies.clone();
+            Arrays.sort(sorted);
+            return sorted[Math.max(0, (int) Math.ceil(percentile * sorted.length) - 1)] / (double) MILLIS;
+        }
+    }
+}
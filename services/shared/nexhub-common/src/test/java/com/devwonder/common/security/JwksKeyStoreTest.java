@@ -0,0 +1,79 @@
+package com.devwonder.common.security;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.JWSSigner;
+import com.nimbusds.jose.crypto.ECDSASigner;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.ECKeyGenerator;
+import com.nimbusds.jose.jwk.gen.OctetSequenceKeyGenerator;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwksKeyStoreTest {
+
+    @Test
+    void verifierFor_WithRsaKey_ShouldVerifyRs256Token() throws Exception {
+        RSAKey key = new RSAKeyGenerator(2048).keyID("rs256-test").generate();
+
+        SignedJWT token = sign(new RSASSASigner(key), JWSAlgorithm.RS256, key.getKeyID());
+
+        assertTrue(token.verify(JwksKeyStore.verifierFor(key.toPublicJWK())));
+    }
+
+    @Test
+    void verifierFor_WithEcKey_ShouldVerifyEs256Token() throws Exception {
+        ECKey key = new ECKeyGenerator(Curve.P_256).keyID("es256-test").generate();
+
+        SignedJWT token = sign(new ECDSASigner(key), JWSAlgorithm.ES256, key.getKeyID());
+
+        assertTrue(token.verify(JwksKeyStore.verifierFor(key.toPublicJWK())));
+    }
+
+    @Test
+    void verifierFor_WithEcKey_ShouldRejectTokenFromAnotherKey() throws Exception {
+        ECKey published = new ECKeyGenerator(Curve.P_256).keyID("es256-test").generate();
+        ECKey other = new ECKeyGenerator(Curve.P_256).keyID("es256-test").generate();
+
+        SignedJWT token = sign(new ECDSASigner(other), JWSAlgorithm.ES256, published.getKeyID());
+
+        assertFalse(token.verify(JwksKeyStore.verifierFor(published.toPublicJWK())));
+    }
+
+    @Test
+    void verifierFor_WithSymmetricKey_ShouldReturnNull() throws Exception {
+        JWK key = new OctetSequenceKeyGenerator(256).keyID("hs256-test").generate();
+
+        assertNull(JwksKeyStore.verifierFor(key));
+    }
+
+    private static SignedJWT sign(JWSSigner signer, JWSAlgorithm algorithm, String keyId) throws JOSEException {
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+                .subject("42")
+                .claim("username", "admin")
+                .claim("userType", "ADMIN")
+                .claim("roles", List.of("ADMIN"))
+                .claim("permissions", List.of("NOTIFICATION_READ", "NOTIFICATION_UPDATE", "RESELLER_READ",
+                        "RESELLER_DELETE", "RESELLER_APPROVE", "RESELLER_REJECT", "RESELLER_RESTORE"))
+                .issuer("auth-service")
+                .audience("nexhub-services")
+                .issueTime(new Date())
+                .expirationTime(new Date(System.currentTimeMillis() + 86_400_000L))
+                .build();
+        SignedJWT token = new SignedJWT(new JWSHeader.Builder(algorithm).keyID(keyId).build(), claims);
+        token.sign(signer);
+        return token;
+    }
+}
@@ -0,0 +1,55 @@
+package com.devwonder.common.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PermissionCodesTest {
+
+    @Test
+    void encode_WithRegisteredPermissions_ShouldRoundTrip() {
+        Set<String> admin = Set.of("NOTIFICATION_READ", "NOTIFICATION_UPDATE", "RESELLER_READ",
+                "RESELLER_DELETE", "RESELLER_APPROVE", "RESELLER_REJECT", "RESELLER_RESTORE");
+
+        String encoded = PermissionCodes.encode(admin);
+
+        assertEquals("1.AACmBw", encoded);
+        assertEquals(admin, Set.copyOf(PermissionCodes.decode(encoded)));
+    }
+
+    @Test
+    void encode_WithNoPermissions_ShouldDecodeToEmptyList() {
+        assertEquals(List.of(), PermissionCodes.decode(PermissionCodes.encode(Set.of())));
+    }
+
+    @Test
+    void encode_WithUnregisteredPermission_ShouldReturnNull() {
+        assertNull(PermissionCodes.encode(Set.of("USER_READ", "REPORT_EXPORT")));
+    }
+
+    @Test
+    void decode_WithNewerVersion_ShouldReturnNull() {
+        assertNull(PermissionCodes.decode((PermissionCodes.VERSION + 1) + ".AQ"));
+    }
+
+    @Test
+    void decode_WithBitOutsideRegistry_ShouldReturnNull() {
+        assertNull(PermissionCodes.decode("1.AAAAAAE"));
+    }
+
+    @Test
+    void decode_WithMalformedValue_ShouldReturnNull() {
+        assertNull(PermissionCodes.decode("1.!!"));
+        assertNull(PermissionCodes.decode("x.AQ"));
+        assertNull(PermissionCodes.decode(null));
+    }
+
+    @Test
+    void isEncoded_WithNameList_ShouldReturnFalse() {
+        assertFalse(PermissionCodes.isEncoded("USER_READ,USER_UPDATE"));
+        assertTrue(PermissionCodes.isEncoded("1.AQ"));
+    }
+}
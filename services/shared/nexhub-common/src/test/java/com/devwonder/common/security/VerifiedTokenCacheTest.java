@@ -0,0 +1,60 @@
+package com.devwonder.common.security;
+
+import com.nimbusds.jwt.JWTClaimsSet;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class VerifiedTokenCacheTest {
+
+    private VerifiedTokenCache cache;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        cache = new VerifiedTokenCache(mock(ObjectProvider.class));
+        ReflectionTestUtils.setField(cache, "enabled", true);
+        ReflectionTestUtils.setField(cache, "maxEntries", 100);
+        ReflectionTestUtils.setField(cache, "maxTtlSeconds", 300L);
+    }
+
+    @Test
+    void get_AfterPut_ShouldReturnSameClaims() {
+        JWTClaimsSet claims = claimsExpiringIn(60_000);
+
+        cache.put("token-a", claims);
+
+        assertSame(claims, cache.get("token-a"));
+        assertNull(cache.get("token-b"));
+    }
+
+    @Test
+    void put_WithExpiredToken_ShouldNotCache() {
+        cache.put("expired", claimsExpiringIn(-1_000));
+
+        assertNull(cache.get("expired"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void put_BeyondMaxEntries_ShouldStayBounded() {
+        for (int i = 0; i < 1_000; i++) {
+            cache.put("token-" + i, claimsExpiringIn(60_000 + i));
+        }
+
+        assertTrue(cache.size() <= 100);
+    }
+
+    private JWTClaimsSet claimsExpiringIn(long millis) {
+        return new JWTClaimsSet.Builder()
+                .subject("1")
+                .expirationTime(new Date(System.currentTimeMillis() + millis))
+                .build();
+    }
+}
@@ -0,0 +1,66 @@
+package com.devwonder.common.util;
+
+import com.devwonder.common.exception.ValidationException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FieldSelectionTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void parse_WithBlankValue_ShouldSelectEverything() {
+        assertTrue(FieldSelection.parse(null).isAll());
+        assertTrue(FieldSelection.parse("  ").isAll());
+        assertTrue(FieldSelection.parse(" , ").isAll());
+        assertTrue(FieldSelection.parse(null).includes("content"));
+    }
+
+    @Test
+    void apply_WithTopLevelAndNestedFields_ShouldKeepOnlyThose() throws Exception {
+        JsonNode post = objectMapper.readTree("""
+                {"id":1,"title":"Hello","content":"long text","author":{"id":7,"name":"Ann","avatar":"a.png"},
+                 "tags":[{"id":1,"name":"java","slug":"java"},{"id":2,"name":"spring","slug":"spring"}]}
+                """);
+
+        JsonNode projected = FieldSelection.parse("id, title,author.name,tags.slug").apply(post);
+
+        assertEquals(objectMapper.readTree("""
+                {"id":1,"title":"Hello","author":{"name":"Ann"},"tags":[{"slug":"java"},{"slug":"spring"}]}
+                """), projected);
+    }
+
+    @Test
+    void apply_WhenParentIsAlsoSelected_ShouldKeepWholeObject() throws Exception {
+        JsonNode post = objectMapper.readTree("{\"id\":1,\"author\":{\"id\":7,\"name\":\"Ann\"}}");
+
+        assertEquals(post.get("author"), FieldSelection.parse("author.name,author").apply(post).get("author"));
+        assertEquals(post.get("author"), FieldSelection.parse("author,author.name").apply(post).get("author"));
+    }
+
+    @Test
+    void apply_WithUnknownField_ShouldSkipIt() throws Exception {
+        JsonNode product = objectMapper.readTree("{\"id\":1,\"name\":\"Phone\"}");
+
+        assertEquals(objectMapper.readTree("{\"id\":1}"), FieldSelection.parse("id,missing").apply(product));
+    }
+
+    @Test
+    void includes_ShouldMatchTopLevelNamesOfNestedPaths() {
+        FieldSelection selection = FieldSelection.parse("id,author.name");
+
+        assertTrue(selection.includes("author"));
+        assertFalse(selection.includes("content"));
+        assertFalse(selection.includesAny("content", "tags"));
+    }
+
+    @Test
+    void parse_WithInvalidField_ShouldThrowValidationException() {
+        assertThrows(ValidationException.class, () -> FieldSelection.parse("id,na-me"));
+        assertThrows(ValidationException.class, () -> FieldSelection.parse("author..name"));
+        assertThrows(ValidationException.class, () -> FieldSelection.parse("a.b.c.d.e"));
+    }
+}